@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# 기동 시간 벤치마크: 기본 빌드(java -jar) vs 빠른 기동 빌드(AOT + CDS + 지연 초기화, Dockerfile fast-start와 같은 구성)
+# - loadtest 프로필(인메모리 SQS + 가짜 백엔드)로 메시지 몇 건만 처리하고 종료 (두 빌드 모두 -PwithLoadTest로 src/loadtest를 jar에 넣음)
+# - JVM 시작 → 기동 완료(ready) / 첫 메시지 ACK(first-ack) 시간을 빌드별 중앙값으로 비교
+# - 사용법: ./scripts/startup-benchmark.sh [반복 횟수, 기본 5]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+GRADLE=${GRADLE:-./gradlew}
+OUT=$PWD/build/startup-benchmark
+RUN_ARGS=(--spring.profiles.active=loadtest --custom.loadtest.messages=5 --custom.loadtest.timeout=1m)
+
+boot_jar() {
+  ls build/libs/*.jar | grep -v -e '-plain\.jar$' -e '-jmh\.jar$'
+}
+
+rm -rf "$OUT"
+mkdir -p "$OUT/baseline" "$OUT/fast"
+
+# 1. 빠른 기동 빌드: loadtest 프로필로 AOT 처리 → 풀어서 CDS 학습 실행 (컨텍스트 refresh까지만 띄우고 종료)
+echo "▶ 빠른 기동 빌드 (AOT + CDS)"
+$GRADLE -q bootJar -PwithLoadTest -PfastStart -PaotArgs=--spring.profiles.active=loadtest
+java -Djarmode=tools -jar "$(boot_jar)" extract --destination "$OUT/fast" --application-filename app.jar --force > /dev/null
+(cd "$OUT/fast" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+  -jar app.jar --spring.profiles.active=loadtest > cds-training.log 2>&1)
+
+# 2. 기본 빌드 (지금 Dockerfile 기본 단계와 같음 + loadtest, 끝나면 build/libs는 배포용 jar로 되돌려 둠)
+echo "▶ 기본 빌드"
+$GRADLE -q bootJar -PwithLoadTest
+cp "$(boot_jar)" "$OUT/baseline/app.jar"
+$GRADLE -q bootJar
+
+measure() { # $1 = 이름, 나머지 = 실행 명령 → "ready first-ack" 한 줄씩
+  local name=$1; shift
+  for i in $(seq "$RUNS"); do
+    "$@" "${RUN_ARGS[@]}" > "$OUT/$name-$i.log" 2>&1 || { echo "⚠️ $name $i번째 실행 실패 ($OUT/$name-$i.log)" >&2; continue; }
+    sed -n 's/.*startup: ready=\([0-9-]*\)ms first-ack=\([0-9-]*\)ms.*/\1 \2/p' "$OUT/$name-$i.log"
+  done
+}
+
+median() { # 표준 입력의 $1번째 열 중앙값
+  awk -v col="$1" '{ print $col }' | sort -n | awk '{ v[NR] = $1 } END { print NR ? v[int((NR + 1) / 2)] : "-" }'
+}
+
+report() {
+  local name=$1 results=$2
+  printf '%-10s ready p50 %6sms   first-ack p50 %6sms   (%s회)\n' "$name" \
+    "$(median 1 <<< "$results")" "$(median 2 <<< "$results")" "$(grep -c . <<< "$results" || true)"
+}
+
+echo "▶ 측정 (각 ${RUNS}회)"
+baseline=$(measure baseline java -jar "$OUT/baseline/app.jar")
+fast=$(cd "$OUT/fast" && measure fast java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true \
+  -Dspring.main.lazy-initialization=true -jar app.jar)
+
+echo
+report baseline "$baseline"
+report fast "$fast"
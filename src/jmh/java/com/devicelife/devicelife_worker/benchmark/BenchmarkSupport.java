@@ -0,0 +1,46 @@
+package com.devicelife.devicelife_worker.benchmark;
+
+import com.devicelife.devicelife_worker.service.CompatibilityEvaluator;
+import com.devicelife.devicelife_worker.service.ConvenienceEvaluator;
+import com.devicelife.devicelife_worker.service.DeviceSpecCache;
+import com.devicelife.devicelife_worker.service.EvaluationResultCache;
+import com.devicelife.devicelife_worker.service.EvaluationService;
+import com.devicelife.devicelife_worker.service.IncrementalEvaluation;
+import com.devicelife.devicelife_worker.service.LifestyleEvaluator;
+import com.devicelife.devicelife_worker.service.ParallelEvaluation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * 스프링 없이 벤치마크용 EvaluationService 조립
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static EvaluationService evaluationService(boolean memoized) {
+        return evaluationService(memoized, new ParallelEvaluation(false, Integer.MAX_VALUE, 0));
+    }
+
+    static EvaluationService evaluationService(boolean memoized, ParallelEvaluation parallelEvaluation) {
+        return evaluationService(memoized, parallelEvaluation, false);
+    }
+
+    static EvaluationService evaluationService(boolean memoized, ParallelEvaluation parallelEvaluation, boolean incremental) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CompatibilityEvaluator compatibilityEvaluator = new CompatibilityEvaluator();
+        ConvenienceEvaluator convenienceEvaluator = new ConvenienceEvaluator();
+        return new EvaluationService(
+                compatibilityEvaluator,
+                convenienceEvaluator,
+                new LifestyleEvaluator(),
+                new DeviceSpecCache(10_000, registry),
+                new EvaluationResultCache(memoized, 50_000, Duration.ofMinutes(30), registry),
+                parallelEvaluation,
+                new IncrementalEvaluation(compatibilityEvaluator, convenienceEvaluator, incremental, 10_000,
+                        Duration.ofHours(1), registry),
+                registry);
+    }
+}
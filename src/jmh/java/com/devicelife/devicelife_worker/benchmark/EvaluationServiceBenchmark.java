@@ -0,0 +1,58 @@
+package com.devicelife.devicelife_worker.benchmark;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.devicelife.devicelife_worker.service.EvaluationService;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EvaluationService.evaluate 전체 경로 (스펙 캐시 → 인덱스 → 세 평가기 → 결과 조립)
+ * - memoized=false: 매번 실제 계산, true: 같은 내용 조합이 결과 캐시에 적중하는 경우
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EvaluationServiceBenchmark {
+
+    private static final int POOL = 256;
+
+    @Param({"2", "10", "50"})
+    int deviceCount;
+
+    @Param({"0", "3", "6"})
+    int lifestyleCount;
+
+    @Param({"false", "true"})
+    boolean memoized;
+
+    private EvaluationService evaluationService;
+    private EvaluationPayload[] payloads;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        evaluationService = BenchmarkSupport.evaluationService(memoized);
+
+        SyntheticPayloadGenerator generator = new SyntheticPayloadGenerator(42);
+        payloads = new EvaluationPayload[POOL];
+        for (int i = 0; i < POOL; i++) {
+            payloads[i] = generator.next(deviceCount, lifestyleCount);
+        }
+    }
+
+    @Benchmark
+    public EvaluationResult evaluate() {
+        cursor = (cursor + 1) & (POOL - 1);
+        return evaluationService.evaluate(payloads[cursor]);
+    }
+}
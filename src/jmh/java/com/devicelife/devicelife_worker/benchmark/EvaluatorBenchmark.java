@@ -0,0 +1,83 @@
+package com.devicelife.devicelife_worker.benchmark;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.service.CompatibilityEvaluator;
+import com.devicelife.devicelife_worker.service.ConvenienceEvaluator;
+import com.devicelife.devicelife_worker.service.DeviceIndex;
+import com.devicelife.devicelife_worker.service.LifestyleEvaluator;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 평가기 단위 벤치마크 (조합 크기별)
+ * - 매 호출마다 다른 조합을 쓰도록 미리 만든 POOL개를 순환
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EvaluatorBenchmark {
+
+    private static final int POOL = 256;
+
+    @Param({"2", "10", "50", "100"})
+    int deviceCount;
+
+    @Param({"0", "3", "6"})
+    int lifestyleCount;
+
+    private final CompatibilityEvaluator compatibilityEvaluator = new CompatibilityEvaluator();
+    private final ConvenienceEvaluator convenienceEvaluator = new ConvenienceEvaluator();
+    private final LifestyleEvaluator lifestyleEvaluator = new LifestyleEvaluator();
+
+    private EvaluationPayload[] payloads;
+    private DeviceIndex[] indexes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SyntheticPayloadGenerator generator = new SyntheticPayloadGenerator(42);
+        payloads = new EvaluationPayload[POOL];
+        indexes = new DeviceIndex[POOL];
+        for (int i = 0; i < POOL; i++) {
+            payloads[i] = generator.next(deviceCount, lifestyleCount);
+            indexes[i] = DeviceIndex.of(payloads[i]);
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (POOL - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public DeviceIndex buildIndex() {
+        return DeviceIndex.of(payloads[next()]);
+    }
+
+    @Benchmark
+    public int compatibility() {
+        return compatibilityEvaluator.calculate(indexes[next()]);
+    }
+
+    @Benchmark
+    public int convenience() {
+        return convenienceEvaluator.calculate(indexes[next()]);
+    }
+
+    @Benchmark
+    public int lifestyle() {
+        int i = next();
+        List<String> lifestyles = payloads[i].lifestyles();
+        return lifestyleEvaluator.calculate(indexes[i], lifestyles);
+    }
+}
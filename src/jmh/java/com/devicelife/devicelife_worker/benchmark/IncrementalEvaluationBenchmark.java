@@ -0,0 +1,74 @@
+package com.devicelife.devicelife_worker.benchmark;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.devicelife.devicelife_worker.dto.JobMessage;
+import com.devicelife.devicelife_worker.service.EvaluationService;
+import com.devicelife.devicelife_worker.service.ParallelEvaluation;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기기 한 대 추가/삭제 메시지: 전체 재계산 vs 증분 재평가 (결과 캐시는 끔)
+ * - 조합마다 "마지막 기기 없음 ↔ 있음"을 번갈아 보냄 (증분 쪽은 매번 델타 1건)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IncrementalEvaluationBenchmark {
+
+    private static final int POOL = 256;
+
+    @Param({"10", "50"})
+    int deviceCount;
+
+    @Param({"false", "true"})
+    boolean incremental;
+
+    private EvaluationService evaluationService;
+    private EvaluationPayload[][] payloads; // [조합][0 = 한 대 뺀 것, 1 = 전체]
+    private JobMessage[][] deltas;          // [조합][0 = 삭제, 1 = 추가]
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        evaluationService = BenchmarkSupport.evaluationService(false,
+                new ParallelEvaluation(false, Integer.MAX_VALUE, 0), incremental);
+
+        SyntheticPayloadGenerator generator = new SyntheticPayloadGenerator(42);
+        payloads = new EvaluationPayload[POOL][];
+        deltas = new JobMessage[POOL][];
+        for (int i = 0; i < POOL; i++) {
+            EvaluationPayload full = generator.next(deviceCount, 3);
+            List<EvaluationPayload.DeviceDto> fewer = new ArrayList<>(full.devices().subList(0, deviceCount - 1));
+            EvaluationPayload.DeviceDto last = full.devices().get(deviceCount - 1);
+            payloads[i] = new EvaluationPayload[]{
+                    new EvaluationPayload(full.combinationId(), 1L, full.jobId(), fewer, full.lifestyles()), full};
+            deltas[i] = new JobMessage[]{
+                    new JobMessage(full.combinationId(), null, "DELTA", null, List.of(), List.of(last.deviceId())),
+                    new JobMessage(full.combinationId(), null, "DELTA", null, List.of(last.deviceId()), List.of())};
+
+            // 중간 상태 채워 두기
+            evaluationService.evaluate(full);
+        }
+    }
+
+    @Benchmark
+    public EvaluationResult evaluate() {
+        cursor++;
+        int combination = (cursor >>> 1) & (POOL - 1);
+        int side = cursor & 1;
+        return evaluationService.evaluate(payloads[combination][side], deltas[combination][side]);
+    }
+}
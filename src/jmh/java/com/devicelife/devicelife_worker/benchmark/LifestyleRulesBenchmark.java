@@ -0,0 +1,77 @@
+package com.devicelife.devicelife_worker.benchmark;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.service.DeviceIndex;
+import com.devicelife.devicelife_worker.service.LegacyLifestyleEvaluator;
+import com.devicelife.devicelife_worker.service.LifestyleEvaluator;
+import com.devicelife.devicelife_worker.service.LifestyleRules;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 라이프스타일 평가: 예전 하드코딩(specs Map 조회 + equalsIgnoreCase 체인 + 매번 태그 정규화) vs 컴파일된 규칙 트리
+ * - compiled는 DeviceIndex를 미리 만들어 둔 상태 (인덱스는 평가기 셋이 같이 쓰므로 여기서는 빼고 잼)
+ * - compile은 규칙 파일 하나를 읽어서 컴파일하는 비용 (핫 리로드 1회분)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LifestyleRulesBenchmark {
+
+    private static final int POOL = 256;
+
+    @Param({"10"})
+    int deviceCount;
+
+    @Param({"1", "3", "6"})
+    int lifestyleCount;
+
+    private final LegacyLifestyleEvaluator legacy = new LegacyLifestyleEvaluator();
+    private final LifestyleEvaluator compiled = new LifestyleEvaluator();
+
+    private EvaluationPayload[] payloads;
+    private DeviceIndex[] indexes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SyntheticPayloadGenerator generator = new SyntheticPayloadGenerator(42);
+        payloads = new EvaluationPayload[POOL];
+        indexes = new DeviceIndex[POOL];
+        for (int i = 0; i < POOL; i++) {
+            payloads[i] = generator.next(deviceCount, lifestyleCount);
+            indexes[i] = DeviceIndex.of(payloads[i]);
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (POOL - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public int legacy() {
+        int i = next();
+        return legacy.calculate(payloads[i]);
+    }
+
+    @Benchmark
+    public int compiled() {
+        int i = next();
+        return compiled.calculate(indexes[i], payloads[i].lifestyles());
+    }
+
+    @Benchmark
+    public LifestyleRules compile() {
+        return LifestyleRules.bundled();
+    }
+}
@@ -0,0 +1,67 @@
+package com.devicelife.devicelife_worker.benchmark;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.devicelife.devicelife_worker.service.EvaluationService;
+import com.devicelife.devicelife_worker.service.ParallelEvaluation;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 순차 평가 vs fork-join 병렬 평가 (custom.evaluation.parallel.min-devices 기준값 잡는 용도)
+ * - 결과 캐시는 끔 (매번 실제 계산)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelEvaluationBenchmark {
+
+    private static final int POOL = 256;
+
+    @Param({"10", "24", "50", "100"})
+    int deviceCount;
+
+    @Param({"6"})
+    int lifestyleCount;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    private ParallelEvaluation parallelEvaluation;
+    private EvaluationService evaluationService;
+    private EvaluationPayload[] payloads;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        parallelEvaluation = new ParallelEvaluation(parallel, 0, 0);
+        evaluationService = BenchmarkSupport.evaluationService(false, parallelEvaluation);
+
+        SyntheticPayloadGenerator generator = new SyntheticPayloadGenerator(42);
+        payloads = new EvaluationPayload[POOL];
+        for (int i = 0; i < POOL; i++) {
+            payloads[i] = generator.next(deviceCount, lifestyleCount);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelEvaluation.shutdown();
+    }
+
+    @Benchmark
+    public EvaluationResult evaluate() {
+        cursor = (cursor + 1) & (POOL - 1);
+        return evaluationService.evaluate(payloads[cursor]);
+    }
+}
@@ -0,0 +1,77 @@
+package com.devicelife.devicelife_worker.benchmark;
+
+import com.devicelife.devicelife_worker.dto.ApiResponse;
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.service.DeviceDtoDeserializer;
+import com.devicelife.devicelife_worker.service.DeviceIndex;
+import com.devicelife.devicelife_worker.service.DeviceSpecCache;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload 응답 JSON → DeviceIndex (백엔드 응답 한 건을 평가 직전까지)
+ * - codec=map: Jackson 기본 (specs를 Map으로) → DeviceSpec 디코딩
+ * - codec=streaming: DeviceDtoDeserializer (specs를 바로 필드로)
+ * - -prof gc의 gc.alloc.rate.norm(연산당 할당 바이트)이 주 지표
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadDecodeBenchmark {
+
+    private static final int POOL = 256;
+
+    @Param({"map", "streaming"})
+    String codec;
+
+    @Param({"10", "50"})
+    int deviceCount;
+
+    private ObjectReader reader;
+    private DeviceSpecCache deviceSpecCache;
+    private byte[][] responses;
+    private int cursor;
+
+    @Setup
+    public void setUp() throws IOException {
+        deviceSpecCache = new DeviceSpecCache(10_000, new SimpleMeterRegistry());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        if ("streaming".equals(codec)) {
+            objectMapper.registerModule(new SimpleModule()
+                    .addDeserializer(EvaluationPayload.DeviceDto.class, new DeviceDtoDeserializer()));
+        }
+        JavaType type = objectMapper.getTypeFactory()
+                .constructParametricType(ApiResponse.class, EvaluationPayload.class);
+        reader = objectMapper.readerFor(type);
+
+        SyntheticPayloadGenerator generator = new SyntheticPayloadGenerator(42);
+        ObjectMapper writer = new ObjectMapper();
+        responses = new byte[POOL][];
+        for (int i = 0; i < POOL; i++) {
+            responses[i] = writer.writeValueAsBytes(new ApiResponse<>("OK", "success", generator.next(deviceCount, 3), true));
+        }
+    }
+
+    @Benchmark
+    public DeviceIndex decode() throws IOException {
+        cursor = (cursor + 1) & (POOL - 1);
+        ApiResponse<EvaluationPayload> response = reader.readValue(responses[cursor]);
+        return deviceSpecCache.index(response.result());
+    }
+}
@@ -0,0 +1,47 @@
+package com.devicelife.devicelife_worker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * loadtest 프로필 전용 빈 (AWS / 백엔드 없이 워커 전체를 한 프로세스에서 돌림)
+ * - SqsAsyncClient를 인메모리 구현으로 바꿔치기 → 자동 설정 클라이언트는 생성되지 않음(@ConditionalOnMissingBean)
+ * - 가짜 백엔드는 custom.api.backend-url이 가리키는 루프백 포트에서 뜸
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    @Bean
+    LoadTestTracker loadTestTracker() {
+        return new LoadTestTracker();
+    }
+
+    @Bean(destroyMethod = "close")
+    LocalSqsAsyncClient sqsAsyncClient(LoadTestTracker tracker,
+                                       @Value("${custom.loadtest.visibility-timeout:30s}") Duration visibilityTimeout) {
+        return new LocalSqsAsyncClient(visibilityTimeout, tracker::acked);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    StubBackendServer stubBackendServer(LoadTestTracker tracker, ObjectMapper objectMapper,
+                                        @Value("${custom.loadtest.backend-port}") int port,
+                                        @Value("${custom.loadtest.seed:42}") long seed,
+                                        @Value("${custom.loadtest.payload.latency:20ms}") Duration payloadLatency,
+                                        @Value("${custom.loadtest.payload.jitter:10ms}") Duration payloadJitter,
+                                        @Value("${custom.loadtest.payload.error-rate:0.0}") double payloadErrorRate,
+                                        @Value("${custom.loadtest.result.latency:30ms}") Duration resultLatency,
+                                        @Value("${custom.loadtest.result.jitter:10ms}") Duration resultJitter,
+                                        @Value("${custom.loadtest.result.error-rate:0.0}") double resultErrorRate) throws IOException {
+        return new StubBackendServer(port, seed,
+                new StubBackendServer.Behavior(payloadLatency, payloadJitter, payloadErrorRate),
+                new StubBackendServer.Behavior(resultLatency, resultJitter, resultErrorRate),
+                objectMapper, tracker);
+    }
+}
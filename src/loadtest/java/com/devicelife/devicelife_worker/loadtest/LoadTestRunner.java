@@ -0,0 +1,145 @@
+package com.devicelife.devicelife_worker.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 부하 생성 + 결과 리포트 (loadtest 프로필)
+ * - 기동이 끝나면 로컬 큐에 메시지를 rate(초당)로 발행, 진짜 리스너 → BackendClient → EvaluationService가 그대로 처리
+ * - bulk.messages > 0이면 bulk 레인 큐에 그만큼을 먼저 한꺼번에 쌓아 두고 시작 (재채점 중 interactive 지연 재현)
+ * - 전부 ACK되거나 timeout이 지나면 처리량 / 구간별 지연 백분위를 출력하고 종료
+ * - JVM 시작 → 기동 완료 / 첫 메시지 ACK까지 걸린 시간도 출력 (startup-benchmark.sh가 이 줄을 읽음)
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestRunner implements ApplicationRunner {
+
+    private final LocalSqsAsyncClient sqs;
+    private final LoadTestTracker tracker;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${custom.sqs.queue-name}")
+    private String queueName;
+
+    @Value("${custom.loadtest.messages:5000}")
+    private int messages;
+
+    @Value("${custom.loadtest.bulk.queue-name:}")
+    private String bulkQueueName;
+
+    @Value("${custom.loadtest.bulk.messages:0}")
+    private int bulkMessages;
+
+    @Value("${custom.loadtest.rate:0}")
+    private int rate; // 초당 발행 수 (0 = 한꺼번에)
+
+    @Value("${custom.loadtest.timeout:5m}")
+    private Duration timeout;
+
+    @Value("${custom.loadtest.exit-on-finish:true}")
+    private boolean exitOnFinish;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long readyAt = System.currentTimeMillis();
+        log.info("🚀 [LoadTest] 시작: 메시지 {}건, 발행 속도 {}, bulk 백로그 {}건", messages, rate > 0 ? rate + "/s" : "무제한", bulkMessages);
+        int total = messages + bulkMessages;
+
+        // 0. bulk 백로그 (id는 interactive와 겹치지 않게 messages 뒤부터)
+        for (int i = 1; i <= bulkMessages; i++) {
+            long id = messages + i;
+            String body = "{\"evaluationId\":" + id + ",\"deviceId\":null,\"messageType\":\"LOADTEST\"}";
+            tracker.sent(id, bulkQueueName, sqs.send(bulkQueueName, body));
+        }
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout.toNanos();
+        long nextReport = startedAt + Duration.ofSeconds(1).toNanos();
+
+        // 1. 발행 (rate가 있으면 일정 간격으로)
+        for (int i = 1; i <= messages; i++) {
+            if (rate > 0) {
+                long due = startedAt + (long) ((i - 1) * 1e9 / rate);
+                long wait = due - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+            }
+            String body = "{\"evaluationId\":" + i + ",\"deviceId\":null,\"messageType\":\"LOADTEST\"}";
+            tracker.sent(i, queueName, sqs.send(queueName, body));
+
+            if (System.nanoTime() >= nextReport) {
+                report(startedAt);
+                nextReport += Duration.ofSeconds(1).toNanos();
+            }
+        }
+
+        // 2. 전부 ACK될 때까지 대기
+        while (tracker.ackedCount() < total && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(Duration.ofMillis(50).toNanos());
+            if (System.nanoTime() >= nextReport) {
+                report(startedAt);
+                nextReport += Duration.ofSeconds(1).toNanos();
+            }
+        }
+
+        boolean completed = tracker.ackedCount() >= total;
+        summarize(startedAt, total, completed);
+        reportStartup(readyAt);
+
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(context, () -> completed ? 0 : 1));
+        }
+    }
+
+    private void report(long startedAt) {
+        double elapsed = (System.nanoTime() - startedAt) / 1e9;
+        log.info("⏱️ [LoadTest] {}s: ACK {}/{} ({} msg/s), 대기 {}건",
+                String.format("%.0f", elapsed), tracker.ackedCount(), messages + bulkMessages,
+                String.format("%.1f", tracker.ackedCount() / elapsed), sqs.backlog(queueName));
+    }
+
+    // 기동 시간 (JVM 시작 기준): ready = ApplicationRunner 호출, first-ack = 첫 메시지 처리 완료
+    private void reportStartup(long readyAt) {
+        long jvmStartedAt = ManagementFactory.getRuntimeMXBean().getStartTime();
+        long firstAckedAt = tracker.firstAckedAt();
+        log.info("⏱️ [LoadTest] startup: ready={}ms first-ack={}ms", readyAt - jvmStartedAt,
+                firstAckedAt > 0 ? firstAckedAt - jvmStartedAt : -1);
+    }
+
+    private void summarize(long startedAt, int total, boolean completed) {
+        double elapsed = (System.nanoTime() - startedAt) / 1e9;
+
+        List<LoadTestTracker.Summary> stages = List.of(
+                tracker.summarize("queue wait", t -> t.sentAt, t -> t.fetchedAt),
+                tracker.summarize("payload fetch (stub)", t -> t.fetchedAt, t -> t.servedAt),
+                tracker.summarize("evaluate + send", t -> t.servedAt, t -> t.resultedAt),
+                tracker.summarize("result → ack", t -> t.resultedAt, t -> t.ackedAt),
+                tracker.summarize("end-to-end", t -> t.sentAt, t -> t.ackedAt));
+        if (bulkMessages > 0) {
+            stages = new ArrayList<>(stages);
+            stages.add(tracker.summarize("end-to-end [main]", queueName, t -> t.sentAt, t -> t.ackedAt));
+            stages.add(tracker.summarize("end-to-end [bulk]", bulkQueueName, t -> t.sentAt, t -> t.ackedAt));
+        }
+
+        log.info("📊 [LoadTest] {}: ACK {}/{}건, {}s, 처리량 {} msg/s",
+                completed ? "완료" : "⚠️ 시간 초과", tracker.ackedCount(), total,
+                String.format("%.2f", elapsed), String.format("%.1f", tracker.ackedCount() / elapsed));
+        stages.forEach(stage -> log.info("📊 [LoadTest] {}", stage));
+        log.info("📊 [LoadTest] Payload 오류 {}건, 결과 전송 오류 {}건, 재전달 {}건",
+                tracker.payloadErrors(), tracker.resultErrors(), tracker.redeliveries());
+    }
+}
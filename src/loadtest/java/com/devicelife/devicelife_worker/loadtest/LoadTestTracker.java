@@ -0,0 +1,134 @@
+package com.devicelife.devicelife_worker.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * 부하 테스트 중 메시지별 구간 시각 기록 + 구간별 지연 백분위 계산
+ * - sent(발행) → fetched(Payload 조회 도착) → served(Payload 응답) → resulted(결과 요청 도착) → acked(SQS 삭제)
+ * - 재전달된 메시지는 마지막 시도 기준으로 덮어씀 (첫 발행 시각은 유지)
+ * - 레인(큐)별로 따로 요약할 수 있게 발행한 큐 이름을 같이 남김
+ */
+class LoadTestTracker {
+
+    static final class Timeline {
+        volatile String queueName;
+        volatile long sentAt;
+        volatile long fetchedAt;
+        volatile long servedAt;
+        volatile long resultedAt;
+        volatile long ackedAt;
+    }
+
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+    private final Map<String, Long> messageIds = new ConcurrentHashMap<>(); // SQS messageId → combinationId
+
+    private final AtomicLong acked = new AtomicLong();
+    private final AtomicLong firstAckedAt = new AtomicLong(); // 첫 ACK 시각 (epoch ms, 기동 시간 측정용)
+    private final AtomicLong payloadErrors = new AtomicLong();
+    private final AtomicLong resultErrors = new AtomicLong();
+    private final AtomicLong redeliveries = new AtomicLong();
+
+    void sent(long combinationId, String queueName, String messageId) {
+        Timeline timeline = timeline(combinationId);
+        timeline.queueName = queueName;
+        timeline.sentAt = System.nanoTime();
+        messageIds.put(messageId, combinationId);
+    }
+
+    void fetched(long combinationId) {
+        Timeline timeline = timeline(combinationId);
+        if (timeline.fetchedAt != 0) redeliveries.incrementAndGet();
+        timeline.fetchedAt = System.nanoTime();
+    }
+
+    void served(long combinationId) {
+        timeline(combinationId).servedAt = System.nanoTime();
+    }
+
+    void resulted(long combinationId) {
+        timeline(combinationId).resultedAt = System.nanoTime();
+    }
+
+    void acked(String messageId) {
+        Long combinationId = messageIds.get(messageId);
+        if (combinationId == null) return;
+        timeline(combinationId).ackedAt = System.nanoTime();
+        firstAckedAt.compareAndSet(0, System.currentTimeMillis());
+        acked.incrementAndGet();
+    }
+
+    void payloadError() {
+        payloadErrors.incrementAndGet();
+    }
+
+    void resultError() {
+        resultErrors.incrementAndGet();
+    }
+
+    long ackedCount() {
+        return acked.get();
+    }
+
+    long firstAckedAt() {
+        return firstAckedAt.get();
+    }
+
+    long payloadErrors() {
+        return payloadErrors.get();
+    }
+
+    long resultErrors() {
+        return resultErrors.get();
+    }
+
+    long redeliveries() {
+        return redeliveries.get();
+    }
+
+    /** 완료(ACK)된 메시지만 대상으로 from → to 구간 지연(ms) 요약 */
+    Summary summarize(String stage, ToLongFunction<Timeline> from, ToLongFunction<Timeline> to) {
+        return summarize(stage, null, from, to);
+    }
+
+    /** queueName 큐로 발행한 메시지만 (null이면 전체) */
+    Summary summarize(String stage, String queueName, ToLongFunction<Timeline> from, ToLongFunction<Timeline> to) {
+        List<Long> samples = new ArrayList<>(timelines.size());
+        for (Timeline timeline : timelines.values()) {
+            if (queueName != null && !queueName.equals(timeline.queueName)) continue;
+            long start = from.applyAsLong(timeline);
+            long end = to.applyAsLong(timeline);
+            if (timeline.ackedAt != 0 && start != 0 && end != 0 && end >= start) {
+                samples.add(end - start);
+            }
+        }
+        long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new Summary(stage, sorted.length,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    record Summary(String stage, int count, double p50, double p90, double p99, double max) {
+        @Override
+        public String toString() {
+            return String.format("%-22s n=%-7d p50=%8.2fms p90=%8.2fms p99=%8.2fms max=%8.2fms",
+                    stage, count, p50, p90, p99, max);
+        }
+    }
+
+    private Timeline timeline(long combinationId) {
+        return timelines.computeIfAbsent(combinationId, id -> new Timeline());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
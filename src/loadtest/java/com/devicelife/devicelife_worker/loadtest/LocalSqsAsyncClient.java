@@ -0,0 +1,193 @@
+package com.devicelife.devicelife_worker.loadtest;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 부하 테스트용 인메모리 SQS (네트워크 없음)
+ * - 리스너 컨테이너가 쓰는 API만 구현: getQueueUrl / receiveMessage(롱 폴링) / deleteMessageBatch / 가시성 변경
+ * - 받아간 메시지는 visibility-timeout 안에 삭제(ACK)되지 않으면 다시 보이게 됨 (→ 재시도 재현)
+ */
+class LocalSqsAsyncClient implements SqsAsyncClient {
+
+    private record Stored(String messageId, String body, long sentAt, int receiveCount) {}
+
+    private record InFlight(Stored message, String queueName, long visibleAt) {}
+
+    private final Map<String, LinkedBlockingQueue<Stored>> queues = new ConcurrentHashMap<>();
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>(); // receiptHandle → 메시지
+    private final Duration visibilityTimeout;
+    private final Consumer<String> onDelete;
+
+    private final ExecutorService pollers = Executors.newCachedThreadPool(new CustomizableThreadFactory("local-sqs-poll-"));
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("local-sqs-sweep-"));
+
+    LocalSqsAsyncClient(Duration visibilityTimeout, Consumer<String> onDelete) {
+        this.visibilityTimeout = visibilityTimeout;
+        this.onDelete = onDelete;
+        sweeper.scheduleWithFixedDelay(this::requeueExpired, 100, 100, TimeUnit.MILLISECONDS);
+    }
+
+    /** 메시지 발행 (부하 생성기용), messageId 반환 */
+    String send(String queueName, String body) {
+        String messageId = UUID.randomUUID().toString();
+        queue(queueName).add(new Stored(messageId, body, System.currentTimeMillis(), 0));
+        return messageId;
+    }
+
+    int backlog(String queueName) {
+        return queue(queueName).size();
+    }
+
+    @Override
+    public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+        queue(request.queueName());
+        return CompletableFuture.completedFuture(GetQueueUrlResponse.builder().queueUrl(request.queueName()).build());
+    }
+
+    @Override
+    public CompletableFuture<GetQueueAttributesResponse> getQueueAttributes(GetQueueAttributesRequest request) {
+        return CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+                .attributes(Map.of(QueueAttributeName.VISIBILITY_TIMEOUT, String.valueOf(visibilityTimeout.toSeconds())))
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        LinkedBlockingQueue<Stored> queue = queue(request.queueUrl());
+        int max = request.maxNumberOfMessages() != null ? request.maxNumberOfMessages() : 1;
+        int waitSeconds = request.waitTimeSeconds() != null ? request.waitTimeSeconds() : 0;
+
+        return CompletableFuture.supplyAsync(() -> {
+            List<Message> received = new ArrayList<>(max);
+            try {
+                // 롱 폴링: 첫 메시지는 waitSeconds까지 기다리고, 나머지는 있는 만큼만
+                Stored first = queue.poll(waitSeconds, TimeUnit.SECONDS);
+                if (first != null) {
+                    received.add(markInFlight(request.queueUrl(), first));
+                    Stored next;
+                    while (received.size() < max && (next = queue.poll()) != null) {
+                        received.add(markInFlight(request.queueUrl(), next));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ReceiveMessageResponse.builder().messages(received).build();
+        }, pollers);
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest request) {
+        List<DeleteMessageBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+
+        request.entries().forEach(entry -> {
+            if (delete(entry.receiptHandle())) {
+                successful.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+            } else {
+                failed.add(BatchResultErrorEntry.builder().id(entry.id()).code("ReceiptHandleIsInvalid").senderFault(true).build());
+            }
+        });
+
+        return CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder()
+                .successful(successful)
+                .failed(failed)
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+        delete(request.receiptHandle());
+        return CompletableFuture.completedFuture(DeleteMessageResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest request) {
+        List<ChangeMessageVisibilityBatchResultEntry> successful = new ArrayList<>();
+        request.entries().forEach(entry -> {
+            inFlight.computeIfPresent(entry.receiptHandle(), (handle, current) -> new InFlight(current.message(),
+                    current.queueName(), System.currentTimeMillis() + entry.visibilityTimeout() * 1000L));
+            successful.add(ChangeMessageVisibilityBatchResultEntry.builder().id(entry.id()).build());
+        });
+        return CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().successful(successful).build());
+    }
+
+    @Override
+    public String serviceName() {
+        return "sqs";
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        pollers.shutdownNow();
+    }
+
+    private LinkedBlockingQueue<Stored> queue(String name) {
+        return queues.computeIfAbsent(name, n -> new LinkedBlockingQueue<>());
+    }
+
+    private Message markInFlight(String queueName, Stored stored) {
+        Stored received = new Stored(stored.messageId(), stored.body(), stored.sentAt(), stored.receiveCount() + 1);
+        String receiptHandle = UUID.randomUUID().toString();
+        inFlight.put(receiptHandle, new InFlight(received, queueName, System.currentTimeMillis() + visibilityTimeout.toMillis()));
+
+        return Message.builder()
+                .messageId(received.messageId())
+                .receiptHandle(receiptHandle)
+                .body(received.body())
+                .attributes(Map.of(
+                        MessageSystemAttributeName.SENT_TIMESTAMP, String.valueOf(received.sentAt()),
+                        MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, String.valueOf(received.receiveCount())))
+                .build();
+    }
+
+    private boolean delete(String receiptHandle) {
+        InFlight removed = inFlight.remove(receiptHandle);
+        if (removed == null) return false;
+        onDelete.accept(removed.message().messageId());
+        return true;
+    }
+
+    private void requeueExpired() {
+        long now = System.currentTimeMillis();
+        inFlight.forEach((handle, entry) -> {
+            if (entry.visibleAt() <= now && inFlight.remove(handle, entry)) {
+                queue(entry.queueName()).add(entry.message());
+            }
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package com.devicelife.devicelife_worker.loadtest;
+
+import com.devicelife.devicelife_worker.dto.ApiResponse;
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 부하 테스트용 가짜 백엔드 (루프백 전용 JDK HttpServer)
+ * - 워커가 호출하는 내부 API를 같은 경로/응답 형식(ApiResponse)으로 흉내냄
+ * - 응답은 지연(latency ± jitter) 후 스케줄러에서 보내므로 스레드를 붙잡지 않음
+ * - error-rate 비율만큼 500 응답 (→ 워커 실패 → ACK 안 됨 → 재전달 경로까지 측정)
+ */
+@Slf4j
+class StubBackendServer {
+
+    private static final Pattern PAYLOAD = Pattern.compile("^/internal/evaluations/(\\d+)/payload$");
+    private static final Pattern RESULT = Pattern.compile("^/internal/evaluations/(\\d+)/result$");
+
+    record Behavior(Duration latency, Duration jitter, double errorRate) {}
+
+    private final ObjectMapper objectMapper;
+    private final LoadTestTracker tracker;
+    private final long seed;
+    private final Behavior payloadBehavior;
+    private final Behavior resultBehavior;
+
+    private final Map<Long, EvaluationPayload.DeviceDto> devices = new ConcurrentHashMap<>(); // 스펙 일괄 조회용
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newFixedThreadPool(4, new CustomizableThreadFactory("stub-backend-"));
+    private final ScheduledExecutorService responders = Executors.newScheduledThreadPool(2, new CustomizableThreadFactory("stub-backend-delay-"));
+
+    StubBackendServer(int port, long seed, Behavior payloadBehavior, Behavior resultBehavior,
+                      ObjectMapper objectMapper, LoadTestTracker tracker) throws IOException {
+        this.objectMapper = objectMapper;
+        this.tracker = tracker;
+        this.seed = seed;
+        this.payloadBehavior = payloadBehavior;
+        this.resultBehavior = resultBehavior;
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.server.createContext("/internal/", this::handle);
+        this.server.setExecutor(handlers);
+    }
+
+    void start() {
+        server.start();
+        log.info("🧪 [LoadTest] 가짜 백엔드 시작: http://localhost:{}", server.getAddress().getPort());
+    }
+
+    void stop() {
+        server.stop(0);
+        responders.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    /** 같은 seed + ID면 항상 같은 조합 (재전달돼도 같은 Payload) */
+    EvaluationPayload payload(long combinationId) {
+        EvaluationPayload generated = new SyntheticPayloadGenerator(seed ^ combinationId).next();
+        generated.devices().forEach(device -> devices.putIfAbsent(device.deviceId(), device));
+        return new EvaluationPayload(combinationId, generated.evaluationVersion(), "loadtest-" + combinationId,
+                generated.devices(), generated.lifestyles());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+
+        Matcher payload = PAYLOAD.matcher(path);
+        Matcher result = RESULT.matcher(path);
+
+        if ("GET".equals(method) && payload.matches()) {
+            long id = Long.parseLong(payload.group(1));
+            tracker.fetched(id);
+            respond(exchange, payloadBehavior, () -> {
+                tracker.served(id);
+                return payload(id);
+            }, tracker::payloadError);
+        } else if ("POST".equals(method) && "/internal/evaluations/payloads".equals(path)) {
+            List<Long> ids = objectMapper.readValue(exchange.getRequestBody(), new TypeReference<List<Long>>() {});
+            ids.forEach(tracker::fetched);
+            respond(exchange, payloadBehavior, () -> {
+                List<EvaluationPayload> payloads = new ArrayList<>(ids.size());
+                for (Long id : ids) {
+                    tracker.served(id);
+                    payloads.add(payload(id));
+                }
+                return payloads;
+            }, tracker::payloadError);
+        } else if ("POST".equals(method) && "/internal/devices/specs".equals(path)) {
+            List<Long> ids = objectMapper.readValue(exchange.getRequestBody(), new TypeReference<List<Long>>() {});
+            respond(exchange, payloadBehavior,
+                    () -> ids.stream().map(devices::get).filter(Objects::nonNull).toList(),
+                    tracker::payloadError);
+        } else if ("POST".equals(method) && result.matches()) {
+            EvaluationResult body = objectMapper.readValue(exchange.getRequestBody(), EvaluationResult.class);
+            tracker.resulted(body.combinationId());
+            respond(exchange, resultBehavior, () -> null, tracker::resultError);
+        } else if ("POST".equals(method) && "/internal/evaluations/results".equals(path)) {
+            List<EvaluationResult> body = objectMapper.readValue(exchange.getRequestBody(), new TypeReference<List<EvaluationResult>>() {});
+            body.forEach(r -> tracker.resulted(r.combinationId()));
+            respond(exchange, resultBehavior, () -> null, tracker::resultError);
+        } else {
+            write(exchange, 404, new ApiResponse<>("NOT_FOUND", path, null, false));
+        }
+    }
+
+    private void respond(HttpExchange exchange, Behavior behavior, Supplier<Object> body, Runnable onError) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean fail = random.nextDouble() < behavior.errorRate();
+        long jitter = behavior.jitter().toMillis();
+        long delay = Math.max(0, behavior.latency().toMillis() + (jitter > 0 ? random.nextLong(-jitter, jitter + 1) : 0));
+
+        responders.schedule(() -> {
+            try {
+                if (fail) {
+                    onError.run();
+                    write(exchange, 500, new ApiResponse<>("INTERNAL_ERROR", "stub failure", null, false));
+                } else {
+                    Object result = body.get();
+                    write(exchange, 200, new ApiResponse<>("OK", "success", result, true));
+                }
+            } catch (IOException e) {
+                log.warn("⚠️ [LoadTest] 가짜 백엔드 응답 실패: {}", e.getMessage());
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void write(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
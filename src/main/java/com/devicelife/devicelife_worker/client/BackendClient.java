@@ -9,46 +9,104 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 백엔드 내부 API 클라이언트 (전부 논블로킹, CompletableFuture 반환)
+ * - 동기로 써야 하는 곳은 join()으로 기다리면 됨
+ * - 모든 호출은 BackendResilience(서킷 브레이커 / 벌크헤드 / 재시도)를 거침
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class BackendClient {
 
-    private final RestClient restClient;
+    private final WebClient payloadWebClient;
+    private final WebClient resultWebClient;
+    private final BackendResilience resilience;
 
     @Value("${INTERNAL_API_TOKEN}")
     private String apiToken;
 
     // 1. 평가에 필요한 데이터(Payload) 받아오기
-    public EvaluationPayload getPayload(Long evaluationId) {
+    public CompletableFuture<EvaluationPayload> getPayload(Long evaluationId) {
         log.info("🚀 백엔드로 보내는 토큰 확인: [{}]", apiToken);
 
         //  [수정] ApiResponse로 감싸서 받은 뒤 .result()만 꺼냄
-        ApiResponse<EvaluationPayload> response = restClient.get()
-                .uri("/internal/evaluations/" + evaluationId + "/payload")
+        return resilience.call(BackendResilience.PAYLOAD, () -> payloadWebClient.get()
+                .uri("/internal/evaluations/{id}/payload", evaluationId) // 템플릿으로 써야 지표의 uri 태그가 엔드포인트별로 묶임
                 .header("X-Internal-Token", apiToken)
                 .retrieve()
-                .body(new ParameterizedTypeReference<ApiResponse<EvaluationPayload>>() {}); // 👈 제네릭 타입 명시
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<EvaluationPayload>>() {}) // 👈 제네릭 타입 명시
+                .flatMap(response -> Mono.justOrEmpty(response.result())) // 알맹이 반환
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("백엔드 응답이 비어있습니다. ID=" + evaluationId)))
+                .toFuture());
+    }
 
-        if (response != null && response.result() != null) {
-            return response.result(); // 알맹이 반환
-        }
+    // 1-1. 여러 건의 Payload를 한 번에 받아오기 (배치 리스너용, 왕복 횟수 절감)
+    //      응답 리스트의 순서는 보장되지 않으므로 호출 측에서 combinationId로 매칭해야 함
+    public CompletableFuture<List<EvaluationPayload>> getPayloads(List<Long> evaluationIds) {
+        log.info("🚀 Payload 일괄 요청: {}건", evaluationIds.size());
 
-        throw new RuntimeException("백엔드 응답이 비어있습니다. ID=" + evaluationId);
+        return resilience.call(BackendResilience.PAYLOAD, () -> payloadWebClient.post()
+                .uri("/internal/evaluations/payloads")
+                .header("X-Internal-Token", apiToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(evaluationIds)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<EvaluationPayload>>>() {})
+                .flatMap(response -> Mono.justOrEmpty(response.result()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("백엔드 일괄 응답이 비어있습니다. IDs=" + evaluationIds)))
+                .toFuture());
+    }
+
+    // 1-2. 기기 스펙 일괄 조회 (워커 스펙 캐시에 없는 기기만)
+    public CompletableFuture<List<EvaluationPayload.DeviceDto>> getDeviceSpecs(List<Long> deviceIds) {
+        log.info("🚀 기기 스펙 일괄 요청: {}건", deviceIds.size());
+
+        return resilience.call(BackendResilience.SPECS, () -> payloadWebClient.post()
+                .uri("/internal/devices/specs")
+                .header("X-Internal-Token", apiToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(deviceIds)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<EvaluationPayload.DeviceDto>>>() {})
+                .flatMap(response -> Mono.justOrEmpty(response.result()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("백엔드 스펙 응답이 비어있습니다. IDs=" + deviceIds)))
+                .toFuture());
     }
 
     // 2. 계산된 결과(Result) 보내기
-    public void sendResult(EvaluationResult result) {
+    public CompletableFuture<Void> sendResult(EvaluationResult result) {
         log.info("📤 백엔드로 결과 전송 시작: ComboID={}", result.combinationId());
 
-        restClient.post()
-                .uri("/internal/evaluations/" + result.combinationId() + "/result")
+        return resilience.call(BackendResilience.RESULT, () -> resultWebClient.post()
+                .uri("/internal/evaluations/{id}/result", result.combinationId())
+                .header("X-Internal-Token", apiToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(result)
+                .retrieve()
+                .toBodilessEntity()
+                .then()
+                .toFuture());
+    }
+
+    // 2-1. 결과 여러 건을 한 번에 보내기 (ResultAggregator가 모아서 호출)
+    public CompletableFuture<Void> sendResults(List<EvaluationResult> results) {
+        log.info("📤 백엔드로 결과 일괄 전송 시작: {}건", results.size());
+
+        return resilience.call(BackendResilience.RESULT, () -> resultWebClient.post()
+                .uri("/internal/evaluations/results")
                 .header("X-Internal-Token", apiToken)
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(result)
+                .bodyValue(results)
                 .retrieve()
-                .toBodilessEntity();
+                .toBodilessEntity()
+                .then()
+                .toFuture());
     }
-}
\ No newline at end of file
+}
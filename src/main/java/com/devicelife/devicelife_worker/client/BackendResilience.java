@@ -0,0 +1,252 @@
+package com.devicelife.devicelife_worker.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 백엔드 호출 보호 (엔드포인트별 서킷 브레이커 + 전체 벌크헤드 + 로컬 재시도 큐)
+ * - 일시적 실패(5xx / 429 / 연결·타임아웃 / 서킷 OPEN / 벌크헤드 거절)는 지터를 넣은 지수 백오프로 워커 안에서 재시도
+ *   → 잠깐의 장애로 메시지가 ACK 실패 → 재수신 횟수 증가 → DLQ로 밀려나지 않게 함
+ * - 재시도는 첫 호출부터 retry.budget 안에서만 (가시성 타임아웃 전에 결론), 4xx 등 나머지 실패는 바로 실패
+ * - 서킷이 하나라도 OPEN이면 isOpen() → AdaptiveConcurrencyLimiter가 SQS 폴링을 멈춤
+ *   (결과 아웃박스가 켜져 있으면 결과 전송은 메시지 처리와 따로 돌므로 result 서킷은 빼고 봄)
+ */
+@Slf4j
+@Component
+public class BackendResilience {
+
+    public static final String PAYLOAD = "payload";
+    public static final String SPECS = "specs";
+    public static final String RESULT = "result";
+
+    /** 서킷 OPEN으로 호출 자체를 안 함 */
+    public static class CircuitOpenException extends RuntimeException {
+        CircuitOpenException(String endpoint) {
+            super("백엔드 서킷 OPEN: " + endpoint);
+        }
+    }
+
+    /** 동시 호출 상한 + 대기열이 꽉 참 */
+    public static class BulkheadFullException extends RuntimeException {
+        BulkheadFullException(int limit, int maxQueued) {
+            super("백엔드 동시 호출 상한 초과 (상한 " + limit + ", 대기 " + maxQueued + ")");
+        }
+    }
+
+    private final boolean enabled;
+    private final boolean resultDecoupled;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Bulkhead bulkhead;
+    private final ScheduledExecutorService retryScheduler;
+
+    private final int window;
+    private final int minimumCalls;
+    private final double failureRate;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final long budgetNanos;
+
+    private final MeterRegistry registry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public BackendResilience(@Value("${custom.api.resilience.enabled:true}") boolean enabled,
+                             @Value("${custom.api.resilience.circuit-breaker.window:20}") int window,
+                             @Value("${custom.api.resilience.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                             @Value("${custom.api.resilience.circuit-breaker.failure-rate:0.5}") double failureRate,
+                             @Value("${custom.api.resilience.circuit-breaker.open-duration:10s}") Duration openDuration,
+                             @Value("${custom.api.resilience.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+                             @Value("${custom.api.resilience.bulkhead.max-concurrent-calls:32}") int maxConcurrentCalls,
+                             @Value("${custom.api.resilience.bulkhead.max-queued:500}") int maxQueued,
+                             @Value("${custom.api.resilience.retry.max-attempts:4}") int maxAttempts,
+                             @Value("${custom.api.resilience.retry.base-delay:200ms}") Duration baseDelay,
+                             @Value("${custom.api.resilience.retry.max-delay:5s}") Duration maxDelay,
+                             @Value("${custom.api.resilience.retry.budget:20s}") Duration budget,
+                             @Value("${custom.result-outbox.path:}") String resultOutboxPath,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.resultDecoupled = !resultOutboxPath.isBlank();
+        this.window = window;
+        this.minimumCalls = minimumCalls;
+        this.failureRate = failureRate;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.budgetNanos = budget.toNanos();
+        this.registry = meterRegistry;
+
+        this.bulkhead = new Bulkhead(maxConcurrentCalls, maxQueued);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("backend-retry-"));
+
+        Gauge.builder("worker.backend.bulkhead.in.flight", bulkhead, Bulkhead::inFlight)
+                .description("벌크헤드 안에서 진행 중인 백엔드 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("worker.backend.bulkhead.queued", bulkhead, Bulkhead::queued)
+                .description("벌크헤드 상한에 걸려 기다리는 백엔드 호출 수")
+                .register(meterRegistry);
+        for (String endpoint : new String[]{PAYLOAD, SPECS, RESULT}) {
+            breaker(endpoint);
+        }
+    }
+
+    /**
+     * 백엔드 호출 하나를 보호해서 실행 (call은 재시도마다 새로 호출됨)
+     */
+    public <T> CompletableFuture<T> call(String endpoint, Supplier<CompletableFuture<T>> call) {
+        if (!enabled) return call.get();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(endpoint, call, result, 1, System.nanoTime());
+        return result;
+    }
+
+    // 서킷이 하나라도 OPEN이면 새 메시지를 받지 않음 (HALF_OPEN은 시험 호출을 위해 받음)
+    public boolean isOpen() {
+        if (!enabled) return false;
+        for (Map.Entry<String, CircuitBreaker> entry : breakers.entrySet()) {
+            if (resultDecoupled && entry.getKey().equals(RESULT)) continue;
+            if (entry.getValue().state() == CircuitBreaker.State.OPEN) return true;
+        }
+        return false;
+    }
+
+    private <T> void attempt(String endpoint, Supplier<CompletableFuture<T>> call, CompletableFuture<T> result,
+                             int attempt, long startedAt) {
+        CircuitBreaker breaker = breaker(endpoint);
+
+        CompletableFuture<T> running;
+        long permit = breaker.tryAcquire();
+        if (permit == CircuitBreaker.DENIED) {
+            running = CompletableFuture.failedFuture(new CircuitOpenException(endpoint));
+        } else {
+            running = bulkhead.submit(call).whenComplete((value, error) -> {
+                Throwable cause = unwrap(error);
+                if (cause == null) breaker.onSuccess(permit);
+                else if (cause instanceof BulkheadFullException) breaker.onIgnored(permit);
+                else if (isBackendFailure(cause)) breaker.onFailure(permit);
+                else breaker.onSuccess(permit); // 4xx 등은 백엔드가 살아서 응답한 것
+            });
+        }
+
+        running.whenComplete((value, error) -> {
+            if (error == null) {
+                if (attempt > 1) count("worker.backend.retries", endpoint, "outcome", "recovered");
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = unwrap(error);
+            long delay = retryDelay(breaker, cause, attempt);
+            if (delay < 0 || System.nanoTime() + delay - startedAt > budgetNanos) {
+                if (attempt > 1 || isTransient(cause)) count("worker.backend.retries", endpoint, "outcome", "exhausted");
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            count("worker.backend.retries", endpoint, "outcome", "scheduled");
+            log.warn("🔁 백엔드 호출 재시도 예정 [{}] {}번째 실패, {}ms 후: {}", endpoint, attempt,
+                    TimeUnit.NANOSECONDS.toMillis(delay), cause.toString());
+            retryScheduler.schedule(() -> attempt(endpoint, call, result, attempt + 1, startedAt), delay, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    // 다음 시도까지 기다릴 시간 (-1이면 재시도 안 함): full jitter 지수 백오프, 서킷 OPEN이면 풀릴 때까지는 기다림
+    private long retryDelay(CircuitBreaker breaker, Throwable cause, int attempt) {
+        if (attempt >= maxAttempts || !isTransient(cause)) return -1;
+
+        long ceiling = Math.min(maxDelayNanos, baseDelayNanos << Math.min(attempt - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (cause instanceof CircuitOpenException) {
+            delay += breaker.remainingOpenNanos();
+        }
+        return delay;
+    }
+
+    private static boolean isTransient(Throwable cause) {
+        return cause instanceof CircuitOpenException
+                || cause instanceof BulkheadFullException
+                || isBackendFailure(cause);
+    }
+
+    // 백엔드가 아프다는 신호 (서킷 실패율에 들어감)
+    private static boolean isBackendFailure(Throwable cause) {
+        if (cause instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return cause instanceof WebClientRequestException  // 연결 실패 / 응답 타임아웃 / 끊김
+                || cause instanceof TimeoutException;
+    }
+
+    // 다시 보내도 소용없는 실패 (429를 뺀 4xx, 요청 내용이 거절된 것)
+    static boolean isRejected(Throwable error) {
+        return unwrap(error) instanceof WebClientResponseException response
+                && response.getStatusCode().is4xxClientError() && response.getStatusCode().value() != 429;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private CircuitBreaker breaker(String endpoint) {
+        return breakers.computeIfAbsent(endpoint, name -> {
+            CircuitBreaker breaker = new CircuitBreaker(name, window, minimumCalls, failureRate, openDuration.toNanos(),
+                    halfOpenCalls, this::onTransition);
+            Gauge.builder("worker.backend.circuit.state", breaker, b -> b.state().ordinal())
+                    .description("서킷 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)")
+                    .tag("endpoint", name)
+                    .register(registry);
+            return breaker;
+        });
+    }
+
+    private void onTransition(String endpoint, CircuitBreaker.State to) {
+        count("worker.backend.circuit.transitions", endpoint, "to", to.name());
+        switch (to) {
+            case OPEN -> log.error("🚨 백엔드 서킷 OPEN [{}] → {}초 동안 호출 중단, SQS 폴링 일시 정지", endpoint, openDuration.toSeconds());
+            case HALF_OPEN -> log.warn("🟡 백엔드 서킷 HALF_OPEN [{}] → 시험 호출 {}건", endpoint, halfOpenCalls);
+            case CLOSED -> log.info("🟢 백엔드 서킷 CLOSED [{}] → 정상 처리 재개", endpoint);
+        }
+    }
+
+    private void count(String name, String endpoint, String tag, String value) {
+        counters.computeIfAbsent(name + ":" + endpoint + ":" + value, key -> Counter.builder(name)
+                .description(name.endsWith("transitions") ? "서킷 상태 전환" : "백엔드 호출 재시도 (scheduled / recovered / exhausted)")
+                .tag("endpoint", endpoint)
+                .tag(tag, value)
+                .register(registry)).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,94 @@
+package com.devicelife.devicelife_worker.client;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 백엔드 동시 호출 상한 (논블로킹)
+ * - 상한에 걸린 호출은 스레드를 막지 않고 대기열에서 순서를 기다림
+ * - 대기열까지 꽉 차면 바로 거절 (BulkheadFullException → 재시도 대상)
+ * - 이어서 시작할 호출은 자리를 내준 스레드가 루프로 꺼내 실행 (서킷 OPEN 등으로 바로 실패하는 호출이 이어져도 스택이 쌓이지 않음)
+ */
+final class Bulkhead {
+
+    private final int limit;
+    private final int maxQueued;
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private final Queue<Runnable> ready = new ArrayDeque<>(); // 자리를 넘겨받아 시작만 기다리는 호출
+    private int inFlight;
+    private boolean draining;
+
+    Bulkhead(int limit, int maxQueued) {
+        if (limit < 1) throw new IllegalArgumentException("벌크헤드 동시 호출 상한은 1 이상이어야 합니다: " + limit);
+        this.limit = limit;
+        this.maxQueued = maxQueued;
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Runnable start = () -> {
+            CompletableFuture<T> running;
+            try {
+                running = call.get();
+            } catch (Throwable e) {
+                running = CompletableFuture.failedFuture(e);
+            }
+            running.whenComplete((value, error) -> {
+                release();
+                if (error != null) result.completeExceptionally(error);
+                else result.complete(value);
+            });
+        };
+
+        boolean startNow;
+        synchronized (this) {
+            startNow = inFlight < limit;
+            if (startNow) {
+                inFlight++;
+            } else if (waiting.size() >= maxQueued) {
+                return CompletableFuture.failedFuture(new BackendResilience.BulkheadFullException(limit, maxQueued));
+            } else {
+                waiting.add(start);
+            }
+        }
+        if (startNow) start.run();
+        return result;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int queued() {
+        return waiting.size();
+    }
+
+    private void release() {
+        synchronized (this) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            ready.add(next);
+            // 이미 꺼내서 실행 중인 스레드가 있으면 그 루프가 이어서 실행
+            if (draining) return;
+            draining = true;
+        }
+
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                next = ready.poll();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            next.run();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.devicelife.devicelife_worker.client;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 엔드포인트 하나의 서킷 브레이커 (최근 window번 호출의 실패율 기준)
+ * - CLOSED: 최근 호출이 minimum-calls 이상이고 실패율이 failure-rate 이상이면 OPEN
+ * - OPEN: open-duration 동안 호출을 바로 거절, 지나면 HALF_OPEN
+ * - HALF_OPEN: 시험 호출 half-open-calls개만 허용, 전부 성공하면 CLOSED / 하나라도 실패하면 다시 OPEN
+ * - 결과는 호출을 허용한 상태 그대로일 때만 집계 (OPEN 전에 시작된 느린 호출이 시험 호출로 세지지 않도록)
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    static final long DENIED = -1;
+
+    private final String endpoint;
+    private final boolean[] failed;   // 최근 호출 결과 (원형 버퍼)
+    private final int minimumCalls;
+    private final double failureRate;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final BiConsumer<String, State> onTransition;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+    private long epoch; // 상태가 바뀔 때마다 증가 (호출 허용증)
+
+    CircuitBreaker(String endpoint, int window, int minimumCalls, double failureRate, long openNanos, int halfOpenCalls,
+                   BiConsumer<String, State> onTransition) {
+        this.endpoint = endpoint;
+        this.failed = new boolean[window];
+        this.minimumCalls = Math.min(minimumCalls, window);
+        this.failureRate = failureRate;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.onTransition = onTransition;
+    }
+
+    synchronized State state() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            transition(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    // 호출 허용증 (DENIED면 거절, 아니면 결과를 onSuccess / onFailure / onIgnored 중 하나로 이 값과 함께 꼭 알려야 함)
+    synchronized long tryAcquire() {
+        return switch (state()) {
+            case CLOSED -> epoch;
+            case OPEN -> DENIED;
+            case HALF_OPEN -> {
+                if (trialsStarted >= halfOpenCalls) yield DENIED;
+                trialsStarted++;
+                yield epoch;
+            }
+        };
+    }
+
+    // OPEN이 풀릴 때까지 남은 시간 (OPEN이 아니면 0)
+    synchronized long remainingOpenNanos() {
+        return state() == State.OPEN ? Math.max(0, openNanos - (System.nanoTime() - openedAt)) : 0;
+    }
+
+    synchronized void onSuccess(long permit) {
+        if (permit != epoch) return;
+        if (state == State.HALF_OPEN) {
+            if (++trialsSucceeded >= halfOpenCalls) transition(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure(long permit) {
+        if (permit != epoch) return;
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && calls >= minimumCalls && failures >= failureRate * calls) {
+            transition(State.OPEN);
+        }
+    }
+
+    // 허용은 받았지만 백엔드 상태와 무관하게 끝난 호출 (벌크헤드 거절 등)
+    synchronized void onIgnored(long permit) {
+        if (permit != epoch) return;
+        if (state == State.HALF_OPEN && trialsStarted > trialsSucceeded) trialsStarted--;
+    }
+
+    private void record(boolean failure) {
+        if (calls == failed.length) {
+            if (failed[next]) failures--;
+        } else {
+            calls++;
+        }
+        failed[next] = failure;
+        if (failure) failures++;
+        next = (next + 1) % failed.length;
+    }
+
+    private void transition(State to) {
+        if (state == to) return;
+        state = to;
+        epoch++;
+        switch (to) {
+            case OPEN -> openedAt = System.nanoTime();
+            case HALF_OPEN -> {
+                trialsStarted = 0;
+                trialsSucceeded = 0;
+            }
+            case CLOSED -> {
+                next = 0;
+                calls = 0;
+                failures = 0;
+            }
+        }
+        onTransition.accept(endpoint, to);
+    }
+}
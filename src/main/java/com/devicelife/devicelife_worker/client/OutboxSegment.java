@@ -0,0 +1,107 @@
+package com.devicelife.devicelife_worker.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 결과 아웃박스의 세그먼트 파일 하나 (고정 크기, 통째로 메모리 매핑)
+ * - 레코드: [길이 int][CRC32 int][결과 JSON], 길이 0 = 여기까지 (새 파일은 0으로 채워져 있음)
+ * - 본문 → CRC → 길이 순으로 써서, 길이가 보이면 나머지도 이미 써진 상태
+ * - 읽기 / 쓰기 모두 절대 위치로만 접근 → 쓰는 스레드와 읽는 스레드가 버퍼 position을 공유하지 않음
+ */
+final class OutboxSegment implements Closeable {
+
+    static final int HEADER = 8;
+
+    final long id;
+    final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private OutboxSegment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    // 매핑에 실패하면(디스크 부족 등) 만든 파일을 지움 → 다음 시도가 같은 이름으로 다시 만들 수 있게
+    static OutboxSegment create(Path path, long id, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new OutboxSegment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    // 기동 시 복구용 (이미 있는 파일은 읽기만 함)
+    static OutboxSegment open(Path path, long id) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new OutboxSegment(id, path, channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    boolean fits(int offset, int length) {
+        return (long) offset + HEADER + length <= buffer.capacity();
+    }
+
+    // offset에 레코드를 쓰고 다음 레코드 위치를 돌려줌 (fits()로 확인한 뒤에만 호출)
+    int write(int offset, byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        buffer.put(offset + HEADER, body);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.putInt(offset, body.length);
+        return offset + HEADER + body.length;
+    }
+
+    // offset의 레코드 본문 (비었거나 잘렸거나 CRC가 안 맞으면 null)
+    byte[] read(int offset) {
+        if (offset + HEADER > buffer.capacity()) return null;
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + HEADER + length > buffer.capacity()) return null;
+
+        byte[] body = new byte[length];
+        buffer.get(offset + HEADER, body);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue() == buffer.getInt(offset + 4) ? body : null;
+    }
+
+    // 멀쩡한 레코드가 끝나는 위치 (전원이 나가 중간까지만 써진 레코드가 있으면 그 앞)
+    int scanEnd() {
+        int offset = 0;
+        byte[] body;
+        while ((body = read(offset)) != null) {
+            offset += HEADER + body.length;
+        }
+        return offset;
+    }
+
+    // offset부터 버림: 길이 자리를 0으로 → 재기동 때 scanEnd가 여기서 멈춤 (뒤에 남은 바이트는 읽지 않음)
+    void truncate(int offset) {
+        if ((long) offset + 4 <= buffer.capacity()) buffer.putInt(offset, 0);
+    }
+
+    // [from, to) 구간을 디스크까지 내림
+    void force(int from, int to) {
+        if (to > from) buffer.force(from, to - from);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
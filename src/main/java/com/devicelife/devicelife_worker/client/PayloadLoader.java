@@ -0,0 +1,68 @@
+package com.devicelife.devicelife_worker.client;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.service.DeviceSpecCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Payload 조회 + 스펙 캐시에 없는 기기 스펙 보충
+ * - Payload가 deviceId + specVersion만 싣고 오는 경우, 캐시 미스인 기기만 한 번에 요청
+ * - 보충한 스펙(과 그 시점의 캐시 인스턴스)은 Payload에 붙여서 넘김 → 평가 전에 캐시에서 밀려나도 DLQ로 가지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PayloadLoader {
+
+    private final BackendClient backendClient;
+    private final DeviceSpecCache deviceSpecCache;
+
+    public CompletableFuture<EvaluationPayload> load(Long evaluationId) {
+        return backendClient.getPayload(evaluationId)
+                .thenCompose(payload -> fillMissingSpecs(List.of(payload))
+                        .thenApply(fetched -> deviceSpecCache.pin(payload, fetched)));
+    }
+
+    public CompletableFuture<List<EvaluationPayload>> loadAll(List<Long> evaluationIds) {
+        return backendClient.getPayloads(evaluationIds)
+                .thenCompose(payloads -> fillMissingSpecs(payloads).thenApply(fetched -> {
+                    List<EvaluationPayload> pinned = new ArrayList<>(payloads.size());
+                    for (EvaluationPayload payload : payloads) {
+                        pinned.add(deviceSpecCache.pin(payload, fetched));
+                    }
+                    return pinned;
+                }));
+    }
+
+    // 백엔드에서 받아 온 기기 스펙 (deviceId → DeviceDto, 캐시 등록은 pin이 payload의 타입 / 버전으로)
+    private CompletableFuture<Map<Long, EvaluationPayload.DeviceDto>> fillMissingSpecs(List<EvaluationPayload> payloads) {
+        Set<Long> missing = new LinkedHashSet<>();
+        for (EvaluationPayload payload : payloads) {
+            missing.addAll(deviceSpecCache.missingDeviceIds(payload));
+        }
+
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+
+        log.info("📦 스펙 캐시 미스 {}건 → 백엔드에서 보충", missing.size());
+        return backendClient.getDeviceSpecs(List.copyOf(missing))
+                .thenApply(devices -> {
+                    Map<Long, EvaluationPayload.DeviceDto> fetched = new HashMap<>();
+                    for (EvaluationPayload.DeviceDto dto : devices) {
+                        if (dto != null && dto.deviceId() != null) fetched.put(dto.deviceId(), dto);
+                    }
+                    return fetched;
+                });
+    }
+}
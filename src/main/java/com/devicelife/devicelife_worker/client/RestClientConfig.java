@@ -1,21 +1,107 @@
 package com.devicelife.devicelife_worker.client;
 
+import com.devicelife.devicelife_worker.consumer.AdaptiveConcurrencyLimiter;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestClient;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * 백엔드 호출용 전송 계층
+ * - 커넥션 풀 하나를 payload/result 클라이언트가 같이 씀 (keep-alive 재사용)
+ * - 엔드포인트마다 connect/read 타임아웃을 따로 둬서 느린 백엔드가 작업을 무한정 붙잡지 않게 함
+ * - 풀 포화도(reactor.netty.connection.provider.*)와 요청 지연(http.client.requests)은 Micrometer로 나감
+ * - 응답 시간 / 실패는 AdaptiveConcurrencyLimiter에도 넘겨서 SQS 동시 처리 수 조절에 씀
+ */
 @Configuration
 public class RestClientConfig {
 
     @Value("${custom.api.backend-url}") // <http://100.x.x.x:8080>
     private String backendUrl;
 
+    @Value("${custom.api.transport.http2:false}")
+    private boolean http2;
+
+    @Value("${custom.api.transport.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${custom.api.transport.pending-acquire-max:500}")
+    private int pendingAcquireMax;
+
+    @Value("${custom.api.transport.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${custom.api.transport.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${custom.api.transport.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${custom.api.transport.payload.connect-timeout:2s}")
+    private Duration payloadConnectTimeout;
+
+    @Value("${custom.api.transport.payload.read-timeout:5s}")
+    private Duration payloadReadTimeout;
+
+    @Value("${custom.api.transport.result.connect-timeout:2s}")
+    private Duration resultConnectTimeout;
+
+    @Value("${custom.api.transport.result.read-timeout:10s}")
+    private Duration resultReadTimeout;
+
+    @Value("${custom.result-outbox.path:}")
+    private String resultOutboxPath;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider backendConnectionProvider() {
+        return ConnectionProvider.builder("backend")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true) // active/idle/pending 커넥션 수 → 풀 포화도
+                .build();
+    }
+
+    // Payload / 기기 스펙 조회용
+    @Bean
+    public WebClient payloadWebClient(WebClient.Builder builder, ConnectionProvider backendConnectionProvider,
+                                      AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        return build(builder, backendConnectionProvider, concurrencyLimiter, payloadConnectTimeout, payloadReadTimeout);
+    }
+
+    // 결과 전송용 (결과 아웃박스가 켜져 있으면 전송이 메시지 처리와 따로 돌므로 동시 처리 수 조절에 넣지 않음)
     @Bean
-    public RestClient restClient() {
-        return RestClient.builder()
+    public WebClient resultWebClient(WebClient.Builder builder, ConnectionProvider backendConnectionProvider,
+                                     AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        return build(builder, backendConnectionProvider, resultOutboxPath.isBlank() ? concurrencyLimiter : null,
+                resultConnectTimeout, resultReadTimeout);
+    }
+
+    private WebClient build(WebClient.Builder builder, ConnectionProvider provider, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                            Duration connectTimeout, Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(provider)
+                // 백엔드는 Tailscale 내부망 평문 HTTP → HTTP/2는 h2c (지원 안 하면 HTTP/1.1로 동작)
+                .protocol(http2
+                        ? new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(readTimeout);
+
+        WebClient.Builder client = builder.clone()
                 .baseUrl(backendUrl)
-                .build();
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+        if (concurrencyLimiter != null) client.filter(concurrencyLimiter.backendFilter());
+        return client.build();
     }
 }
-
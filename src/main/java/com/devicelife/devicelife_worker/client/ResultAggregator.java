@@ -0,0 +1,137 @@
+package com.devicelife.devicelife_worker.client;
+
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 평가 결과를 모아서 한 번의 bulk POST로 전송
+ * - batch-size개가 차거나, 첫 결과가 들어온 뒤 max-delay가 지나면 flush
+ * - submit()이 돌려주는 future는 해당 결과가 실제로 전송돼야 완료됨 (→ 그때 SQS ACK)
+ * - bulk가 4xx로 거절되면 건별 POST로 한 번 더 시도하고, 건별 성공/실패를 그대로 돌려줌
+ *   (5xx / 타임아웃은 백엔드가 아픈 것이라 건별로 쪼개지 않고 묶음 전체를 실패로)
+ * - bulk POST와 건별 재시도 모두 send-concurrency개까지만 동시에 (대기열은 스레드를 막지 않음)
+ */
+@Slf4j
+@Component
+public class ResultAggregator {
+
+    private record Pending(EvaluationResult result, CompletableFuture<Void> done) {}
+
+    private final BackendClient backendClient;
+    private final Bulkhead sendLimit; // 대기열 상한 없이 동시 전송 수만 제한
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration maxDelay;
+    private final ScheduledExecutorService scheduler;
+
+    private List<Pending> buffer = new ArrayList<>();
+    private long generation; // 예약된 시간 flush가 이미 비워진 버퍼를 다시 flush하지 않도록 구분
+
+    public ResultAggregator(BackendClient backendClient,
+                            @Value("${custom.result-batch.enabled:true}") boolean enabled,
+                            @Value("${custom.result-batch.size:10}") int batchSize,
+                            @Value("${custom.result-batch.max-delay:200ms}") Duration maxDelay,
+                            @Value("${custom.pipeline.send-concurrency:16}") int sendConcurrency) {
+        this.backendClient = backendClient;
+        this.sendLimit = new Bulkhead(sendConcurrency, Integer.MAX_VALUE);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("result-flush-"));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<Void> submit(EvaluationResult result) {
+        if (!enabled) {
+            return sendLimit.submit(() -> backendClient.sendResult(result));
+        }
+
+        Pending pending = new Pending(result, new CompletableFuture<>());
+        List<Pending> full = null;
+
+        synchronized (this) {
+            buffer.add(pending);
+            if (buffer.size() >= batchSize) {
+                full = drain();
+            } else if (buffer.size() == 1) {
+                long scheduled = generation;
+                scheduler.schedule(() -> flushIfStill(scheduled), maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (full != null) flush(full);
+        return pending.done();
+    }
+
+    private void flushIfStill(long scheduled) {
+        List<Pending> batch;
+        synchronized (this) {
+            if (generation != scheduled || buffer.isEmpty()) return;
+            batch = drain();
+        }
+        flush(batch);
+    }
+
+    // synchronized 안에서만 호출
+    private List<Pending> drain() {
+        List<Pending> batch = buffer;
+        buffer = new ArrayList<>();
+        generation++;
+        return batch;
+    }
+
+    private void flush(List<Pending> batch) {
+        List<EvaluationResult> results = new ArrayList<>(batch.size());
+        for (Pending p : batch) results.add(p.result());
+
+        sendLimit.submit(() -> backendClient.sendResults(results)).whenComplete((v, error) -> {
+            if (error == null) {
+                log.info("✅ 결과 일괄 전송 완료: {}건", batch.size());
+                batch.forEach(p -> p.done().complete(null));
+                return;
+            }
+
+            // 전송 / 5xx 실패에 건별 요청을 N배로 얹지 않음 → 묶음 전체 실패 (SQS 재전달)
+            if (!BackendResilience.isRejected(error)) {
+                log.warn("⚠️ 결과 일괄 전송 실패: {}건", batch.size(), error);
+                batch.forEach(p -> p.done().completeExceptionally(error));
+                return;
+            }
+
+            // 4xx로 거절 → 건별로 재시도 (한 건 때문에 전체가 DLQ로 가지 않도록)
+            log.warn("⚠️ 결과 일괄 전송 거절 → 건별 재시도: {}건", batch.size(), error);
+            for (Pending p : batch) {
+                sendLimit.submit(() -> backendClient.sendResult(p.result())).whenComplete((ok, itemError) -> {
+                    if (itemError != null) p.done().completeExceptionally(itemError);
+                    else p.done().complete(null);
+                });
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 남은 결과는 종료 전에 내보냄
+        List<Pending> rest;
+        synchronized (this) {
+            rest = buffer.isEmpty() ? null : drain();
+        }
+        if (rest != null) flush(rest);
+        scheduler.shutdown();
+    }
+}
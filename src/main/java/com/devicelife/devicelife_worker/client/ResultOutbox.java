@@ -0,0 +1,647 @@
+package com.devicelife.devicelife_worker.client;
+
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 결과 아웃박스 (로컬 디스크에 먼저 쓰고, 백엔드 전송은 뒤에서)
+ * - append()가 돌려주는 future는 결과가 디스크까지 내려가면 완료됨 (→ 그때 SQS ACK, 백엔드가 죽어 있어도 메시지를 다시 돌리지 않음)
+ * - 저장: 고정 크기 세그먼트 파일을 메모리 매핑해서 끝에 덧붙이기만 함, fsync(msync)는 전용 스레드가 모아서 한 번에 (group commit)
+ * - 전송: 전용 스레드가 체크포인트 이후 레코드를 batch-size개씩 bulk POST, 성공할 때마다 체크포인트 갱신
+ *   실패하면 백오프 후 같은 위치부터 다시, 4xx로 거절된 bulk는 건별로 보내고 거절된 건만 버림 (로그 + 지표)
+ * - 재시작하면 체크포인트 이후 레코드를 다시 보냄 (체크포인트 직전에 죽으면 한 batch가 중복 전송될 수 있음, 같은 버전 결과라 무해)
+ * - fsync가 실패하면 마지막으로 내려간 위치 뒤는 버리고 새 세그먼트부터 (그 메시지들은 ACK하지 않아 SQS가 다시 보냄 → 보내지도 복구하지도 않음)
+ * - 다 보낸 세그먼트는 retention 동안 남겨 두고 지움, 안 보낸 세그먼트가 max-segments개면 append를 거절 (→ 기존처럼 SQS 재전달)
+ * - path가 비어 있으면 꺼짐 (기존 동작: 백엔드 전송까지 끝나야 ACK), 켤 때는 재배포 / 스케일 인 뒤에도 남는 볼륨이어야 함
+ */
+@Slf4j
+@Component
+public class ResultOutbox {
+
+    private static final int CHECKPOINT_MAGIC = 0x44_4C_4F_31; // "DLO1"
+    private static final String SEGMENT_PREFIX = "results-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long MIN_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long SWEEP_INTERVAL_MILLIS = 10_000;
+
+    private record Position(long segment, int offset) {}
+
+    private record Waiter(long seq, CompletableFuture<Void> done) {}
+
+    // records: batch 시작부터 이 결과까지 읽고 넘어간 레코드 수 (읽지 못해 버린 것 포함)
+    private record Entry(EvaluationResult result, Position end, int records) {}
+
+    // records: 읽고 넘어간 레코드 수 (읽지 못해 버린 것 포함)
+    private record Batch(List<Entry> entries, Position end, int records) {}
+
+    private final BackendClient backendClient;
+    private final ObjectMapper objectMapper;
+    private final Path dir;
+    private final int segmentSize;
+    private final Duration retention;
+    private final int maxSegments;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+
+    private final Map<Long, OutboxSegment> segments = new ConcurrentHashMap<>(); // 아직 다 보내지 않은 세그먼트
+    private final Map<Long, Integer> sealed = new ConcurrentHashMap<>();         // 다 쓴 세그먼트 → 마지막 레코드 끝 위치
+    private final AtomicLong pending = new AtomicLong();                         // 아직 보내지 않은 레코드 수
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appendedSignal = lock.newCondition();
+    private final Condition durableSignal = lock.newCondition();
+    // 아래는 lock 안에서만
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private final List<OutboxSegment> rolled = new ArrayList<>(); // roll()로 닫았지만 마지막 force는 아직 (동기화 스레드 몫)
+    private OutboxSegment head;
+    private int headEnd;
+    private long appended;
+    private long durableSeq;
+    private Position durable;
+    private boolean accepting;
+
+    private volatile boolean running;
+    private volatile Position sentUpTo; // 체크포인트 (여기 앞은 전송 끝)
+    private long lastSweep;
+
+    private final Counter sent;
+    private final Counter dropped;
+    private final Timer syncTimer;
+    private Thread syncer;
+    private Thread sender;
+
+    public ResultOutbox(BackendClient backendClient,
+                        ObjectMapper objectMapper,
+                        @Value("${custom.result-outbox.path:}") String path,
+                        @Value("${custom.result-outbox.segment-size:16MB}") DataSize segmentSize,
+                        @Value("${custom.result-outbox.retention:1h}") Duration retention,
+                        @Value("${custom.result-outbox.max-segments:64}") int maxSegments,
+                        @Value("${custom.result-outbox.batch-size:50}") int batchSize,
+                        @Value("${custom.result-outbox.shutdown-timeout:10s}") Duration shutdownTimeout,
+                        MeterRegistry meterRegistry) throws IOException {
+        this.backendClient = backendClient;
+        this.objectMapper = objectMapper;
+        this.dir = path.isBlank() ? null : Path.of(path);
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, segmentSize.toBytes());
+        this.retention = retention;
+        this.maxSegments = Math.max(2, maxSegments);
+        this.batchSize = Math.max(1, batchSize);
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("worker.outbox.pending", pending, AtomicLong::get)
+                .description("아웃박스에 쌓여 있고 아직 백엔드로 보내지 않은 결과 수")
+                .register(meterRegistry);
+        Gauge.builder("worker.outbox.segments", segments, Map::size)
+                .description("아직 다 보내지 않은 아웃박스 세그먼트 수")
+                .register(meterRegistry);
+        this.sent = Counter.builder("worker.outbox.sent")
+                .description("아웃박스에서 백엔드로 보낸 결과 수")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("worker.outbox.dropped")
+                .description("백엔드가 4xx로 거절했거나 읽지 못해서 버린 아웃박스 결과 수")
+                .register(meterRegistry);
+        this.syncTimer = Timer.builder("worker.outbox.sync")
+                .description("아웃박스 fsync 한 번에 걸린 시간 (이만큼 ACK가 늦어짐)")
+                .register(meterRegistry);
+
+        if (dir != null) {
+            recover();
+            start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return dir != null;
+    }
+
+    /**
+     * 결과를 아웃박스 끝에 덧붙임
+     * - future는 디스크까지 내려가면 완료, 쓸 수 없으면(닫힘 / 안 보낸 세그먼트가 가득 참 / 디스크 오류) 실패
+     */
+    public CompletableFuture<Void> append(EvaluationResult result) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if ((long) body.length + OutboxSegment.HEADER > segmentSize) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("결과가 세그먼트보다 큼: " + body.length + "B"));
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (!accepting) {
+                return CompletableFuture.failedFuture(new IllegalStateException("결과 아웃박스가 닫힘"));
+            }
+            if (!head.fits(headEnd, body.length)) roll();
+            headEnd = head.write(headEnd, body);
+            waiters.add(new Waiter(++appended, done));
+            pending.incrementAndGet();
+            appendedSignal.signal();
+        } catch (IOException | IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            lock.unlock();
+        }
+        return done;
+    }
+
+    // lock 안에서만: 지금 세그먼트를 닫고 다음 세그먼트로 (남은 구간 force는 동기화 스레드가, append를 막지 않게)
+    private void roll() throws IOException {
+        if (head.id - sentUpTo.segment() + 1 >= maxSegments) {
+            throw new IllegalStateException("아웃박스에 안 보낸 세그먼트가 " + maxSegments + "개라 더 받지 않음 (백엔드 장애가 길어짐)");
+        }
+        // 새 세그먼트부터 (만들다 실패하면 지금 head는 그대로, 다음 append가 다시 시도)
+        OutboxSegment next = OutboxSegment.create(segmentPath(head.id + 1), head.id + 1, segmentSize);
+        sealed.put(head.id, headEnd);
+        rolled.add(head);
+        segments.put(next.id, next);
+        head = next;
+        headEnd = 0;
+    }
+
+    // ===== 기동 시 복구 =====
+
+    private void recover() throws IOException {
+        Files.createDirectories(dir);
+        Position checkpoint = readCheckpoint();
+        List<Long> ids = segmentIds();
+
+        long first = checkpoint != null ? checkpoint.segment() : ids.isEmpty() ? 1 : ids.get(0);
+        long last = first; // 새 세그먼트는 체크포인트 세그먼트보다 뒤에 (파일이 지워졌어도 체크포인트보다 앞에 쓰지 않게)
+        long recovered = 0;
+        for (long id : ids) {
+            last = Math.max(last, id);
+            if (id < first) continue; // 이미 다 보낸 세그먼트 (retention이 지나면 지움)
+
+            OutboxSegment segment = OutboxSegment.open(segmentPath(id), id);
+            int end = segment.scanEnd();
+            segments.put(id, segment);
+            sealed.put(id, end);
+            recovered += count(segment, checkpoint != null && id == first ? checkpoint.offset() : 0, end);
+        }
+
+        // 이전 프로세스가 쓰던 세그먼트에 이어 쓰지 않고 항상 새 세그먼트부터 (끝이 깨져 있어도 덮어쓸 일이 없게)
+        head = OutboxSegment.create(segmentPath(last + 1), last + 1, segmentSize);
+        segments.put(head.id, head);
+        durable = new Position(head.id, 0);
+        sentUpTo = checkpoint != null ? checkpoint : new Position(first, 0);
+        pending.set(recovered);
+
+        if (recovered > 0) {
+            log.info("📦 결과 아웃박스 복구: 미전송 {}건 → 다시 전송 ({})", recovered, dir);
+        } else {
+            log.info("📦 결과 아웃박스 사용: {} (세그먼트 {}MB)", dir, segmentSize >> 20);
+        }
+    }
+
+    private static long count(OutboxSegment segment, int from, int end) {
+        long records = 0;
+        for (int offset = from; offset < end; records++) {
+            byte[] body = segment.read(offset);
+            if (body == null) break;
+            offset += OutboxSegment.HEADER + body.length;
+        }
+        return records;
+    }
+
+    private void start() {
+        running = true;
+        accepting = true;
+        syncer = new Thread(this::syncLoop, "result-outbox-sync");
+        sender = new Thread(this::sendLoop, "result-outbox-sender");
+        syncer.setDaemon(true);
+        sender.setDaemon(true);
+        syncer.start();
+        sender.start();
+    }
+
+    // ===== group commit =====
+
+    private void syncLoop() {
+        long forcedSegment = -1;
+        int forcedUpTo = 0;
+        while (true) {
+            List<OutboxSegment> closed;
+            OutboxSegment segment;
+            int end;
+            long seq;
+            lock.lock();
+            try {
+                while (durableSeq == appended && running) {
+                    appendedSignal.await();
+                }
+                if (durableSeq == appended) return;
+                closed = List.copyOf(rolled);
+                rolled.clear();
+                segment = head;
+                end = headEnd;
+                seq = appended;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            Throwable error = null;
+            long start = System.nanoTime();
+            try {
+                // 그 사이 닫힌 세그먼트의 남은 구간부터 → 다 내려야 durable이 다음 세그먼트로 넘어감
+                for (OutboxSegment previous : closed) {
+                    previous.force(previous.id == forcedSegment ? forcedUpTo : 0, sealed.get(previous.id));
+                }
+                // 지금 세그먼트는 새로 쓴 구간만
+                if (segment.id != forcedSegment) {
+                    forcedSegment = segment.id;
+                    forcedUpTo = 0;
+                }
+                segment.force(forcedUpTo, end);
+                forcedUpTo = end;
+            } catch (UncheckedIOException e) {
+                error = e;
+                forcedSegment = -1;
+                log.error("❌ 결과 아웃박스 fsync 실패 → 마지막으로 내려간 위치 뒤는 버림 (해당 메시지는 ACK하지 않음)", e);
+            }
+            syncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            List<Waiter> done = new ArrayList<>();
+            lock.lock();
+            try {
+                if (error == null) {
+                    durable = new Position(segment.id, end);
+                    durableSeq = seq;
+                } else {
+                    discardAfterDurable();
+                    seq = durableSeq; // 그 사이 덧붙인 것까지 전부 실패
+                }
+                while (!waiters.isEmpty() && waiters.peek().seq() <= seq) {
+                    done.add(waiters.poll());
+                }
+                durableSignal.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            for (Waiter waiter : done) {
+                if (error == null) waiter.done().complete(null);
+                else waiter.done().completeExceptionally(error);
+            }
+        }
+    }
+
+    // lock 안에서만: fsync에 실패한 구간(durable 뒤)을 버리고 새 세그먼트부터 다시 씀
+    // - 버린 레코드의 메시지는 ACK되지 않아 다시 평가됨 → 나중에 force가 성공해도 보내지 않게 sealed 끝을 durable로
+    // - 재기동 때도 복구하지 않게 길이 자리를 0으로 (디스크가 받아 주면)
+    private void discardAfterDurable() {
+        for (OutboxSegment segment : segments.values()) {
+            if (segment.id < durable.segment()) continue;
+            int from = segment.id == durable.segment() ? durable.offset() : 0;
+            segment.truncate(from);
+            sealed.put(segment.id, from);
+            try {
+                segment.force(from, Math.min(from + 4, segment.capacity()));
+            } catch (UncheckedIOException ignored) {
+                // 이미 fsync가 실패한 디스크, 재기동 때 중복 전송될 수 있음
+            }
+        }
+        rolled.clear();
+        pending.addAndGet(-(appended - durableSeq));
+        durableSeq = appended;
+
+        try {
+            head = OutboxSegment.create(segmentPath(head.id + 1), head.id + 1, segmentSize);
+            segments.put(head.id, head);
+            headEnd = 0;
+            durable = new Position(head.id, 0); // 전송 스레드는 버린 구간을 건너뛰고 여기로
+        } catch (IOException e) {
+            accepting = false;
+            log.error("❌ 결과 아웃박스 새 세그먼트를 만들지 못해 더 받지 않음 (메시지는 ACK하지 않고 SQS 재전달)", e);
+        }
+    }
+
+    // ===== 백그라운드 전송 =====
+
+    private void sendLoop() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (running) {
+            try {
+                Batch batch = awaitBatch();
+                if (batch == null) continue;
+
+                boolean delivered = batch.entries().isEmpty() || deliver(batch);
+                if (delivered) {
+                    backoff = MIN_BACKOFF_MILLIS;
+                } else {
+                    Thread.sleep(backoff);
+                    backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("❌ 결과 아웃박스 전송 루프 오류", e);
+            }
+        }
+    }
+
+    // 체크포인트 이후의 디스크에 내려간 레코드를 최대 batch-size개 (없으면 잠깐 기다렸다가 null)
+    private Batch awaitBatch() throws InterruptedException {
+        Position from = sentUpTo;
+        Position until;
+        lock.lock();
+        try {
+            if (durable.equals(from)) durableSignal.await(1, TimeUnit.SECONDS);
+            until = durable;
+        } finally {
+            lock.unlock();
+        }
+        if (until.equals(from)) {
+            deleteExpired();
+            return null;
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        int records = 0;
+        Position at = from;
+        while (entries.size() < batchSize) {
+            if (at.segment() < until.segment()) {
+                if (at.offset() >= sealed.getOrDefault(at.segment(), 0)) {
+                    at = new Position(at.segment() + 1, 0);
+                    continue;
+                }
+            } else if (at.offset() >= until.offset()) {
+                break;
+            }
+
+            OutboxSegment segment = segments.get(at.segment());
+            byte[] body = segment != null ? segment.read(at.offset()) : null;
+            if (body == null) {
+                // 우리가 쓴 구간이라 있을 수 없음 (파일을 손으로 지웠거나 디스크가 깨짐) → 이 세그먼트의 나머지는 건너뜀
+                log.error("❌ 결과 아웃박스 레코드를 읽지 못해 세그먼트 나머지를 건너뜀: {}", at);
+                at = at.segment() < until.segment() ? new Position(at.segment() + 1, 0) : until;
+                continue;
+            }
+            at = new Position(at.segment(), at.offset() + OutboxSegment.HEADER + body.length);
+            records++;
+            try {
+                entries.add(new Entry(objectMapper.readValue(body, EvaluationResult.class), at, records));
+            } catch (IOException e) {
+                log.error("❌ 결과 아웃박스 레코드 역직렬화 실패 → 버림: {}", at, e);
+                dropped.increment();
+            }
+        }
+
+        if (entries.isEmpty()) advance(at, records);
+        return new Batch(entries, at, records);
+    }
+
+    // false면 잠시 뒤 같은 위치부터 다시
+    private boolean deliver(Batch batch) throws InterruptedException {
+        List<EvaluationResult> results = new ArrayList<>(batch.entries().size());
+        for (Entry entry : batch.entries()) results.add(entry.result());
+
+        Throwable error = await(backendClient.sendResults(results));
+        if (error == null) {
+            log.info("📤 아웃박스 결과 전송 완료: {}건 (남은 {}건)", results.size(), pending.get() - batch.records());
+            sent.increment(results.size());
+            advance(batch.end(), batch.records());
+            return true;
+        }
+        if (!BackendResilience.isRejected(error)) {
+            log.warn("⚠️ 아웃박스 결과 전송 실패 → 잠시 뒤 재시도: {}건, {}", results.size(), error.toString());
+            return false;
+        }
+
+        // 일괄 전송이 거절됨 → 건별로 (거절된 건 때문에 뒤의 결과가 계속 막히지 않도록)
+        log.warn("⚠️ 아웃박스 결과 일괄 전송 거절 → 건별 전송: {}건", results.size(), error);
+        Position done = sentUpTo;
+        int doneRecords = 0;
+        for (Entry entry : batch.entries()) {
+            Throwable itemError = await(backendClient.sendResult(entry.result()));
+            if (itemError != null && !BackendResilience.isRejected(itemError)) {
+                advance(done, doneRecords);
+                return false;
+            }
+            if (itemError != null) {
+                log.error("❌ 백엔드가 결과를 거절해서 버림 ComboID={}", entry.result().combinationId(), itemError);
+                dropped.increment();
+            } else {
+                sent.increment();
+            }
+            done = entry.end();
+            doneRecords = entry.records();
+        }
+        advance(batch.end(), batch.records());
+        return true;
+    }
+
+    private static Throwable await(CompletableFuture<Void> call) throws InterruptedException {
+        try {
+            call.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    // 전송 스레드에서만: 체크포인트를 옮기고 다 보낸 세그먼트를 닫음
+    private void advance(Position to, int records) {
+        if (to.equals(sentUpTo) && records == 0) return;
+        sentUpTo = to;
+        pending.addAndGet(-records);
+        try {
+            writeCheckpoint(to);
+        } catch (IOException e) {
+            log.warn("⚠️ 결과 아웃박스 체크포인트 저장 실패 (재시작하면 중복 전송될 수 있음): {}", e.toString());
+        }
+
+        for (Long id : List.copyOf(segments.keySet())) {
+            if (id >= to.segment()) continue;
+            OutboxSegment segment = segments.remove(id);
+            sealed.remove(id);
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("⚠️ 결과 아웃박스 세그먼트 닫기 실패: {}", segment.path, e);
+            }
+        }
+        deleteExpired();
+    }
+
+    // 다 보내고 retention이 지난 세그먼트 파일 삭제
+    private void deleteExpired() {
+        long now = System.currentTimeMillis();
+        if (now - lastSweep < SWEEP_INTERVAL_MILLIS) return;
+        lastSweep = now;
+
+        try {
+            for (long id : segmentIds()) {
+                if (id >= sentUpTo.segment()) break;
+                Path file = segmentPath(id);
+                if (Files.getLastModifiedTime(file).toMillis() + retention.toMillis() <= now) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ 결과 아웃박스 세그먼트 정리 실패: {}", e.toString());
+        }
+    }
+
+    // ===== 파일 =====
+
+    private Path segmentPath(long id) {
+        return dir.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> segmentIds() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // 임시 파일을 디스크까지 내린 뒤 이름을 바꾸고 디렉터리도 내림 (전원이 나가도 빈 체크포인트로 전부 다시 보내지 않게)
+    private void writeCheckpoint(Position position) throws IOException {
+        Path tmp = dir.resolve("checkpoint.tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(16)
+                .putInt(CHECKPOINT_MAGIC)
+                .putLong(position.segment())
+                .putInt(position.offset())
+                .flip();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(tmp, dir.resolve("checkpoint"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory();
+    }
+
+    // 이름 바꾸기(디렉터리 항목)까지 디스크로 (디렉터리를 열 수 없는 OS / 파일 시스템이면 건너뜀)
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // 파일 내용은 이미 내려갔으니 최악이면 이전 체크포인트부터 다시 보냄
+        }
+    }
+
+    // 없거나 못 읽으면 null (남아 있는 세그먼트를 처음부터 다시 보냄)
+    private Position readCheckpoint() {
+        Path file = dir.resolve("checkpoint");
+        if (!Files.exists(file)) return null;
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != CHECKPOINT_MAGIC) throw new IOException("체크포인트 형식 아님");
+            return new Position(in.readLong(), in.readInt());
+        } catch (IOException e) {
+            log.warn("⚠️ 결과 아웃박스 체크포인트를 읽지 못함, 남은 세그먼트를 처음부터 다시 보냄: {} ({})", file, e.toString());
+            return null;
+        }
+    }
+
+    // 받은 결과가 전부 디스크에 내려갔고 전부 보냈는지 (레코드 수가 아니라 위치로 판단)
+    private boolean drained() {
+        lock.lock();
+        try {
+            return durableSeq == appended && durable.equals(sentUpTo);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dir == null) return;
+
+        lock.lock();
+        try {
+            accepting = false;
+        } finally {
+            lock.unlock();
+        }
+
+        // 남은 결과는 잠깐 더 내보내 봄 (못 보낸 것은 다음 기동 때)
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        try {
+            while (!drained() && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        running = false;
+        syncer.interrupt();
+        sender.interrupt();
+        try {
+            syncer.join(1000);
+            sender.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        lock.lock();
+        try {
+            waiters.forEach(w -> w.done().completeExceptionally(new IllegalStateException("결과 아웃박스가 닫힘")));
+            waiters.clear();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writeCheckpoint(sentUpTo);
+        } catch (IOException e) {
+            log.warn("⚠️ 결과 아웃박스 체크포인트 저장 실패: {}", e.toString());
+        }
+        for (OutboxSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException ignored) {
+                // 종료 중
+            }
+        }
+
+        if (!drained()) {
+            log.warn("⚠️ 결과 아웃박스에 미전송 {}건이 남음 → 다음 기동 때 전송 ({})", pending.get(), dir);
+        } else {
+            log.info("📦 결과 아웃박스 종료: 미전송 없음");
+        }
+    }
+}
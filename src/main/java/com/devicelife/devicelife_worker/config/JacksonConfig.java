@@ -0,0 +1,70 @@
+package com.devicelife.devicelife_worker.config;
+
+import com.devicelife.devicelife_worker.dto.ApiResponse;
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.devicelife.devicelife_worker.dto.JobMessage;
+import com.devicelife.devicelife_worker.service.DeviceDtoDeserializer;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * 공용 ObjectMapper 설정 (스프링 부트가 만드는 하나를 리스너 / WebClient / 부하 테스트가 같이 씀)
+ * - DeviceDto는 스트리밍 디코더로 (specs를 Map으로 만들지 않음)
+ * - 기동 직후 실제 응답 모양으로 한 번씩 읽고 써서 (역)직렬화기 생성 비용을 첫 메시지 전에 치름
+ */
+@Slf4j
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module devicePayloadModule() {
+        SimpleModule module = new SimpleModule("device-payload");
+        module.addDeserializer(EvaluationPayload.DeviceDto.class, new DeviceDtoDeserializer());
+        return module;
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer workerObjectMapperCustomizer() {
+        return builder -> builder
+                .featuresToDisable(
+                        DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, // 백엔드가 필드를 추가해도 워커는 그대로
+                        DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, // 스펙 숫자는 double로 충분
+                        SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    }
+
+    @Bean
+    public SmartInitializingSingleton objectMapperWarmUp(ObjectMapper objectMapper) {
+        return () -> {
+            try {
+                EvaluationPayload payload = new SyntheticPayloadGenerator(0).next(12, 3);
+                byte[] one = objectMapper.writeValueAsBytes(new ApiResponse<>("OK", "warm-up", payload, true));
+                byte[] many = objectMapper.writeValueAsBytes(new ApiResponse<>("OK", "warm-up", List.of(payload), true));
+                byte[] specs = objectMapper.writeValueAsBytes(new ApiResponse<>("OK", "warm-up", payload.devices(), true));
+
+                // BackendClient가 쓰는 타입 그대로 (역직렬화기는 ObjectMapper 안에 캐시됨)
+                objectMapper.readValue(one, new TypeReference<ApiResponse<EvaluationPayload>>() {});
+                objectMapper.readValue(many, new TypeReference<ApiResponse<List<EvaluationPayload>>>() {});
+                objectMapper.readValue(specs, new TypeReference<ApiResponse<List<EvaluationPayload.DeviceDto>>>() {});
+                objectMapper.readValue("{\"evaluationId\":1,\"deviceId\":null,\"messageType\":\"WARM_UP\"}", JobMessage.class);
+                objectMapper.writeValueAsBytes(List.of(new EvaluationResult(1L, 1L, 0, 0, 0, 0, "", "", "")));
+                log.info("🔥 ObjectMapper 워밍업 완료");
+            } catch (Exception e) {
+                // 워밍업 실패는 첫 요청이 조금 느려질 뿐이라 기동은 계속
+                log.warn("⚠️ ObjectMapper 워밍업 실패: {}", e.getMessage());
+            }
+        };
+    }
+}
@@ -1,27 +1,84 @@
 package com.devicelife.devicelife_worker.config;
 
+import com.devicelife.devicelife_worker.consumer.AdaptiveConcurrencyLimiter;
+import com.devicelife.devicelife_worker.consumer.JobMessageConverter;
+import com.devicelife.devicelife_worker.consumer.JobMetrics;
+import com.devicelife.devicelife_worker.consumer.LaneMessageSource;
+import com.devicelife.devicelife_worker.consumer.ListenerWarmUp;
+import com.devicelife.devicelife_worker.dto.JobMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.awspring.cloud.autoconfigure.sqs.SqsProperties;
+import io.awspring.cloud.sqs.config.Endpoint;
 import io.awspring.cloud.sqs.config.SqsMessageListenerContainerFactory;
+import io.awspring.cloud.sqs.listener.SqsContainerOptions;
+import io.awspring.cloud.sqs.listener.SqsMessageListenerContainer;
+import io.awspring.cloud.sqs.listener.StandardSqsComponentFactory;
+import io.awspring.cloud.sqs.listener.source.MessageSource;
 import io.awspring.cloud.sqs.support.converter.SqsMessagingMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
+import java.util.List;
+
+// SQS 자동 구성과 같은 조건 (rescore 프로필처럼 SQS를 끄면 SqsAsyncClient / SqsProperties가 없으므로 같이 빠짐)
 @Configuration
+@ConditionalOnProperty(name = "spring.cloud.aws.sqs.enabled", havingValue = "true", matchIfMissing = true)
 public class SqsConfig {
 
     @Bean
-    public SqsMessageListenerContainerFactory<Object> defaultSqsListenerContainerFactory(SqsAsyncClient sqsAsyncClient) {
-        SqsMessageListenerContainerFactory<Object> factory = new SqsMessageListenerContainerFactory<>();
+    public SqsMessageListenerContainerFactory<Object> defaultSqsListenerContainerFactory(SqsAsyncClient sqsAsyncClient,
+                                                                                         SqsProperties sqsProperties,
+                                                                                         JobMetrics jobMetrics,
+                                                                                         AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                                                                         ListenerWarmUp listenerWarmUp,
+                                                                                         ObjectMapper objectMapper) {
+        SqsMessageListenerContainerFactory<Object> factory = new SqsMessageListenerContainerFactory<>() {
+            @Override
+            protected SqsMessageListenerContainer<Object> createContainerInstance(Endpoint endpoint, SqsContainerOptions options) {
+                SqsMessageListenerContainer<Object> container = super.createContainerInstance(endpoint, options);
+                // 🎚️ 고정 세마포어 대신 백엔드 상태를 보고 움직이는 상한으로 폴링을 조절 (서킷 OPEN이면 폴링 정지)
+                // 🛣️ 큐(레인)마다 폴러가 따로 돌고, 상한은 레인 weight대로 나눠 가짐 (표준 큐 전용, FIFO 큐는 지원 안 함)
+                container.setComponentFactories(List.of(new StandardSqsComponentFactory<>() {
+                    @Override
+                    public MessageSource<Object> createMessageSource(SqsContainerOptions containerOptions) {
+                        return new LaneMessageSource<>(concurrencyLimiter);
+                    }
+                }));
+                return container;
+            }
+        };
         factory.setSqsAsyncClient(sqsAsyncClient);
 
+        // 📊 수신 → ACK 시간, 큐 지연, 처리 중 개수, 실패/DLQ 지표
+        factory.addMessageInterceptor(jobMetrics);
+        factory.setAcknowledgementResultCallback(jobMetrics);
+
         // 📝 새로운 컨버터 설정
         SqsMessagingMessageConverter converter = new SqsMessagingMessageConverter();
 
-        // 🔥 [핵심] 어떤 JavaType 헤더가 오더라도 무시하고 String 클래스로 매핑하도록 강제 설정
-        // 이렇게 하면 'api.scheduler.JobMessage'가 적혀 있어도 무시하고 String으로 변환합니다.
-        converter.setPayloadTypeMapper(message -> String.class);
+        // 🔥 [핵심] 어떤 JavaType 헤더가 오더라도 무시하고 JobMessage로 매핑하도록 강제 설정
+        // 이렇게 하면 'api.scheduler.JobMessage'가 적혀 있어도 무시하고 본문을 바로 JobMessage로 읽습니다.
+        converter.setPayloadTypeMapper(message -> JobMessage.class);
+        converter.setPayloadMessageConverter(new JobMessageConverter(objectMapper));
+
+        // 팩토리를 직접 만들면 spring.cloud.aws.sqs.listener.* 값이 자동 적용되지 않으므로 여기서 직접 옮겨줌
+        SqsProperties.Listener listener = sqsProperties.getListener();
 
-        factory.configure(options -> options.messageConverter(converter));
+        factory.configure(options -> {
+            options.messageConverter(converter);
+            // 🔥 워밍업이 켜져 있으면 컨테이너는 ListenerWarmUp이 끝난 뒤에 시작
+            options.autoStartup(!listenerWarmUp.holdsListeners());
+            // 실제 상한은 limiter가 정하고(시작값 = max-concurrent-messages), 컨테이너 스레드 수는 최대치에 맞춰 둠
+            options.maxConcurrentMessages(concurrencyLimiter.capacity());
+            if (listener.getMaxMessagesPerPoll() != null) {
+                options.maxMessagesPerPoll(listener.getMaxMessagesPerPoll());
+            }
+            if (listener.getPollTimeout() != null) {
+                options.pollTimeout(listener.getPollTimeout());
+            }
+        });
         return factory;
     }
-}
\ No newline at end of file
+}
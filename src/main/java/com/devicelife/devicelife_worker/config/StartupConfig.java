@@ -0,0 +1,22 @@
+package com.devicelife.devicelife_worker.config;
+
+import com.devicelife.devicelife_worker.DevicelifeWorkerApplication;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 빠른 기동 모드의 지연 초기화 범위 (spring.main.lazy-initialization=true일 때만 의미 있음, Dockerfile fast-start 단계)
+ * - 워커 코드의 빈(리스너 → 백엔드 호출 → 평가 경로)은 기동할 때 만듦 → 첫 메시지가 빈 생성을 기다리지 않게
+ * - 나머지(actuator 엔드포인트, 안 쓰는 자동 구성 등)는 처음 쓸 때 만들어짐
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String WORKER_PACKAGE = DevicelifeWorkerApplication.class.getPackageName();
+
+    @Bean
+    static LazyInitializationExcludeFilter workerBeansEager() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && beanType.getPackageName().startsWith(WORKER_PACKAGE);
+    }
+}
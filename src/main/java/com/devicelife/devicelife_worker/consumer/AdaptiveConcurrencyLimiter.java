@@ -0,0 +1,401 @@
+package com.devicelife.devicelife_worker.consumer;
+
+import com.devicelife.devicelife_worker.client.BackendResilience;
+import io.awspring.cloud.sqs.listener.BatchAwareBackPressureHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SQS 리스너 동시 처리 수 자동 조절 (AIMD)
+ * - 백엔드 호출마다 응답 시간 / 실패 여부를 받아(backendFilter) window 단위로 판단
+ *   실패율이 error-threshold를 넘거나 평균 응답이 평소(최소 응답 시간) × latency-tolerance를 넘으면 limit × backoff-ratio,
+ *   아니고 처리 중 메시지가 limit의 절반 이상까지 찼었으면 limit + 1 (한가해서 안 찬 경우엔 올리지 않음)
+ * - 컨테이너의 back-pressure를 이 limit으로 대신함 → 처리 중 메시지가 limit만큼 차면 폴링 자체를 멈춤
+ * - limit은 min-limit ~ max-limit 사이, 시작은 max-concurrent-messages (adaptive=false면 시작값 고정)
+ * - 백엔드 서킷이 OPEN인 동안에는 빈 자리가 있어도 폴링하지 않음 (가시성 타임아웃만 태우지 않도록)
+ * - 리스너 컨테이너가 여러 개여도 limit은 워커 전체에 하나 (백엔드가 하나이므로)
+ * - 레인(큐)이 여러 개면 limit을 가중 공정 큐잉으로 나눔 (ListenerLanes의 weight 비율, 한가한 레인의 몫은 바쁜 레인이 씀)
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BASELINE_DRIFT = 1.01; // 평소 응답 시간 기준이 window마다 올라갈 수 있는 비율 (백엔드가 영구히 느려진 경우 적응)
+    private static final long PAUSE_RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(500); // 폴링 정지 중 서킷 상태 확인 주기
+
+    private final BackendResilience resilience;
+    private final ListenerLanes lanes;
+    private final MeterRegistry meterRegistry;
+    private final boolean adaptive;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final double latencyTolerance;
+    private final double errorThreshold;
+    private final double backoffRatio;
+
+    // limit / 처리 중 개수 (폴링 스레드가 여기서 기다림)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private volatile int limit;
+    private int inUse;
+    private int windowPeak;
+
+    // 레인별 몫 (queueName → Share, lock으로 보호)
+    private final Map<String, Share> shares = new LinkedHashMap<>();
+    private double virtualClock; // 마지막으로 자리를 내줄 때의 가상 시각 (새로 경쟁에 들어오는 레인의 출발점)
+
+    // 현재 window 집계 (sampleLock)
+    private final Object sampleLock = new Object();
+    private long windowStart = System.nanoTime();
+    private int samples;
+    private int errors;
+    private long rttSum;
+    private double baselineRtt;
+
+    private final Counter increases;
+    private final Counter decreases;
+    private final Counter pauses;
+    private volatile boolean paused;
+
+    public AdaptiveConcurrencyLimiter(BackendResilience resilience,
+                                      ListenerLanes lanes,
+                                      @Value("${custom.sqs.concurrency.adaptive:true}") boolean adaptive,
+                                      @Value("${custom.sqs.concurrency.initial-limit:${spring.cloud.aws.sqs.listener.max-concurrent-messages:10}}") int initialLimit,
+                                      @Value("${custom.sqs.concurrency.min-limit:2}") int minLimit,
+                                      @Value("${custom.sqs.concurrency.max-limit:40}") int maxLimit,
+                                      @Value("${custom.sqs.concurrency.window:1s}") Duration window,
+                                      @Value("${custom.sqs.concurrency.min-window-samples:10}") int minWindowSamples,
+                                      @Value("${custom.sqs.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+                                      @Value("${custom.sqs.concurrency.error-threshold:0.05}") double errorThreshold,
+                                      @Value("${custom.sqs.concurrency.backoff-ratio:0.8}") double backoffRatio,
+                                      MeterRegistry meterRegistry) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("동시 처리 상한 범위가 잘못됨: min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.resilience = resilience;
+        this.lanes = lanes;
+        this.meterRegistry = meterRegistry;
+        this.adaptive = adaptive;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = window.toNanos();
+        this.minWindowSamples = minWindowSamples;
+        this.latencyTolerance = latencyTolerance;
+        this.errorThreshold = errorThreshold;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("worker.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("지금 허용하는 동시 처리 메시지 수 (자동 조절)")
+                .register(meterRegistry);
+        Gauge.builder("worker.concurrency.in.use", this, AdaptiveConcurrencyLimiter::inUse)
+                .description("리스너가 받아서 처리 중인 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder("worker.listener.paused", this, limiter -> limiter.paused ? 1 : 0)
+                .description("백엔드 서킷 OPEN으로 SQS 폴링을 멈춘 상태면 1")
+                .register(meterRegistry);
+        this.increases = adjustments(meterRegistry, "up");
+        this.decreases = adjustments(meterRegistry, "down");
+        this.pauses = Counter.builder("worker.listener.pauses")
+                .description("백엔드 서킷 OPEN으로 SQS 폴링을 멈춘 횟수")
+                .register(meterRegistry);
+        lanes.lanes().forEach(lane -> share(lane.queueName()));
+    }
+
+    // 컨테이너가 동시에 들고 있을 수 있는 최대 메시지 수 (스레드 풀 크기)
+    public int capacity() {
+        return adaptive ? maxLimit : limit;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    private int inUse() {
+        lock.lock();
+        try {
+            return inUse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 백엔드 호출 응답 시간 / 실패 관측 (WebClient 필터)
+     * - 응답 헤더를 받을 때까지의 시간, 5xx / 429 / 타임아웃 등 예외는 실패
+     */
+    public ExchangeFilterFunction backendFilter() {
+        return (request, next) -> Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnSuccess(response -> record(System.nanoTime() - start, response != null
+                            && (response.statusCode().is5xxServerError() || response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value())))
+                    .doOnError(error -> record(System.nanoTime() - start, true));
+        });
+    }
+
+    void record(long rttNanos, boolean error) {
+        if (!adaptive) return;
+        synchronized (sampleLock) {
+            samples++;
+            if (error) errors++;
+            rttSum += rttNanos;
+
+            long now = System.nanoTime();
+            if (now - windowStart < windowNanos || samples < minWindowSamples) return;
+
+            adjust((double) rttSum / samples, (double) errors / samples);
+            windowStart = now;
+            samples = 0;
+            errors = 0;
+            rttSum = 0;
+        }
+    }
+
+    private void adjust(double averageRtt, double errorRate) {
+        baselineRtt = baselineRtt == 0 ? averageRtt : Math.min(averageRtt, baselineRtt * BASELINE_DRIFT);
+        boolean overloaded = errorRate > errorThreshold || averageRtt > baselineRtt * latencyTolerance;
+
+        lock.lock();
+        try {
+            int previous = limit;
+            if (overloaded) {
+                limit = Math.max(minLimit, (int) (previous * backoffRatio));
+            } else if (windowPeak * 2 >= previous) {
+                limit = Math.min(maxLimit, previous + 1);
+            }
+            windowPeak = inUse;
+
+            if (limit > previous) {
+                increases.increment();
+                changed.signalAll();
+            } else if (limit < previous) {
+                decreases.increment();
+                log.debug("📉 동시 처리 상한 {} → {} (평균 응답 {}ms, 기준 {}ms, 실패율 {})", previous, limit,
+                        TimeUnit.NANOSECONDS.toMillis((long) averageRtt), TimeUnit.NANOSECONDS.toMillis((long) baselineRtt), errorRate);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 레인(큐) 하나의 폴러용 back-pressure (SemaphoreBackPressureHandler 대신, LaneMessageSource가 끼움)
+     * - 빈 자리가 생길 때까지 폴링 스레드를 최대 acquireTimeout만큼 세워 두고, 빈 자리 수만큼만 받아 옴
+     * - 여러 레인이 같이 기다리면 가상 시각(가져간 메시지 수 / weight)이 가장 앞선 레인부터 줌
+     */
+    public BatchAwareBackPressureHandler backPressureHandler(String queueName, int batchSize, Duration acquireTimeout) {
+        Share share = share(queueName);
+        return new BatchAwareBackPressureHandler() {
+            @Override
+            public int requestBatch() throws InterruptedException {
+                return request(batchSize);
+            }
+
+            @Override
+            public int request(int amount) throws InterruptedException {
+                return acquire(share, amount, acquireTimeout);
+            }
+
+            @Override
+            public void releaseBatch() {
+                release(batchSize);
+            }
+
+            @Override
+            public void release(int amount) {
+                AdaptiveConcurrencyLimiter.this.release(share, amount);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            @Override
+            public boolean drain(Duration timeout) {
+                return AdaptiveConcurrencyLimiter.this.drain(share, timeout);
+            }
+        };
+    }
+
+    int acquire(Share share, int amount, Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            share.waiting++;
+            while (true) {
+                int granted = grant(share, amount);
+                if (granted > 0) return granted;
+                if (remaining <= 0) return 0;
+                // 정지 중에는 서킷이 풀렸는지 짧게 끊어서 다시 확인
+                long wait = paused ? Math.min(remaining, PAUSE_RECHECK_NANOS) : remaining;
+                remaining -= wait - changed.awaitNanos(wait);
+            }
+        } finally {
+            share.waiting--;
+            lock.unlock();
+        }
+    }
+
+    // 지금 이 레인에 줄 수 있는 자리 수 (0이면 계속 대기), lock 안에서만
+    private int grant(Share share, int amount) {
+        if (paused()) return 0;
+        int granted = Math.min(amount, Math.min(limit - inUse, share.room()));
+        if (granted <= 0) return 0;
+        for (Share other : shares.values()) {
+            // 같이 기다리는 레인 중 가상 시각이 더 앞선 레인이 있으면 그 레인 차례
+            if (other != share && other.waiting > 0 && other.room() > 0 && other.virtualTime < share.virtualTime) {
+                return 0;
+            }
+        }
+
+        virtualClock = Math.max(virtualClock, share.virtualTime);
+        share.virtualTime += (double) granted / share.lane.weight();
+        share.polling += granted;
+        share.inUse += granted;
+        inUse += granted;
+        windowPeak = Math.max(windowPeak, inUse);
+        changed.signalAll(); // 뒤에 기다리던 레인이 차례를 다시 확인
+        return granted;
+    }
+
+    private boolean paused() {
+        boolean open = resilience.isOpen();
+        if (open != paused) {
+            paused = open;
+            if (open) {
+                pauses.increment();
+                log.warn("⏸️ 백엔드 서킷 OPEN → SQS 폴링 정지 (처리 중 {}건은 계속)", inUse);
+            } else {
+                log.info("▶️ 백엔드 서킷 복구 → SQS 폴링 재개");
+            }
+        }
+        return open;
+    }
+
+    /**
+     * 폴링 한 번이 끝남 (LaneMessageSource): requested 자리를 받아 received건을 가져옴
+     * - 안 쓴 자리는 곧이어 release로 돌아옴, 가상 시각은 실제로 가져간 건수만큼만 남김
+     */
+    void polled(String queueName, int requested, int received) {
+        Share share = share(queueName);
+        lock.lock();
+        try {
+            share.polling = Math.max(0, share.polling - requested);
+            share.virtualTime -= (double) (requested - received) / share.lane.weight();
+            if (received > 0) {
+                if (share.lastReceived == 0) {
+                    // 쉬던 레인은 쉬는 동안의 몫을 몰아 받지 않고 지금 가상 시각부터 다시 경쟁
+                    share.virtualTime = Math.max(share.virtualTime, virtualClock);
+                }
+                share.received.increment(received);
+            }
+            share.lastRequested = requested;
+            share.lastReceived = received;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(Share share, int amount) {
+        lock.lock();
+        try {
+            int released = Math.min(amount, share.inUse);
+            share.inUse -= released;
+            inUse = Math.max(0, inUse - released);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean drain(Share share, Duration timeout) {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (share.inUse > 0) {
+                if (remaining <= 0) return false;
+                remaining = changed.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 레인 설정에 없는 큐(@SqsListener에 직접 적은 큐)는 weight 1짜리 레인으로 취급
+    private Share share(String queueName) {
+        lock.lock();
+        try {
+            return shares.computeIfAbsent(queueName, name -> {
+                ListenerLanes.Lane lane = lanes.lane(name);
+                return new Share(lane != null ? lane : new ListenerLanes.Lane(name, name, 1));
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 레인 하나의 몫 (lock으로 보호)
+     * - 롱 폴링 중인 자리는 큐가 비어 있으면 메시지 없이 오래 잡혀 있으므로, 직전 폴링이 덜 차서 왔으면 가져온 만큼(× 2)만 폴링에 내줌
+     *   → 빈 레인은 한 자리로 롱 폴링만 하고, 나머지 자리는 바쁜 레인이 씀 (메시지가 오면 1 → 2 → 4 …로 다시 늘어남)
+     */
+    final class Share {
+        private final ListenerLanes.Lane lane;
+        private final Counter received;
+        private volatile int inUse;   // 폴링 중 + 처리 중 자리
+        private int polling;          // 폴링 중(아직 메시지가 안 온) 자리
+        private int lastRequested = 1; // 직전 폴링에서 요청한 메시지 수
+        private int lastReceived;     // 직전 폴링에서 가져온 메시지 수
+        private int waiting;          // 자리를 기다리는 폴러 수
+        private double virtualTime;   // 가져간 메시지 수 / weight 누적 (작을수록 차례가 먼저)
+
+        private Share(ListenerLanes.Lane lane) {
+            this.lane = lane;
+            this.virtualTime = virtualClock;
+            Gauge.builder("worker.lane.in.use", this, share -> share.inUse)
+                    .description("레인이 들고 있는 자리 수 (폴링 중 + 처리 중)")
+                    .tag("lane", lane.name())
+                    .register(meterRegistry);
+            this.received = Counter.builder("worker.lane.received")
+                    .description("레인에서 받아 온 메시지 수 (레인 간 비율 = 실제 배분 비율)")
+                    .tag("lane", lane.name())
+                    .register(meterRegistry);
+        }
+
+        // 이 레인의 폴링에 더 내줄 수 있는 자리 수 (직전 폴링이 꽉 차서 왔으면 큐에 더 있다는 뜻 → 제한 없음)
+        private int room() {
+            if (lastReceived >= lastRequested) return Integer.MAX_VALUE;
+            return Math.max(1, lastReceived * 2) - polling;
+        }
+    }
+
+    private static Counter adjustments(MeterRegistry registry, String direction) {
+        return Counter.builder("worker.concurrency.adjustments")
+                .description("동시 처리 상한 조정 횟수")
+                .tag("direction", direction)
+                .register(registry);
+    }
+}
@@ -0,0 +1,187 @@
+package com.devicelife.devicelife_worker.consumer;
+
+import com.devicelife.devicelife_worker.client.PayloadLoader;
+import com.devicelife.devicelife_worker.client.ResultAggregator;
+import com.devicelife.devicelife_worker.client.ResultOutbox;
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.devicelife.devicelife_worker.dto.JobMessage;
+import com.devicelife.devicelife_worker.service.EvaluationService;
+import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 배치 모드 리스너 (custom.sqs.batch.enabled=true)
+ * - 한 번 폴링에 최대 max-messages-per-poll개를 받고, Payload는 한 번의 일괄 요청으로 가져옴
+ * - 메시지마다 따로 ACK → 하나가 실패해도 나머지는 정상 삭제되고, 실패한 것만 재시도/DLQ로 감
+ * - 같거나 더 새 버전이 이미 끝난 ID는 일괄 요청에서 빼고 바로 ACK (VersionWatermarks)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "custom.sqs.batch.enabled", havingValue = "true")
+public class BatchJobConsumer {
+
+    private final ResultAggregator resultAggregator;
+    private final ResultOutbox resultOutbox;
+    private final PayloadLoader payloadLoader;
+    private final EvaluationService evaluationService;
+    private final JobMetrics jobMetrics;
+    private final VersionWatermarks versionWatermarks;
+
+    @SqsListener(value = "#{@listenerLanes.queueNames()}", acknowledgementMode = "MANUAL")
+    public void listen(List<Message<JobMessage>> messages, BatchAcknowledgement<JobMessage> acknowledgement) {
+        log.info("🚀 SQS 배치 수신: {}건", messages.size());
+
+        // 1. ID별로 묶기 (변환기가 걸러낸 깨진 메시지는 ACK 하지 않음 → 재시도 후 DLQ)
+        Map<Long, List<Message<JobMessage>>> messagesById = new LinkedHashMap<>();
+        for (Message<JobMessage> message : messages) {
+            JobMessage job = message.getPayload();
+            if (job.isMalformed()) {
+                log.error("❌ JobMessage 변환 실패 (DLQ로 이동됨) messageId={}", message.getHeaders().getId());
+                jobMetrics.failed(message);
+                continue;
+            }
+            messagesById.computeIfAbsent(job.evaluationId(), id -> new ArrayList<>()).add(message);
+        }
+
+        // 2. 버전 워터마크 판정 (조회 전): 이미 끝난 버전은 바로 ACK, 같거나 더 새 버전이 처리 중이면 끝난 뒤 다시 판정
+        List<Message<JobMessage>> succeeded = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        Map<Long, VersionWatermarks.Lease> leases = new HashMap<>();
+        Iterator<Map.Entry<Long, List<Message<JobMessage>>>> iterator = messagesById.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, List<Message<JobMessage>>> entry = iterator.next();
+            Long evaluationId = entry.getKey();
+            List<Message<JobMessage>> group = entry.getValue();
+
+            VersionWatermarks.Admission admission = versionWatermarks.admit(evaluationId, version(group), false);
+            switch (admission.verdict()) {
+                case LEAD -> leases.put(evaluationId, admission.lease());
+                case DROP -> {
+                    succeeded.addAll(group);
+                    iterator.remove();
+                }
+                case WAIT -> {
+                    pending.add(admission.pending().thenRun(() -> afterWait(evaluationId, group, succeeded)));
+                    iterator.remove();
+                }
+            }
+        }
+
+        if (!messagesById.isEmpty()) {
+            process(messagesById, leases, succeeded, pending);
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+
+        if (!succeeded.isEmpty()) {
+            acknowledgement.acknowledge(succeeded);
+        }
+        log.info("✅ 배치 처리 완료: 성공 {}건 / 수신 {}건", succeeded.size(), messages.size());
+    }
+
+    private void process(Map<Long, List<Message<JobMessage>>> messagesById,
+                         Map<Long, VersionWatermarks.Lease> leases,
+                         List<Message<JobMessage>> succeeded,
+                         List<CompletableFuture<Void>> sends) {
+        // 3. Payload 일괄 요청 (실패하면 배치 전체를 ACK 하지 않고 다음 수신 때 재시도)
+        Map<Long, EvaluationPayload> payloads = new HashMap<>();
+        try {
+            List<Long> ids = new ArrayList<>(messagesById.keySet());
+            for (EvaluationPayload payload : jobMetrics.stage("fetch", () -> payloadLoader.loadAll(ids)).join()) {
+                payloads.put(payload.combinationId(), payload);
+            }
+        } catch (Exception e) {
+            log.error("❌ Payload 일괄 요청 실패 ({}건 재시도 대기)", messagesById.size(), e);
+            leases.values().forEach(VersionWatermarks.Lease::failed);
+            messagesById.values().forEach(group -> group.forEach(jobMetrics::failed));
+            return;
+        }
+
+        // 4. 건별 평가 → 결과 전송은 동시에 보내고, 성공한 메시지만 모아서 ACK
+        messagesById.forEach((evaluationId, group) -> {
+            VersionWatermarks.Lease lease = leases.get(evaluationId);
+            EvaluationPayload payload = payloads.get(evaluationId);
+            if (payload == null) {
+                log.error("❌ 일괄 응답에 Payload 없음 (DLQ로 이동됨) ID={}", evaluationId);
+                lease.failed();
+                group.forEach(jobMetrics::failed);
+                return;
+            }
+
+            // 버전 없이 온 메시지는 여기서 판정 (이미 끝난 버전이면 평가 / 전송 없이 ACK)
+            if (!lease.fetched(payload.evaluationVersion())) {
+                succeeded.addAll(group);
+                return;
+            }
+
+            try {
+                EvaluationResult result = jobMetrics.stage("evaluate",
+                        () -> CompletableFuture.completedFuture(evaluationService.evaluate(payload, job(group)))).join();
+                // 아웃박스가 켜져 있으면 디스크에 쓰일 때, 아니면 백엔드 전송이 끝날 때 ACK
+                sends.add(jobMetrics.stage("send", () -> resultOutbox.isEnabled()
+                                ? resultOutbox.append(result)
+                                : resultAggregator.submit(result))
+                        .handle((v, error) -> {
+                            if (error != null) {
+                                log.error("❌ 결과 전송 실패 (DLQ로 이동됨) ID={}", evaluationId, error);
+                                lease.failed();
+                                group.forEach(jobMetrics::failed);
+                            } else {
+                                lease.succeeded();
+                                succeeded.addAll(group);
+                            }
+                            return null;
+                        }));
+            } catch (Exception e) {
+                log.error("❌ 작업 처리 중 에러 발생 (DLQ로 이동됨) ID={}", evaluationId, e);
+                lease.failed();
+                group.forEach(jobMetrics::failed);
+            }
+        });
+    }
+
+    // 처리 중이던 작업이 끝난 뒤 다시 판정: 성공했으면 ACK, 아니면 ACK 하지 않고 재전달 때 직접 처리
+    private void afterWait(Long evaluationId, List<Message<JobMessage>> group, List<Message<JobMessage>> succeeded) {
+        VersionWatermarks.Admission admission = versionWatermarks.admit(evaluationId, version(group), true);
+        switch (admission.verdict()) {
+            case DROP -> succeeded.addAll(group);
+            case LEAD -> {
+                admission.lease().failed();
+                log.warn("⚠️ 먼저 처리하던 같은 조합 작업이 실패, 재전달 때 다시 처리 ID={}", evaluationId);
+                group.forEach(jobMetrics::failed);
+            }
+            case WAIT -> group.forEach(jobMetrics::failed);
+        }
+    }
+
+    // 묶음 안의 가장 높은 요청 버전 (하나라도 버전이 없으면 모름 → Payload를 받은 뒤 판정)
+    private static Long version(List<Message<JobMessage>> group) {
+        Long max = null;
+        for (Message<JobMessage> message : group) {
+            Long version = message.getPayload().evaluationVersion();
+            if (version == null) return null;
+            if (max == null || version > max) max = version;
+        }
+        return max;
+    }
+
+    // 같은 ID 메시지가 여러 건이면 델타를 순서대로 합칠 수 없으므로 전체 재계산
+    private static JobMessage job(List<Message<JobMessage>> group) {
+        return group.size() == 1 ? group.get(0).getPayload() : null;
+    }
+}
@@ -1,54 +1,45 @@
 package com.devicelife.devicelife_worker.consumer;
 
-import com.devicelife.devicelife_worker.client.BackendClient;
-import com.devicelife.devicelife_worker.dto.EvaluationPayload;
-import com.devicelife.devicelife_worker.dto.EvaluationResult;
 import com.devicelife.devicelife_worker.dto.JobMessage;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.awspring.cloud.sqs.annotation.SqsListener;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
-import com.devicelife.devicelife_worker.service.EvaluationService;
+
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "custom.sqs.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class JobConsumer {
 
-    private final BackendClient backendClient;
-    private final EvaluationService evaluationService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    @SqsListener("${custom.sqs.queue-name}")
-    public void listen(String messageBody) {
-        log.info("🚀 SQS raw 메시지 수신: {}", messageBody);
-
-        try {
-            JobMessage message = objectMapper.readValue(messageBody, JobMessage.class);
-            log.info("✅ JobMessage 변환 성공: {}", message);
-
-            // 1. Payload 요청
-            EvaluationPayload payload = backendClient.getPayload(message.evaluationId());
-            // 필드명을 evaluationId에서 combinationId로 변경
-            log.info("✅ Payload 획득 완료: ComboID={}, Version={}",
-                    payload.combinationId(), payload.evaluationVersion());
-
-            // 2. 평가 로직 실행
-            EvaluationResult result = evaluationService.evaluate(payload);
-
-            log.info("✅ 평가 완료: 연동성={} ({}), 편의성={} ({}), 라이프스타일={} ({})",
-                    result.compatibilityScore(), result.compatibilityGrade(),
-                    result.convenienceScore(), result.convenienceGrade(),
-                    result.lifestyleScore(), result.lifestyleGrade());
-
-            // 3. 결과 전송
-            backendClient.sendResult(result);
-            log.info("✅ 결과 전송 완료. 작업 끝!");
-
-        } catch (Exception e) {
-            log.error("❌ 작업 처리 중 에러 발생 (DLQ로 이동됨) raw={}", messageBody, e);
-            throw new RuntimeException(e);
+    private final JobPipeline jobPipeline;
+    // 본문은 컨테이너의 JobMessageConverter가 이미 JobMessage로 바꿔서 넘겨줌
+    // CompletableFuture를 반환하면 리스너 스레드는 바로 풀려나고,
+    // future가 정상 완료(= 결과 전송 완료)됐을 때만 메시지가 ACK(삭제)됨
+    @SqsListener("#{@listenerLanes.queueNames()}")
+    public CompletableFuture<Void> listen(JobMessage message) {
+        log.info("🚀 SQS 메시지 수신: {}", message);
+
+        if (message.isMalformed()) {
+            // 백엔드 호출 없이 바로 실패 → ACK 안 됨 → 재시도 후 DLQ (원문은 변환기에서 로그로 남김)
+            return CompletableFuture.failedFuture(new IllegalArgumentException("JobMessage 변환 실패 (DLQ로 이동됨)"));
         }
+
+        return jobPipeline.process(message)
+                .handle((result, error) -> {
+                    if (error != null) {
+                        log.error("❌ 작업 처리 중 에러 발생 (DLQ로 이동됨) message={}", message, error);
+                        throw new RuntimeException(error);
+                    }
+                    if (result == null) {
+                        log.info("⏭️ 같거나 더 새 버전이 이미 처리됨, 처리 없이 ACK");
+                    } else {
+                        log.info("✅ 결과 전송 완료. 작업 끝!");
+                    }
+                    return null;
+                });
     }
-}
\ No newline at end of file
+}
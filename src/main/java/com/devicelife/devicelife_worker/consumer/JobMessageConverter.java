@@ -0,0 +1,67 @@
+package com.devicelife.devicelife_worker.consumer;
+
+import com.devicelife.devicelife_worker.dto.JobMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * SQS 본문 → JobMessage 변환기 (리스너 컨테이너의 payload 변환기로 등록)
+ * - 백엔드가 붙여 보내는 JavaType 헤더(api.scheduler.JobMessage)는 보지 않고 항상 JobMessage로 읽음
+ * - 본문을 String으로 한 번 받고 리스너에서 다시 파싱하던 왕복 제거 (미리 만든 ObjectReader 재사용)
+ * - 깨진 메시지는 예외 대신 JobMessage.MALFORMED로 바꿔서 넘김
+ *   → 같은 폴링 묶음의 다른 메시지까지 변환 실패로 끌려가지 않고, 리스너가 백엔드 호출 전에 바로 거절
+ */
+@Slf4j
+public class JobMessageConverter implements MessageConverter {
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public JobMessageConverter(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(JobMessage.class);
+        this.writer = objectMapper.writerFor(JobMessage.class);
+    }
+
+    @Override
+    public Object fromMessage(Message<?> message, Class<?> targetClass) {
+        if (!(message.getPayload() instanceof String body)) {
+            return message.getPayload() instanceof JobMessage ? message.getPayload() : JobMessage.MALFORMED;
+        }
+
+        // JSON 객체가 아니면 파서까지 안 감
+        String trimmed = body.strip();
+        if (trimmed.isEmpty() || trimmed.charAt(0) != '{') {
+            log.error("❌ JobMessage 변환 실패 (JSON 객체 아님) raw={}", body);
+            return JobMessage.MALFORMED;
+        }
+
+        try {
+            JobMessage job = reader.readValue(trimmed);
+            if (job == null || job.evaluationId() == null) {
+                log.error("❌ JobMessage 변환 실패 (evaluationId 없음) raw={}", body);
+                return JobMessage.MALFORMED;
+            }
+            return job;
+        } catch (JsonProcessingException e) {
+            log.error("❌ JobMessage 변환 실패 raw={}: {}", body, e.getOriginalMessage());
+            return JobMessage.MALFORMED;
+        }
+    }
+
+    @Override
+    public Message<?> toMessage(Object payload, MessageHeaders headers) {
+        try {
+            return MessageBuilder.createMessage(writer.writeValueAsString(payload), headers);
+        } catch (JsonProcessingException e) {
+            throw new MessageConversionException("JobMessage 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.devicelife.devicelife_worker.consumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.acknowledgement.AcknowledgementResultCallback;
+import io.awspring.cloud.sqs.listener.interceptor.MessageInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 작업 단위 지표 (SQS 수신 ~ ACK)
+ * - 리스너 컨테이너에 인터셉터 + ACK 콜백으로 붙어서 수신 → ACK 시간, 큐 지연(SentTimestamp 기준), 처리 중 개수를 잼
+ * - fetch / evaluate / send 단계별 소요 시간은 파이프라인에서 stage()로 감싸서 기록
+ * - 실패가 max-receive-count번째 수신이면 DLQ로 넘어가는 것으로 보고 따로 셈
+ * - 수신 → ACK 시간과 큐 지연은 레인(ListenerLanes)별로 따로 기록 (lane 태그)
+ */
+@Slf4j
+@Component
+public class JobMetrics implements MessageInterceptor<Object>, AcknowledgementResultCallback<Object> {
+
+    private final MeterRegistry registry;
+    private final ListenerLanes lanes;
+    private final int maxReceiveCount;
+
+    private final Counter retried;
+    private final Counter deadLettered;
+
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> laneTimers = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastQueueLagMillis = new AtomicLong();
+
+    // messageId → 수신 시각(nanoTime), ACK 안 된 메시지는 가시성 타임아웃이 한참 지나면 버림
+    private final Cache<UUID, Long> receivedAt = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(30))
+            .build();
+
+    public JobMetrics(MeterRegistry registry,
+                      ListenerLanes lanes,
+                      @Value("${custom.sqs.max-receive-count:3}") int maxReceiveCount) {
+        this.registry = registry;
+        this.lanes = lanes;
+        this.maxReceiveCount = maxReceiveCount;
+
+        // 레인별 타이머는 처음부터 등록 (아직 메시지가 없는 레인도 대시보드에 보이도록)
+        for (ListenerLanes.Lane lane : lanes.lanes()) {
+            receiveToAck(lane.name());
+            queueLag(lane.name());
+        }
+        this.retried = failures(registry, "false");
+        this.deadLettered = failures(registry, "true");
+
+        Gauge.builder("worker.jobs.in.flight", inFlight, AtomicInteger::get)
+                .description("수신 후 아직 처리 중인 메시지 수")
+                .register(registry);
+        Gauge.builder("worker.queue.lag.last", lastQueueLagMillis, AtomicLong::get)
+                .description("가장 최근 수신한 메시지의 나이")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    /**
+     * 파이프라인 단계 소요 시간 기록 (worker.job.stage{stage, outcome})
+     * - supplier가 실행된 순간부터 future가 끝날 때까지 (동시 실행 상한 대기 시간은 제외)
+     */
+    public <T> CompletableFuture<T> stage(String stage, Supplier<CompletableFuture<T>> supplier) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = supplier.get();
+        } catch (RuntimeException e) {
+            stageTimer(stage, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> stageTimer(stage, error == null ? "success" : "error")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * 처리 실패 기록 (ACK 안 됨 → 재시도, 마지막 수신이었으면 DLQ)
+     */
+    public void failed(Message<?> message) {
+        int receiveCount = header(message, SqsHeaders.MessageSystemAttributes.SQS_APPROXIMATE_RECEIVE_COUNT, 0L).intValue();
+        if (receiveCount >= maxReceiveCount) {
+            deadLettered.increment();
+        } else {
+            retried.increment();
+        }
+    }
+
+    @Override
+    public Message<Object> intercept(Message<Object> message) {
+        received(message);
+        return message;
+    }
+
+    @Override
+    public Collection<Message<Object>> intercept(Collection<Message<Object>> messages) {
+        messages.forEach(this::received);
+        return messages;
+    }
+
+    @Override
+    public void afterProcessing(Message<Object> message, Throwable t) {
+        inFlight.decrementAndGet();
+        if (t != null) {
+            failed(message);
+        }
+    }
+
+    @Override
+    public void afterProcessing(Collection<Message<Object>> messages, Throwable t) {
+        // 배치 모드는 건별 성공/실패를 리스너가 직접 failed()로 알려줌
+        inFlight.addAndGet(-messages.size());
+    }
+
+    @Override
+    public void onSuccess(Collection<Message<Object>> messages) {
+        long now = System.nanoTime();
+        for (Message<Object> message : messages) {
+            UUID id = message.getHeaders().getId();
+            Long start = id != null ? receivedAt.asMap().remove(id) : null;
+            if (start != null) {
+                receiveToAck(lanes.name(message)).record(now - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void onFailure(Collection<Message<Object>> messages, Throwable t) {
+        log.warn("⚠️ SQS ACK 실패 {}건 (가시성 타임아웃 후 재전달됨): {}", messages.size(), t.getMessage());
+        messages.forEach(message -> {
+            UUID id = message.getHeaders().getId();
+            if (id != null) receivedAt.invalidate(id);
+        });
+    }
+
+    private void received(Message<?> message) {
+        inFlight.incrementAndGet();
+
+        UUID id = message.getHeaders().getId();
+        if (id != null) {
+            receivedAt.put(id, System.nanoTime());
+        }
+
+        long sentAt = header(message, SqsHeaders.MessageSystemAttributes.SQS_SENT_TIMESTAMP, 0L);
+        if (sentAt > 0) {
+            long lag = Math.max(0, System.currentTimeMillis() - sentAt);
+            queueLag(lanes.name(message)).record(lag, TimeUnit.MILLISECONDS);
+            lastQueueLagMillis.set(lag);
+        }
+    }
+
+    private Timer stageTimer(String stage, String outcome) {
+        return stageTimers.computeIfAbsent(stage + ":" + outcome, key -> Timer.builder("worker.job.stage")
+                .description("파이프라인 단계별 소요 시간 (fetch / evaluate / send)")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private Timer receiveToAck(String lane) {
+        return laneTimers.computeIfAbsent("receive.to.ack:" + lane, key -> Timer.builder("worker.job.receive.to.ack")
+                .description("SQS 수신부터 ACK(삭제) 완료까지")
+                .tag("lane", lane)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private Timer queueLag(String lane) {
+        return laneTimers.computeIfAbsent("queue.lag:" + lane, key -> Timer.builder("worker.queue.lag")
+                .description("수신 시점의 메시지 나이 (SentTimestamp 기준)")
+                .tag("lane", lane)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private static Long header(Message<?> message, String name, long defaultValue) {
+        Object value = message.getHeaders().get(name);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value.toString());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static Counter failures(MeterRegistry registry, String deadLettered) {
+        return Counter.builder("worker.job.failures")
+                .description("처리 실패 (dlq=true면 마지막 수신이라 DLQ로 이동)")
+                .tag("dlq", deadLettered)
+                .register(registry);
+    }
+}
@@ -0,0 +1,115 @@
+package com.devicelife.devicelife_worker.consumer;
+
+import com.devicelife.devicelife_worker.client.BackendClient;
+import com.devicelife.devicelife_worker.client.PayloadLoader;
+import com.devicelife.devicelife_worker.client.ResultAggregator;
+import com.devicelife.devicelife_worker.client.ResultOutbox;
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.devicelife.devicelife_worker.dto.JobMessage;
+import com.devicelife.devicelife_worker.service.EvaluationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * fetch → evaluate → send 3단계 파이프라인
+ * - 단계마다 동시 실행 상한을 따로 둬서, N+1번 조회 / N번 평가 / N-1번 전송이 겹쳐서 진행됨
+ * - fetch/send는 논블로킹 I/O라 스레드를 쓰지 않고, evaluate만 전용 CPU 스레드풀에서 실행
+ * - 반환 future는 결과 POST가 끝나야 완료됨 (그때 SQS ACK), 결과 아웃박스가 켜져 있으면 로컬 디스크에 쓰이면 완료
+ * - 같거나 더 새 버전이 이미 끝난 메시지는 VersionWatermarks가 걸러내고 null로 완료 (그대로 ACK)
+ */
+@Slf4j
+@Component
+public class JobPipeline {
+
+    private final PayloadLoader payloadLoader;
+    private final EvaluationService evaluationService;
+    private final BackendClient backendClient;
+    private final ResultAggregator resultAggregator;
+    private final ResultOutbox resultOutbox;
+    private final JobMetrics jobMetrics;
+    private final VersionWatermarks versionWatermarks;
+
+    private final StageLimiter fetchStage;
+    private final StageLimiter evaluateStage;
+    private final StageLimiter sendStage;
+    private final ExecutorService evaluateExecutor;
+
+    public JobPipeline(PayloadLoader payloadLoader,
+                       EvaluationService evaluationService,
+                       BackendClient backendClient,
+                       ResultAggregator resultAggregator,
+                       ResultOutbox resultOutbox,
+                       JobMetrics jobMetrics,
+                       VersionWatermarks versionWatermarks,
+                       @Value("${custom.pipeline.fetch-concurrency:16}") int fetchConcurrency,
+                       @Value("${custom.pipeline.evaluate-threads:0}") int evaluateThreads,
+                       @Value("${custom.pipeline.send-concurrency:16}") int sendConcurrency) {
+        this.payloadLoader = payloadLoader;
+        this.evaluationService = evaluationService;
+        this.backendClient = backendClient;
+        this.resultAggregator = resultAggregator;
+        this.resultOutbox = resultOutbox;
+        this.jobMetrics = jobMetrics;
+        this.versionWatermarks = versionWatermarks;
+
+        // 0이면 코어 수만큼 (평가는 순수 CPU 작업)
+        int threads = evaluateThreads > 0 ? evaluateThreads : Runtime.getRuntime().availableProcessors();
+
+        this.fetchStage = new StageLimiter("fetch", fetchConcurrency);
+        this.evaluateStage = new StageLimiter("evaluate", threads);
+        this.sendStage = new StageLimiter("send", sendConcurrency);
+        this.evaluateExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("evaluate-"));
+    }
+
+    public CompletableFuture<EvaluationResult> process(JobMessage message) {
+        // 0. 메시지에 버전이 있으면 조회 전에 중복 / 구버전 판정
+        return versionWatermarks.run(message.evaluationId(), message.evaluationVersion(), lease -> process(message, lease));
+    }
+
+    private CompletableFuture<EvaluationResult> process(JobMessage message, VersionWatermarks.Lease lease) {
+        // 1. Payload 요청
+        return fetchStage.submit(() -> jobMetrics.stage("fetch", () -> payloadLoader.load(message.evaluationId())))
+                .thenCompose(payload -> {
+                    log.info("✅ Payload 획득 완료: ComboID={}, Version={}",
+                            payload.combinationId(), payload.evaluationVersion());
+
+                    // 버전 없이 온 메시지는 여기서 판정 (이미 끝난 버전이면 평가 / 전송 생략)
+                    if (!lease.fetched(payload.evaluationVersion())) {
+                        return CompletableFuture.<EvaluationResult>completedFuture(null);
+                    }
+
+                    // 2. 평가 로직 실행
+                    return evaluateStage.submit(() -> jobMetrics.stage("evaluate", () -> CompletableFuture.supplyAsync(
+                            () -> evaluationService.evaluate(payload, message), evaluateExecutor)));
+                })
+                .thenCompose(result -> {
+                    if (result == null) {
+                        return CompletableFuture.<EvaluationResult>completedFuture(null);
+                    }
+                    log.info("✅ 평가 완료: 연동성={} ({}), 편의성={} ({}), 라이프스타일={} ({})",
+                            result.compatibilityScore(), result.compatibilityGrade(),
+                            result.convenienceScore(), result.convenienceGrade(),
+                            result.lifestyleScore(), result.lifestyleGrade());
+
+                    // 3. 결과 전송 (아웃박스가 켜져 있으면 디스크에 쓰일 때, 일괄 전송이 켜져 있으면 버퍼에 모았다가 flush될 때 완료)
+                    CompletableFuture<Void> sent = resultOutbox.isEnabled()
+                            ? jobMetrics.stage("send", () -> resultOutbox.append(result))
+                            : resultAggregator.isEnabled()
+                            ? jobMetrics.stage("send", () -> resultAggregator.submit(result))
+                            : sendStage.submit(() -> jobMetrics.stage("send", () -> backendClient.sendResult(result)));
+                    return sent.thenApply(v -> result);
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evaluateExecutor.shutdown();
+    }
+}
@@ -0,0 +1,44 @@
+package com.devicelife.devicelife_worker.consumer;
+
+import io.awspring.cloud.sqs.listener.BackPressureHandler;
+import io.awspring.cloud.sqs.listener.ContainerOptions;
+import io.awspring.cloud.sqs.listener.source.StandardSqsMessageSource;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 레인(큐) 하나를 폴링하는 메시지 소스 (StandardSqsMessageSource + 레인별 자리 배분)
+ * - 컨테이너 기본 back-pressure 핸들러는 어느 큐의 폴러인지 모르므로, 이 큐의 레인 핸들러로 바꿔 끼움
+ * - 폴링마다 받은 자리 수 / 가져온 메시지 수를 limiter에 알려줌 → 빈 큐의 롱 폴링이 자리를 잡고 있지 않게
+ */
+public class LaneMessageSource<T> extends StandardSqsMessageSource<T> {
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private int batchSize;
+    private Duration acquireTimeout;
+
+    public LaneMessageSource(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    protected void doConfigure(ContainerOptions<?, ?> options) {
+        super.doConfigure(options);
+        this.batchSize = options.getMaxMessagesPerPoll();
+        this.acquireTimeout = options.getMaxDelayBetweenPolls();
+    }
+
+    @Override
+    public void setBackPressureHandler(BackPressureHandler containerDefault) {
+        super.setBackPressureHandler(concurrencyLimiter.backPressureHandler(getPollingEndpointName(), batchSize, acquireTimeout));
+    }
+
+    @Override
+    protected CompletableFuture<Collection<Message>> doPollForMessages(int maxMessages) {
+        return super.doPollForMessages(maxMessages).whenComplete((messages, error) ->
+                concurrencyLimiter.polled(getPollingEndpointName(), maxMessages, messages != null ? messages.size() : 0));
+    }
+}
@@ -0,0 +1,84 @@
+package com.devicelife.devicelife_worker.consumer;
+
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQS 레인 설정 (custom.sqs.lanes, 큐 하나 = 레인 하나)
+ * - 사용자가 방금 저장한 조합(interactive)과 일괄 재채점(bulk)을 다른 큐로 받아서, 같은 처리 자리를 weight 비율로 나눠 씀
+ * - 자리 배분은 AdaptiveConcurrencyLimiter가 함 (가중 공정 큐잉, 한가한 레인의 몫은 바쁜 레인이 가져감)
+ * - 큐 이름이 빈 레인은 띄우지 않음, lanes가 아예 없으면 custom.sqs.queue-name 하나짜리 default 레인 (기존 동작)
+ */
+@Slf4j
+@Component
+public class ListenerLanes {
+
+    public static final String UNKNOWN = "unknown";
+
+    public record Lane(String name, String queueName, int weight) {}
+
+    private final List<Lane> lanes;
+    private final Map<String, Lane> lanesByQueue = new HashMap<>();
+
+    public ListenerLanes(Environment environment,
+                         @Value("${custom.sqs.queue-name:}") String defaultQueueName) {
+        List<Lane> configured = Binder.get(environment)
+                .bind("custom.sqs.lanes", Bindable.listOf(Lane.class))
+                .orElse(List.of());
+
+        List<Lane> lanes = new ArrayList<>();
+        for (Lane lane : configured) {
+            if (!StringUtils.hasText(lane.queueName())) continue;
+            if (!StringUtils.hasText(lane.name()) || lane.weight() < 1) {
+                throw new IllegalArgumentException("레인 설정이 잘못됨 (name 필수, weight 1 이상): " + lane);
+            }
+            if (lanesByQueue.putIfAbsent(lane.queueName(), lane) != null) {
+                throw new IllegalArgumentException("같은 큐를 두 레인이 받을 수 없음: " + lane.queueName());
+            }
+            lanes.add(lane);
+        }
+        if (lanes.isEmpty() && StringUtils.hasText(defaultQueueName)) {
+            Lane lane = new Lane("default", defaultQueueName, 1);
+            lanesByQueue.put(defaultQueueName, lane);
+            lanes.add(lane);
+        }
+        this.lanes = List.copyOf(lanes);
+        log.info("🛣️ SQS 레인: {}", this.lanes);
+    }
+
+    public List<Lane> lanes() {
+        return lanes;
+    }
+
+    // @SqsListener("#{@listenerLanes.queueNames()}")에서 참조 → 레인마다 폴러 하나, 처리 스레드 풀은 하나
+    public String[] queueNames() {
+        return lanes.stream().map(Lane::queueName).toArray(String[]::new);
+    }
+
+    public Lane lane(String queueName) {
+        return queueName == null ? null : lanesByQueue.get(queueName);
+    }
+
+    public Lane lane(Message<?> message) {
+        Object queueName = message.getHeaders().get(SqsHeaders.SQS_QUEUE_NAME_HEADER);
+        return queueName == null ? null : lanesByQueue.get(queueName.toString());
+    }
+
+    // 지표 태그용 레인 이름
+    public String name(Message<?> message) {
+        Lane lane = lane(message);
+        return lane != null ? lane.name() : UNKNOWN;
+    }
+}
@@ -0,0 +1,179 @@
+package com.devicelife.devicelife_worker.consumer;
+
+import com.devicelife.devicelife_worker.dto.ApiResponse;
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.devicelife.devicelife_worker.service.EvaluationService;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.awspring.cloud.sqs.listener.MessageListenerContainer;
+import io.awspring.cloud.sqs.listener.MessageListenerContainerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQS 리스너 시작 전 JIT 워밍업
+ * - 배포 직후 첫 수백 건이 인터프리터로 돌며 몇 배 느린 것을 막기 위해, 합성 Payload를 실제 경로(응답 디코딩 → 평가 → 결과 직렬화)로 payloads건 먼저 돌림
+ * - 리스너 컨테이너는 autoStartup=false로 만들어 두고(SqsConfig), 워밍업이 끝나면(또는 timeout) 여기서 시작
+ * - 끝날 때까지 health는 WARMING (readiness 그룹에 포함 → 503), 실패해도 첫 메시지가 조금 느려질 뿐이라 리스너는 시작
+ * - 합성 조합 / 기기 ID는 음수로 바꿔서 돌림 → 스펙 캐시 / 결과 캐시 / 증분 상태에 실제 ID와 겹치는 항목을 남기지 않음
+ * - 지표: worker.warmup.duration(전체 시간), worker.warmup.payload{phase=first|last}(처음 / 마지막 10%의 건당 시간 → 개선 폭)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.cloud.aws.sqs.enabled", havingValue = "true", matchIfMissing = true)
+public class ListenerWarmUp implements SmartLifecycle, HealthIndicator {
+
+    private static final Status WARMING = new Status("WARMING", "JIT 워밍업 중 (SQS 리스너 시작 전)");
+    private static final TypeReference<ApiResponse<EvaluationPayload>> PAYLOAD_RESPONSE = new TypeReference<>() {};
+    private static final int MAX_WINDOW = 1000; // first / last 지표에 넣을 최대 건수
+
+    private final EvaluationService evaluationService;
+    private final ObjectMapper objectMapper;
+    private final MessageListenerContainerRegistry containerRegistry;
+    private final int payloads;
+    private final Duration timeout;
+
+    private final Timer duration;
+    private final Timer firstPayloads;
+    private final Timer lastPayloads;
+
+    private volatile boolean running;
+    private volatile boolean done;
+    private volatile int completed;
+    private Thread worker;
+
+    public ListenerWarmUp(EvaluationService evaluationService,
+                          ObjectMapper objectMapper,
+                          MessageListenerContainerRegistry containerRegistry,
+                          @Value("${custom.warm-up.payloads:2000}") int payloads,
+                          @Value("${custom.warm-up.timeout:30s}") Duration timeout,
+                          MeterRegistry meterRegistry) {
+        this.evaluationService = evaluationService;
+        this.objectMapper = objectMapper;
+        this.containerRegistry = containerRegistry;
+        this.payloads = Math.max(0, payloads);
+        this.timeout = timeout;
+        this.done = this.payloads == 0;
+
+        this.duration = Timer.builder("worker.warmup.duration")
+                .description("기동 시 JIT 워밍업에 걸린 시간 (이 동안 SQS 리스너는 멈춰 있음)")
+                .register(meterRegistry);
+        this.firstPayloads = payloadTimer(meterRegistry, "first");
+        this.lastPayloads = payloadTimer(meterRegistry, "last");
+    }
+
+    // false면 리스너 컨테이너를 바로 시작 (워밍업 끔)
+    public boolean holdsListeners() {
+        return payloads > 0;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!holdsListeners()) return;
+
+        // 웹 서버 / health는 먼저 뜨도록 별도 스레드에서 (LoadTestRunner 같은 ApplicationRunner도 막지 않음)
+        worker = new Thread(() -> {
+            try {
+                warmUp();
+            } catch (Exception e) {
+                log.warn("⚠️ JIT 워밍업 실패, 리스너는 그대로 시작: {}", e.toString());
+            } finally {
+                done = true;
+                if (running) startListeners();
+            }
+        }, "jit-warm-up");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void warmUp() throws Exception {
+        log.info("🔥 JIT 워밍업 시작: 합성 Payload {}건 (최대 {}초), 끝나면 SQS 리스너 시작", payloads, timeout.toSeconds());
+        SyntheticPayloadGenerator generator = new SyntheticPayloadGenerator(0);
+        int window = Math.min(MAX_WINDOW, Math.max(1, payloads / 10));
+        long[] recent = new long[window]; // 마지막 window건의 시간 (링 버퍼)
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout.toNanos();
+        int count = 0;
+        while (count < payloads && running && System.nanoTime() < deadline) {
+            // 백엔드가 보내는 응답 본문 (이건 측정에서 뺌)
+            byte[] body = objectMapper.writeValueAsBytes(new ApiResponse<>("OK", "warm-up", isolated(generator.next()), true));
+
+            long start = System.nanoTime();
+            EvaluationPayload payload = objectMapper.readValue(body, PAYLOAD_RESPONSE).result();
+            EvaluationResult result = evaluationService.evaluate(payload);
+            objectMapper.writeValueAsBytes(List.of(result));
+            long took = System.nanoTime() - start;
+
+            if (count < window) firstPayloads.record(took, TimeUnit.NANOSECONDS);
+            recent[count % window] = took;
+            completed = ++count;
+        }
+        long total = System.nanoTime() - startedAt;
+        duration.record(total, TimeUnit.NANOSECONDS);
+
+        // 마지막 구간은 처음 구간과 겹치지 않는 만큼만
+        for (int i = Math.max(window, count - window); i < count; i++) {
+            lastPayloads.record(recent[i % window], TimeUnit.NANOSECONDS);
+        }
+        log.info("🔥 JIT 워밍업 완료: {}건, {}ms, 건당 처음 {}µs → 마지막 {}µs{}", count, TimeUnit.NANOSECONDS.toMillis(total),
+                (long) firstPayloads.mean(TimeUnit.MICROSECONDS), (long) lastPayloads.mean(TimeUnit.MICROSECONDS),
+                count < payloads ? " (시간 초과로 중단)" : "");
+    }
+
+    // 음수 ID로 바꾼 사본 (실제 조합 / 기기와 캐시 키가 겹치지 않게)
+    private static EvaluationPayload isolated(EvaluationPayload payload) {
+        List<EvaluationPayload.DeviceDto> devices = new ArrayList<>(payload.devices().size());
+        for (EvaluationPayload.DeviceDto dto : payload.devices()) {
+            devices.add(new EvaluationPayload.DeviceDto(-dto.deviceId(), dto.type(), dto.specVersion(), dto.specs()));
+        }
+        return new EvaluationPayload(-payload.combinationId(), payload.evaluationVersion(), payload.jobId(), devices, payload.lifestyles());
+    }
+
+    private void startListeners() {
+        for (MessageListenerContainer<?> container : containerRegistry.getListenerContainers()) {
+            if (!container.isRunning()) container.start();
+        }
+        log.info("▶️ SQS 리스너 시작 (워밍업 이후)");
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) worker.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = done ? Health.up() : Health.status(WARMING);
+        return builder.withDetail("completed", completed).withDetail("payloads", payloads).build();
+    }
+
+    private static Timer payloadTimer(MeterRegistry registry, String phase) {
+        return Timer.builder("worker.warmup.payload")
+                .description("워밍업 중 합성 Payload 한 건의 디코딩 → 평가 → 직렬화 시간 (first = 처음 10%, last = 마지막 10%, 각각 최대 1000건)")
+                .tag("phase", phase)
+                .register(registry);
+    }
+}
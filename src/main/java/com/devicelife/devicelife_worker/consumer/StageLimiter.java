@@ -0,0 +1,80 @@
+package com.devicelife.devicelife_worker.consumer;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 파이프라인 단계별 동시 실행 상한 (논블로킹)
+ * - 상한에 걸린 작업은 스레드를 막지 않고 대기열에 들어갔다가, 앞 작업이 끝나면 이어서 시작됨
+ * - 이어서 시작할 작업은 자리를 내준 스레드가 루프로 꺼내 실행 (바로 끝나는 작업이 이어져도 스택이 쌓이지 않음)
+ */
+class StageLimiter {
+
+    private final int limit;
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private final Queue<Runnable> ready = new ArrayDeque<>(); // 자리를 넘겨받아 시작만 기다리는 작업
+    private int inFlight;
+    private boolean draining;
+
+    StageLimiter(String name, int limit) {
+        if (limit < 1) throw new IllegalArgumentException(name + " 동시 실행 상한은 1 이상이어야 합니다: " + limit);
+        this.limit = limit;
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Runnable start = () -> {
+            CompletableFuture<T> running;
+            try {
+                running = task.get();
+            } catch (Throwable e) {
+                running = CompletableFuture.failedFuture(e);
+            }
+            running.whenComplete((value, error) -> {
+                release();
+                if (error != null) result.completeExceptionally(error);
+                else result.complete(value);
+            });
+        };
+
+        boolean startNow;
+        synchronized (this) {
+            startNow = inFlight < limit;
+            if (startNow) inFlight++;
+            else waiting.add(start);
+        }
+
+        if (startNow) start.run();
+        return result;
+    }
+
+    private void release() {
+        synchronized (this) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            // 자리를 그대로 넘겨받아 다음 작업 시작 (inFlight 유지)
+            ready.add(next);
+            // 이미 꺼내서 실행 중인 스레드가 있으면 그 루프가 이어서 실행 (작업 안에서 다시 release된 경우 포함)
+            if (draining) return;
+            draining = true;
+        }
+
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                next = ready.poll();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            next.run();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.devicelife.devicelife_worker.consumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 조합별 버전 워터마크 (at-least-once 중복 / 한꺼번에 쌓인 구버전 메시지 걸러내기)
+ * - 조합(evaluationId)마다 결과 전송까지 끝난 가장 높은 evaluationVersion을 기억 (개수 상한 + TTL)
+ * - 메시지에 evaluationVersion이 실려 있으면 Payload 조회 전에 판정
+ *   같거나 더 새 버전이 끝났으면 백엔드 호출 없이 바로 ACK,
+ *   같거나 더 새 버전이 처리 중이면 그 작업이 끝난 뒤 다시 판정 (성공했으면 ACK, 실패했으면 직접 처리)
+ * - 버전이 없는 메시지는 Payload를 받은 뒤 evaluationVersion으로 같은 판정 (조회는 하고 평가 / 전송만 아낌)
+ * - snapshot.path를 지정하면 끝난 버전을 주기적으로 + 종료 시 파일로 저장하고 기동 시 읽음 (재배포 직후 재전달도 거름)
+ * - 워커 한 대 안에서만 거르므로 여러 대 사이의 중복은 그대로 처리됨 (같은 버전 결과라 무해)
+ */
+@Slf4j
+@Component
+public class VersionWatermarks {
+
+    private static final long UNKNOWN = -1L;
+    private static final int SNAPSHOT_MAGIC = 0x44_4C_57_31; // "DLW1"
+
+    public enum Verdict {
+        LEAD,   // 직접 처리 (lease로 결과를 알려줘야 함)
+        DROP,   // 이미 끝난 버전 → 처리 없이 ACK
+        WAIT    // 같거나 더 새 버전이 처리 중 → pending이 끝난 뒤 다시 판정
+    }
+
+    public record Admission(Verdict verdict, Lease lease, CompletableFuture<Void> pending) {}
+
+    private final boolean enabled;
+    private final Cache<Long, Long> finished;               // combinationId → 전송까지 끝난 최고 버전
+    private final Map<Long, Lease> inFlight = new ConcurrentHashMap<>(); // combinationId → 가장 새 버전을 처리 중인 작업
+    private final Map<String, Counter> dropped = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    private final Path snapshotPath;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong changes = new AtomicLong();
+    private long savedChanges;
+
+    public VersionWatermarks(@Value("${custom.idempotency.enabled:true}") boolean enabled,
+                             @Value("${custom.idempotency.max-size:200000}") long maxSize,
+                             @Value("${custom.idempotency.ttl:24h}") Duration ttl,
+                             @Value("${custom.idempotency.snapshot.path:}") String snapshotPath,
+                             @Value("${custom.idempotency.snapshot.interval:30s}") Duration snapshotInterval,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.registry = meterRegistry;
+        this.finished = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run) // 메시지마다 쓰기가 일어나므로 정리 작업을 공용 풀로 넘기지 않음
+                .build();
+
+        Gauge.builder("worker.idempotency.watermarks", finished, Cache::estimatedSize)
+                .description("끝난 버전을 기억하고 있는 조합 수")
+                .register(meterRegistry);
+        Gauge.builder("worker.idempotency.in.flight", inFlight, Map::size)
+                .description("처리 중으로 등록된 조합 수")
+                .register(meterRegistry);
+
+        this.snapshotPath = enabled && !snapshotPath.isBlank() ? Path.of(snapshotPath) : null;
+        if (this.snapshotPath != null) {
+            load();
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("idempotency-snapshot-"));
+            long period = snapshotInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::saveIfChanged, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 메시지 하나를 판정해서 필요할 때만 work 실행
+     * - 건너뛴 메시지는 null로 완료 (그대로 ACK), work가 Payload를 받은 뒤 lease.fetched()가 false면 역시 null로 끝내면 됨
+     * - work의 future가 끝나면 성공 / 실패를 알아서 기록
+     */
+    public <T> CompletableFuture<T> run(Long combinationId, Long version, Function<Lease, CompletableFuture<T>> work) {
+        return run(combinationId, version, work, false);
+    }
+
+    private <T> CompletableFuture<T> run(Long combinationId, Long version, Function<Lease, CompletableFuture<T>> work, boolean waited) {
+        Admission admission = admit(combinationId, version, waited);
+        switch (admission.verdict()) {
+            case DROP:
+                return CompletableFuture.completedFuture(null);
+            case WAIT:
+                return admission.pending().thenCompose(v -> run(combinationId, version, work, true));
+            default:
+                break;
+        }
+
+        Lease lease = admission.lease();
+        CompletableFuture<T> future;
+        try {
+            future = work.apply(lease);
+        } catch (RuntimeException e) {
+            lease.failed();
+            throw e;
+        }
+        return future.whenComplete((result, error) -> {
+            if (error == null) lease.succeeded();
+            else lease.failed();
+        });
+    }
+
+    /**
+     * Payload 조회 전 판정 (배치 모드처럼 run()으로 감쌀 수 없는 곳에서 직접 사용)
+     * - LEAD면 반드시 lease의 succeeded() / failed() 중 하나를 불러야 함 (안 부르면 같은 조합 메시지가 계속 기다림)
+     * - waited: WAIT로 기다렸다가 다시 판정하는 경우 (건너뛴 사유 집계용)
+     */
+    public Admission admit(Long combinationId, Long version, boolean waited) {
+        if (!enabled || combinationId == null) {
+            return new Admission(Verdict.LEAD, new Lease(null, UNKNOWN), null);
+        }
+
+        long requested = version != null ? version : UNKNOWN;
+        Admission[] admission = new Admission[1];
+        inFlight.compute(combinationId, (id, current) -> {
+            if (requested != UNKNOWN) {
+                long done = finishedVersion(id);
+                if (done >= requested) {
+                    drop(id, requested, done, waited, false);
+                    admission[0] = new Admission(Verdict.DROP, null, null);
+                    return current;
+                }
+                if (current != null && current.version >= requested) {
+                    admission[0] = new Admission(Verdict.WAIT, null, current.done);
+                    return current;
+                }
+            }
+
+            Lease lease = new Lease(id, requested);
+            admission[0] = new Admission(Verdict.LEAD, lease, null);
+            // 버전을 모르는 작업은 Payload를 받은 뒤에 자리를 다툼
+            return current == null || requested > current.version ? lease : current;
+        });
+        return admission[0];
+    }
+
+    private long finishedVersion(Long combinationId) {
+        Long version = finished.getIfPresent(combinationId);
+        return version != null ? version : UNKNOWN;
+    }
+
+    private void drop(Long combinationId, long version, long done, boolean waited, boolean fetched) {
+        String reason = waited ? "in_flight" : done > version ? "stale" : "duplicate";
+        log.info("⏭️ 이미 처리된 버전이라 건너뜀: ComboID={}, Version={}, 처리 완료 버전={} ({})", combinationId, version, done, reason);
+        dropped.computeIfAbsent(reason + ":" + fetched, key -> Counter.builder("worker.job.dropped")
+                .description("같거나 더 새 버전이 이미 끝나서 건너뛴 작업 (fetched=false면 Payload 조회 전)")
+                .tag("reason", reason)
+                .tag("fetched", Boolean.toString(fetched))
+                .register(registry)).increment();
+    }
+
+    /**
+     * 선두로 뽑힌 작업 하나 (조합 + 처리 중인 버전)
+     */
+    public final class Lease {
+
+        private final Long combinationId;
+        private volatile long version;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(Long combinationId, long version) {
+            this.combinationId = combinationId;
+            this.version = version;
+        }
+
+        /**
+         * Payload를 받은 뒤 실제 버전으로 다시 판정
+         * - false면 같거나 더 새 버전이 이미 끝난 것 → 평가 / 전송 없이 끝내면 됨 (lease는 여기서 정리)
+         */
+        public boolean fetched(Long payloadVersion) {
+            if (combinationId == null || payloadVersion == null) return true;
+
+            boolean[] proceed = {true};
+            inFlight.compute(combinationId, (id, current) -> {
+                long done = finishedVersion(id);
+                if (done >= payloadVersion) {
+                    drop(id, payloadVersion, done, false, true);
+                    proceed[0] = false;
+                    return current == this ? null : current;
+                }
+                // 결과에 실리는 건 Payload 버전이므로 그 버전으로 처리 중 표시
+                version = payloadVersion;
+                return current == null || current == this || payloadVersion > current.version ? this : current;
+            });
+
+            if (!proceed[0]) release(false);
+            return proceed[0];
+        }
+
+        /** 결과 전송까지 끝남 → 버전을 워터마크로 올림 */
+        public void succeeded() {
+            release(true);
+        }
+
+        /** 실패 → 워터마크는 그대로 (기다리던 메시지는 다시 판정해서 직접 처리) */
+        public void failed() {
+            release(false);
+        }
+
+        private void release(boolean success) {
+            if (combinationId == null || !released.compareAndSet(false, true)) return;
+
+            if (success && version != UNKNOWN) {
+                finished.asMap().merge(combinationId, version, Math::max);
+                changes.incrementAndGet();
+            }
+            inFlight.remove(combinationId, this);
+            done.complete(null);
+        }
+    }
+
+    /* ===================== 스냅샷 ===================== */
+
+    // 형식: magic, 개수, (combinationId, version) 반복 — 임시 파일에 쓰고 이름을 바꿔서 교체
+    synchronized void save() throws IOException {
+        long changed = changes.get();
+        Map<Long, Long> entries = Map.copyOf(finished.asMap());
+
+        Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(entries.size());
+            for (Map.Entry<Long, Long> entry : entries.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        }
+        Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        savedChanges = changed;
+    }
+
+    private void saveIfChanged() {
+        if (changes.get() == savedChanges) return;
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ 버전 워터마크 스냅샷 저장 실패 (다음 주기에 재시도): {}", e.toString());
+        }
+    }
+
+    // 읽다가 깨진 파일이면 읽은 데까지만 쓰고 기동은 계속 (워터마크는 최적화일 뿐이라 없어도 결과는 같음)
+    private void load() {
+        if (!Files.exists(snapshotPath)) return;
+
+        int loaded = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("스냅샷 형식 아님");
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                finished.asMap().merge(in.readLong(), in.readLong(), Math::max);
+                loaded++;
+            }
+            log.info("💾 버전 워터마크 스냅샷 로드: {}건 ({})", loaded, snapshotPath);
+        } catch (IOException e) {
+            log.warn("⚠️ 버전 워터마크 스냅샷을 읽지 못함, {}건만 사용: {} ({})", loaded, snapshotPath, e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) return;
+        scheduler.shutdownNow();
+        saveIfChanged();
+    }
+}
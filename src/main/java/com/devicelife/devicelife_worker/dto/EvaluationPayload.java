@@ -1,7 +1,5 @@
 package com.devicelife.devicelife_worker.dto;
 
-import java.util.Map;
-
 import java.util.List;
 import java.util.Map;
 
@@ -15,7 +13,9 @@ public record EvaluationPayload(
     public record DeviceDto(
             Long deviceId,
             String type,         // Enum 대신 일단 String으로 받으면 편함
-            Map<String, Object> specs
+            Long specVersion,    // 스펙 버전 (워커 캐시 무효화 기준, 구버전 백엔드는 null)
+            Map<String, Object> specs // 워커 캐시에 같은 버전이 있으면 백엔드가 생략(null) 가능
+                                      // (응답 디코딩 시 평가용 키는 바로 DeviceSpec으로 풀리고, 여기엔 모르는 키만 남음)
     ) {}
 }
 
@@ -1,7 +1,24 @@
 package com.devicelife.devicelife_worker.dto;
+
+import java.util.List;
+
 public record JobMessage(
         Long evaluationId, // 평가 ID
         Long deviceId,     // 어떤 기기인지
-        String messageType // (선택) CREATE, UPDATE 등
-) {}
+        String messageType, // (선택) CREATE, UPDATE 등
+        Long evaluationVersion,      // (선택) 이 메시지가 요청하는 평가 버전 (있으면 Payload 조회 전에 중복/구버전을 거름)
+        List<Long> addedDeviceIds,   // (선택) 델타 메시지: 직전 평가 이후 조합에 추가된 기기
+        List<Long> removedDeviceIds  // (선택) 델타 메시지: 직전 평가 이후 조합에서 빠진 기기
+) {
+    // SQS 본문을 JobMessage로 못 읽은 경우 (변환기가 넣어 줌, 리스너는 백엔드 호출 없이 바로 실패 처리)
+    public static final JobMessage MALFORMED = new JobMessage(null, null, "MALFORMED", null, null, null);
+
+    public boolean isMalformed() {
+        return this == MALFORMED;
+    }
 
+    // 추가/삭제 목록이 하나라도 있으면 델타 (워커가 직전 중간 상태에서 바뀐 부분만 다시 계산)
+    public boolean isDelta() {
+        return addedDeviceIds != null || removedDeviceIds != null;
+    }
+}
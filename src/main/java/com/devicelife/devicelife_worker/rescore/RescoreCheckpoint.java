@@ -0,0 +1,64 @@
+package com.devicelife.devicelife_worker.rescore;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * 재채점 진행 위치 (입력 몇 줄까지 결과 파일 몇 바이트로 써졌는지)
+ * - 결과 파일을 디스크에 내린(force) 뒤에만 기록 → 재시작하면 결과 파일을 outputBytes로 자르고 lines 다음 줄부터 이어서
+ * - 임시 파일에 쓰고 이름을 바꿔서 교체하므로 쓰다가 죽어도 이전 체크포인트가 남음
+ */
+record RescoreCheckpoint(String input, long inputSize, long lines, long outputBytes) {
+
+    static RescoreCheckpoint start(Path input, long inputSize) {
+        return new RescoreCheckpoint(input.toAbsolutePath().toString(), inputSize, 0, 0);
+    }
+
+    // 파일이 없으면 null
+    static RescoreCheckpoint read(Path file) throws IOException {
+        if (!Files.exists(file)) return null;
+
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        try {
+            return new RescoreCheckpoint(
+                    props.getProperty("input"),
+                    Long.parseLong(props.getProperty("inputSize")),
+                    Long.parseLong(props.getProperty("lines")),
+                    Long.parseLong(props.getProperty("outputBytes")));
+        } catch (RuntimeException e) {
+            throw new IOException("체크포인트 파일 형식 오류: " + file, e);
+        }
+    }
+
+    // 같은 입력 파일(경로 + 크기)에서 만든 체크포인트인지
+    boolean matches(Path input, long inputSize) {
+        return input.toAbsolutePath().toString().equals(this.input) && inputSize == this.inputSize;
+    }
+
+    RescoreCheckpoint advance(long lines, long outputBytes) {
+        return new RescoreCheckpoint(input, inputSize, lines, outputBytes);
+    }
+
+    void write(Path file) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("input", input);
+        props.setProperty("inputSize", Long.toString(inputSize));
+        props.setProperty("lines", Long.toString(lines));
+        props.setProperty("outputBytes", Long.toString(outputBytes));
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            props.store(writer, "devicelife rescore checkpoint");
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
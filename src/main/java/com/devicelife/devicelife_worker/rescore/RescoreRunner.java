@@ -0,0 +1,393 @@
+package com.devicelife.devicelife_worker.rescore;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.devicelife.devicelife_worker.service.DeviceSpecCache;
+import com.devicelife.devicelife_worker.service.EvaluationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 오프라인 일괄 재채점 (rescore 프로필, SQS 리스너 / 백엔드 호출 없음)
+ * - 입력 JSONL(.gz면 gzip)의 한 줄 = EvaluationPayload 하나, 결과는 같은 순서의 EvaluationResult JSONL
+ * - 읽기 스레드 1개가 chunk-size줄씩 묶어 평가 풀(코어 수)에 넘기고, 이 스레드가 제출 순서대로 받아서 씀
+ *   대기 중인 청크는 max-in-flight개까지만 → 입력이 아무리 커도 메모리는 (max-in-flight + 1) × chunk-size줄 분량
+ * - 결과 파일을 디스크에 내린 뒤 체크포인트(입력 줄 수 + 결과 바이트 수) 기록, resume이면 거기서부터 이어서
+ * - 파싱/평가에 실패한 줄은 건너뛰고 줄 번호와 함께 로그 (결과 파일에는 없음)
+ * - 덤프는 모든 기기의 specs를 싣고 있어야 함: specs 없는 기기는 캐시 상태에 따라 결과가 달라지므로
+ *   잘못된 줄로 세지 않고 실행을 중단 (체크포인트는 직전 청크까지, 덤프를 고친 뒤 이어서 가능)
+ */
+@Slf4j
+@Component
+@Profile("rescore")
+@RequiredArgsConstructor
+public class RescoreRunner implements ApplicationRunner {
+
+    private static final int MAX_LOGGED_ERRORS = 20;
+
+    private final EvaluationService evaluationService;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${custom.rescore.input:}")
+    private String input;
+
+    @Value("${custom.rescore.output:}")
+    private String output;
+
+    @Value("${custom.rescore.checkpoint:}")
+    private String checkpointFile; // 비우면 <output>.checkpoint
+
+    @Value("${custom.rescore.resume:true}")
+    private boolean resume;
+
+    @Value("${custom.rescore.threads:0}")
+    private int threads; // 0 = CPU 코어 수
+
+    @Value("${custom.rescore.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${custom.rescore.max-in-flight:0}")
+    private int maxInFlight; // 0 = threads × 2
+
+    @Value("${custom.rescore.evaluation-version:}")
+    private Long evaluationVersion; // 지정하면 모든 payload의 evaluationVersion을 덮어씀
+
+    @Value("${custom.rescore.progress-interval:5s}")
+    private Duration progressInterval;
+
+    @Value("${custom.rescore.checkpoint-interval:10s}")
+    private Duration checkpointInterval;
+
+    @Value("${custom.rescore.exit-on-finish:true}")
+    private boolean exitOnFinish;
+
+    private ObjectReader payloadReader;
+    private ObjectWriter resultWriter;
+    private boolean gzipOutput;
+
+    // 입력 lines줄을 평가한 결과 (output은 바로 이어 붙일 수 있는 바이트, gzip이면 청크마다 gzip 멤버 하나)
+    private record Chunk(long lines, byte[] output, int scored, List<String> errors) {}
+
+    private static final Chunk END = new Chunk(0, new byte[0], 0, List.of());
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean completed;
+        try {
+            completed = rescore();
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ [Rescore] 실패: {}", e.getMessage(), e);
+            completed = false;
+        }
+
+        if (exitOnFinish) {
+            boolean success = completed;
+            System.exit(SpringApplication.exit(context, () -> success ? 0 : 1));
+        }
+    }
+
+    private boolean rescore() throws IOException {
+        if (input.isBlank() || output.isBlank()) {
+            log.error("❌ [Rescore] custom.rescore.input / custom.rescore.output을 지정해야 합니다");
+            return false;
+        }
+        Path in = Path.of(input);
+        Path out = Path.of(output);
+        Path checkpointPath = checkpointFile.isBlank() ? Path.of(output + ".checkpoint") : Path.of(checkpointFile);
+        if (!Files.isRegularFile(in)) {
+            log.error("❌ [Rescore] 입력 파일이 없습니다: {}", in);
+            return false;
+        }
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int window = maxInFlight > 0 ? maxInFlight : poolSize * 2;
+        payloadReader = objectMapper.readerFor(EvaluationPayload.class); // DeviceDto 디코더는 줄에 실린 specs를 항상 디코딩
+        resultWriter = objectMapper.writerFor(EvaluationResult.class);
+        gzipOutput = output.endsWith(".gz");
+
+        // 1. 시작 위치 (체크포인트가 있으면 결과 파일을 거기까지 자르고 이어서)
+        long inputSize = Files.size(in);
+        RescoreCheckpoint checkpoint = RescoreCheckpoint.start(in, inputSize);
+        RescoreCheckpoint saved = resume ? RescoreCheckpoint.read(checkpointPath) : null;
+        if (saved != null) {
+            if (!saved.matches(in, inputSize)) {
+                log.error("❌ [Rescore] 체크포인트가 다른 입력({})에서 만들어졌습니다: {} (처음부터 하려면 --custom.rescore.resume=false)",
+                        saved.input(), checkpointPath);
+                return false;
+            }
+            if (!Files.exists(out) || Files.size(out) < saved.outputBytes()) {
+                log.error("❌ [Rescore] 결과 파일이 체크포인트({}바이트)보다 짧습니다: {}", saved.outputBytes(), out);
+                return false;
+            }
+            checkpoint = saved;
+            log.info("↩️ [Rescore] 체크포인트에서 이어서: 입력 {}줄 완료, 결과 {}바이트", checkpoint.lines(), checkpoint.outputBytes());
+        }
+
+        log.info("🚀 [Rescore] 시작: {} → {} (평가 스레드 {}, 청크 {}줄 × 최대 {}개)", in, out, poolSize, chunkSize, window);
+
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("rescore-"));
+        BlockingQueue<Future<Chunk>> inFlight = new ArrayBlockingQueue<>(window);
+        AtomicLong inputRead = new AtomicLong();
+        long resumedFrom = checkpoint.lines();
+
+        Thread reader = new Thread(() -> read(in, resumedFrom, inputRead, pool, inFlight), "rescore-reader");
+        reader.setDaemon(true);
+
+        long startedAt = System.nanoTime();
+        Progress progress = new Progress(resumedFrom);
+
+        try (FileChannel channel = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(checkpoint.outputBytes());
+            channel.position(checkpoint.outputBytes());
+            reader.start();
+
+            long nextReport = startedAt + progressInterval.toNanos();
+            long nextCheckpoint = startedAt + checkpointInterval.toNanos();
+
+            // 2. 제출 순서대로 받아서 결과 파일에 이어 쓰기
+            while (true) {
+                Chunk chunk;
+                try {
+                    chunk = inFlight.take().get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    log.error("❌ [Rescore] 중단: {}", cause.getMessage(), cause);
+                    checkpoint = save(channel, checkpoint.advance(progress.lines, channel.position()), checkpointPath);
+                    summarize(startedAt, progress, inputRead.get(), out, channel.position(), false);
+                    return false;
+                }
+                if (chunk == END) break;
+
+                ByteBuffer buffer = ByteBuffer.wrap(chunk.output());
+                while (buffer.hasRemaining()) channel.write(buffer);
+                progress.add(chunk);
+
+                long now = System.nanoTime();
+                if (now >= nextCheckpoint) {
+                    checkpoint = save(channel, checkpoint.advance(progress.lines, channel.position()), checkpointPath);
+                    nextCheckpoint = now + checkpointInterval.toNanos();
+                }
+                if (now >= nextReport) {
+                    report(startedAt, progress, inputRead.get(), inputSize);
+                    nextReport = now + progressInterval.toNanos();
+                }
+            }
+
+            save(channel, checkpoint.advance(progress.lines, channel.position()), checkpointPath);
+            summarize(startedAt, progress, inputRead.get(), out, channel.position(), true);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            reader.interrupt();
+            pool.shutdownNow();
+        }
+    }
+
+    /* ===================== 읽기 ===================== */
+
+    private void read(Path in, long skip, AtomicLong inputRead, ExecutorService pool, BlockingQueue<Future<Chunk>> inFlight) {
+        try (BufferedReader reader = open(in, inputRead)) {
+            long lineNo = 0;
+            while (lineNo < skip && reader.readLine() != null) lineNo++;
+            if (lineNo < skip) {
+                throw new IOException("입력이 체크포인트(" + skip + "줄)보다 짧습니다");
+            }
+
+            List<String> lines = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    submit(lineNo + 1, lines, pool, inFlight);
+                    lineNo += lines.size();
+                    lines = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!lines.isEmpty()) submit(lineNo + 1, lines, pool, inFlight);
+            inFlight.put(CompletableFuture.completedFuture(END));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            try {
+                inFlight.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // 꽉 차 있으면 쓰기 쪽이 하나 가져갈 때까지 대기 (메모리 상한)
+    private void submit(long firstLine, List<String> lines, ExecutorService pool,
+                        BlockingQueue<Future<Chunk>> inFlight) throws InterruptedException {
+        inFlight.put(pool.submit(() -> score(firstLine, lines)));
+    }
+
+    private static BufferedReader open(Path in, AtomicLong inputRead) throws IOException {
+        InputStream stream = new CountingInputStream(Files.newInputStream(in), inputRead);
+        if (in.getFileName().toString().endsWith(".gz")) {
+            stream = new GZIPInputStream(stream, 1 << 16);
+        }
+        return new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    /* ===================== 평가 (풀 스레드) ===================== */
+
+    private Chunk score(long firstLine, List<String> lines) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(lines.size() * 256);
+        int scored = 0;
+        List<String> errors = new ArrayList<>(0);
+
+        try (OutputStream out = gzipOutput ? new GZIPOutputStream(buffer, 1 << 16) : buffer) {
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (line.isBlank()) continue;
+                try {
+                    EvaluationPayload payload = payloadReader.readValue(line);
+                    out.write(resultWriter.writeValueAsBytes(evaluationService.evaluate(versioned(payload))));
+                    out.write('\n');
+                    scored++;
+                } catch (DeviceSpecCache.MissingSpecException e) {
+                    throw new IllegalStateException((firstLine + i) + "번째 줄: 덤프에 specs가 없는 기기가 있습니다 ("
+                            + e.getMessage() + ")", e);
+                } catch (Exception e) {
+                    errors.add((firstLine + i) + "번째 줄: " + e.getClass().getSimpleName() + " " + firstLine(e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Chunk(lines.size(), buffer.toByteArray(), scored, errors);
+    }
+
+    private EvaluationPayload versioned(EvaluationPayload payload) {
+        if (evaluationVersion == null) return payload;
+        return new EvaluationPayload(payload.combinationId(), evaluationVersion, payload.jobId(),
+                payload.devices(), payload.lifestyles());
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) return "";
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    /* ===================== 체크포인트 / 리포트 ===================== */
+
+    private static RescoreCheckpoint save(FileChannel channel, RescoreCheckpoint checkpoint, Path path) throws IOException {
+        channel.force(false); // 결과가 디스크에 있어야 체크포인트가 의미 있음
+        checkpoint.write(path);
+        return checkpoint;
+    }
+
+    // 쓰기 스레드에서만 갱신
+    private static final class Progress {
+        final long resumedFrom;
+        long lines;
+        long scored;
+        long errors;
+
+        Progress(long resumedFrom) {
+            this.resumedFrom = resumedFrom;
+            this.lines = resumedFrom;
+        }
+
+        void add(Chunk chunk) {
+            lines += chunk.lines();
+            scored += chunk.scored();
+            for (String error : chunk.errors()) {
+                if (++errors <= MAX_LOGGED_ERRORS) {
+                    log.warn("⚠️ [Rescore] 건너뜀 {}", error);
+                    if (errors == MAX_LOGGED_ERRORS) log.warn("⚠️ [Rescore] 이후 오류는 개수만 집계합니다");
+                }
+            }
+        }
+    }
+
+    private void report(long startedAt, Progress progress, long inputRead, long inputSize) {
+        double elapsed = (System.nanoTime() - startedAt) / 1e9;
+        log.info("⏱️ [Rescore] {}s: {}줄 ({}줄/s), 오류 {}건, 입력 {}%",
+                String.format("%.0f", elapsed), String.format("%,d", progress.lines),
+                String.format("%,.0f", (progress.lines - progress.resumedFrom) / elapsed), progress.errors,
+                String.format("%.1f", inputSize == 0 ? 100.0 : inputRead * 100.0 / inputSize));
+    }
+
+    private void summarize(long startedAt, Progress progress, long inputRead, Path out, long outputBytes, boolean completed) {
+        double elapsed = (System.nanoTime() - startedAt) / 1e9;
+        long processed = progress.lines - progress.resumedFrom;
+
+        log.info("📊 [Rescore] {}: 입력 {}줄까지{}, 이번 실행 {}줄 → 결과 {}건, 오류 {}건",
+                completed ? "완료" : "⚠️ 중단", String.format("%,d", progress.lines),
+                progress.resumedFrom > 0 ? " (" + String.format("%,d", progress.resumedFrom) + "줄 다음부터 이어서)" : "",
+                String.format("%,d", processed), String.format("%,d", progress.scored), progress.errors);
+        log.info("📊 [Rescore] {}s, 처리량 {}줄/s, 입력 {} MB/s → {} ({} MB)",
+                String.format("%.2f", elapsed), String.format("%,.0f", processed / elapsed),
+                String.format("%.1f", inputRead / 1e6 / elapsed), out, String.format("%.1f", outputBytes / 1e6));
+    }
+
+    // 압축된 입력 기준 진행률용 (읽은 바이트 수)
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count.incrementAndGet();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count.addAndGet(n);
+            return n;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.devicelife.devicelife_worker.service;
 
-import com.devicelife.devicelife_worker.dto.EvaluationPayload;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * 연동성 평가 (기기 간 연결 그래프)
+ * - 간선 규칙 표(RULES): 주변기기 타입 → 연결 대상 타입들 + 연결 품질 함수
+ * - 대상 기기는 OS별로 묶어 두고 주변기기마다 자기 목록만 조회 → 주변기기 × 호스트 이중 루프 없음
+ * - 대상/연결 여부는 기기 ID를 0..n-1 번호로 바꿔 BitSet으로 관리 (같은 ID는 같은 번호)
+ * - 품질 합산 순서는 규칙 표 순서 → 타입 내 payload 순서라 예전 구현과 점수가 비트 단위로 같음
+ */
 @Component
 public class CompatibilityEvaluator {
 
@@ -14,189 +19,280 @@ public class CompatibilityEvaluator {
     private static final double WEIGHT_QUALITY = 0.45;
     private static final double WEIGHT_ISOLATED = 0.1;
 
-    public int calculate(EvaluationPayload payload) {
-        // 1. 기기 리스트 추출 및 방어 로직
-        if (payload.devices() == null || payload.devices().isEmpty()) {
-            return 0;
-        }
+    private static final List<DeviceType> HOSTS = List.of(DeviceType.LAPTOP, DeviceType.TABLET);
+    private static final List<DeviceType> AUDIO_SOURCES = List.of(DeviceType.SMARTPHONE, DeviceType.LAPTOP, DeviceType.TABLET);
+
+    /**
+     * 품질 함수: 0이면 연결 실패 (alwaysConnected 규칙은 항상 양수)
+     * - connected에는 실제로 맞물린 대상만 표시할 때 사용 (alwaysConnected 규칙은 엔진이 대상 전체를 표시)
+     */
+    @FunctionalInterface
+    interface EdgeQuality {
+        double score(DeviceSpec source, Targets targets, BitSet connected);
+    }
+
+    record EdgeRule(DeviceType source, List<DeviceType> targets, boolean alwaysConnected, EdgeQuality quality) {}
+
+    // 순서가 곧 품질 합산 순서 (바꾸면 부동소수 합이 달라질 수 있음)
+    static final List<EdgeRule> RULES = List.of(
+            // (A) 스마트워치 ↔ 스마트폰: 호환 OS 폰이 하나라도 있어야 연결
+            new EdgeRule(DeviceType.SMARTWATCH, List.of(DeviceType.SMARTPHONE), false,
+                    (watch, phones, connected) -> phones.markMatching(watch.getCompatiblePhoneOs(), connected) ? 1.0 : 0.0),
 
-        // 2. 기기 분류 (DTO의 record 구조 활용)
-        List<EvaluationPayload.DeviceDto> allDevices = payload.devices();
+            // (B) 키보드 ↔ 노트북 / 태블릿: 연결은 항상, 배열이 맞는 OS가 있으면 고품질
+            new EdgeRule(DeviceType.KEYBOARD, HOSTS, true,
+                    (keyboard, hosts, connected) -> hosts.anyOs(keyboard.getSupportedLayouts()) ? 1.0 : 0.4),
 
-        List<EvaluationPayload.DeviceDto> phones = filterByType(allDevices, "SMARTPHONE");
-        List<EvaluationPayload.DeviceDto> watches = filterByType(allDevices, "SMARTWATCH");
-        List<EvaluationPayload.DeviceDto> laptops = filterByType(allDevices, "LAPTOP");
-        List<EvaluationPayload.DeviceDto> tablets = filterByType(allDevices, "TABLET");
-        List<EvaluationPayload.DeviceDto> keyboards = filterByType(allDevices, "KEYBOARD");
-        List<EvaluationPayload.DeviceDto> mice = filterByType(allDevices, "MOUSE");
-        List<EvaluationPayload.DeviceDto> audios = filterByType(allDevices, "AUDIO");
+            // (C) 마우스 ↔ 노트북 / 태블릿: 제스처 지원 OS가 있으면 고품질
+            new EdgeRule(DeviceType.MOUSE, HOSTS, true,
+                    (mouse, hosts, connected) -> hosts.anyOs(mouse.getGestureSupport()) ? 1.0 : 0.5),
 
-        List<EvaluationPayload.DeviceDto> hosts = new ArrayList<>();
-        hosts.addAll(laptops);
-        hosts.addAll(tablets);
+            // (D) 오디오 ↔ 재생 기기 (스마트폰, 노트북, 태블릿 통합)
+            // 애플 계열은 AAC, 그 외(Android, Windows)는 LDAC / aptX 등이 있으면 고음질, 아니면 0.7 패널티
+            new EdgeRule(DeviceType.AUDIO, AUDIO_SOURCES, true,
+                    (audio, sources, connected) -> (sources.hasApple && audio.isCodecAac())
+                            || (sources.hasOther && audio.isCodecHiRes()) ? 1.0 : 0.7)
+    );
+
+    public int calculate(DeviceIndex devices) {
+        // 1. 방어 로직
+        if (devices.isEmpty()) {
+            return 0;
+        }
+
+        // 2. 기기 ID → 0..n-1 번호 (중복 ID는 같은 번호)
+        Map<Long, Integer> slots = new HashMap<>(devices.size() * 2);
+        for (DeviceSpec device : devices.all()) {
+            slots.putIfAbsent(device.getDeviceId(), slots.size());
+        }
 
         // 3. 변수 초기화
         double targetEdges = 0;
         double successEdges = 0;
         double totalQuality = 0;
 
-        Set<Long> targetedDevices = new HashSet<>();
-        Set<Long> connectedDevices = new HashSet<>();
+        BitSet targetedDevices = new BitSet(slots.size());
+        BitSet connectedDevices = new BitSet(slots.size());
 
-        // (A) 스마트워치 ↔ 스마트폰
-        if (!phones.isEmpty()) {
-            for (EvaluationPayload.DeviceDto watch : watches) {
-                Long wId = watch.deviceId();
-                targetedDevices.add(wId);
-                targetEdges++;
-
-                double bestQ = 0.0;
-                boolean connected = false;
+        // 4. 규칙 표 순서대로 간선 평가
+        for (EdgeRule rule : RULES) {
+            List<DeviceSpec> sources = devices.ofType(rule.source());
+            if (sources.isEmpty()) continue;
 
-                for (EvaluationPayload.DeviceDto phone : phones) {
-                    // specs 맵에서 데이터 추출 (백엔드 필드명 일치 확인)
-                    Object compatibleOSObj = watch.specs().get("compatiblePhoneOs");
-                    List<String> compatibleOS = (compatibleOSObj instanceof List) ? (List<String>) compatibleOSObj : Collections.emptyList();
-                    String phoneOS = (String) phone.specs().get("os");
+            Targets targets = Targets.of(devices, rule.targets(), slots);
+            if (targets.isEmpty()) continue;
 
-                    if (phoneOS != null && compatibleOS.contains(phoneOS)) {
-                        bestQ = 1.0;
-                        connected = true;
-                        connectedDevices.add(phone.deviceId());
-                    }
-                }
+            for (DeviceSpec source : sources) {
+                int slot = slots.get(source.getDeviceId());
+                targetedDevices.set(slot);
+                targetEdges++;
 
-                if (connected) {
+                double quality = rule.quality().score(source, targets, connectedDevices);
+                if (rule.alwaysConnected() || quality > 0) {
                     successEdges++;
-                    totalQuality += bestQ;
-                    connectedDevices.add(wId);
+                    totalQuality += quality;
+                    connectedDevices.set(slot);
                 }
             }
+
+            // 항상 연결되는 규칙은 대상 기기 전부가 연결된 것으로 봄
+            if (rule.alwaysConnected()) {
+                connectedDevices.or(targets.all);
+            }
         }
 
-        // (B) 키보드 ↔ 노트북 / 태블릿
-        if (!hosts.isEmpty()) {
-            for (EvaluationPayload.DeviceDto kb : keyboards) {
-                Long kId = kb.deviceId();
-                targetedDevices.add(kId);
-                targetEdges++;
-                successEdges++;
-                connectedDevices.add(kId);
+        // 5. 최종 점수 산출
+        BitSet isolated = (BitSet) targetedDevices.clone();
+        isolated.andNot(connectedDevices);
+        return finalScore(targetEdges, successEdges, totalQuality, targetedDevices.cardinality(), isolated.cardinality());
+    }
 
-                double currentMax = 0.0;
-                for (EvaluationPayload.DeviceDto host : hosts) {
-                    String hostType = host.type();
-                    String hostOS = (String) host.specs().get("os");
+    // 최종 점수 (Case E3)
+    private static int finalScore(double targetEdges, double successEdges, double totalQuality,
+                                  int targetDevCount, long isolatedCount) {
+        if (targetEdges == 0) return 65;
+        if (successEdges == 0) return 0;
 
-                    Object layoutObj = kb.specs().get("supportedLayouts");
-                    List<String> supportedLayouts = (layoutObj instanceof List) ? (List<String>) layoutObj : Collections.emptyList();
+        double hubConnectivity = successEdges / targetEdges;
+        double avgQuality = totalQuality / successEdges;
+        double isolatedRatio = (targetDevCount == 0) ? 0.0 : (double) isolatedCount / targetDevCount;
 
-                    boolean isLaptop = "LAPTOP".equalsIgnoreCase(hostType);
-                    double score;
+        return (int) (100 * (WEIGHT_HUB * hubConnectivity + WEIGHT_QUALITY * avgQuality + WEIGHT_ISOLATED * (1.0 - isolatedRatio)));
+    }
 
-                    if (hostOS != null && supportedLayouts.contains(hostOS)) {
-                        score = 1.0;
-                    } else {
-                        score = 0.4;
-                    }
-                    currentMax = Math.max(currentMax, score);
-                    connectedDevices.add(host.deviceId());
-                }
-                totalQuality += currentMax;
-            }
+    /* ===================== 증분 재평가 (IncrementalEvaluation) ===================== */
+
+    /**
+     * 규칙 하나(출발 타입 → 대상 타입들)의 간선 묶음 기여분
+     * - qualities: 연결에 성공한 간선 품질을 합산 순서대로 (다시 더해도 calculate와 비트 단위로 같음)
+     * - targeted / connected: 기기 ID (calculate의 번호 매기기와 같은 기준, ID 없는 기기는 null 하나)
+     */
+    record EdgeGroup(int edges, double[] qualities, Set<Long> targeted, Set<Long> connected) {
+        static final EdgeGroup EMPTY = new EdgeGroup(0, new double[0], Set.of(), Set.of());
+    }
+
+    // 규칙 표 순서대로 전부 계산
+    EdgeGroup[] edgeGroups(DeviceIndex devices) {
+        EdgeGroup[] groups = new EdgeGroup[RULES.size()];
+        for (int r = 0; r < groups.length; r++) {
+            groups[r] = edgeGroup(RULES.get(r), devices);
         }
+        return groups;
+    }
 
-        // (C) 마우스 ↔ 노트북 / 태블릿
-        if (!hosts.isEmpty()) {
-            for (EvaluationPayload.DeviceDto mouse : mice) {
-                Long mId = mouse.deviceId();
-                targetedDevices.add(mId);
-                targetEdges++;
-                successEdges++;
-                connectedDevices.add(mId);
+    // 바뀐 타입이 출발 / 대상에 걸린 규칙만 다시 계산, 나머지 묶음은 그대로 재사용
+    EdgeGroup[] edgeGroups(DeviceIndex devices, EdgeGroup[] previous, Set<DeviceType> changed) {
+        EdgeGroup[] groups = previous.clone();
+        for (int r = 0; r < groups.length; r++) {
+            EdgeRule rule = RULES.get(r);
+            if (changed.contains(rule.source()) || !Collections.disjoint(changed, rule.targets())) {
+                groups[r] = edgeGroup(rule, devices);
+            }
+        }
+        return groups;
+    }
 
-                double currentMax = 0.0;
-                for (EvaluationPayload.DeviceDto host : hosts) {
-                    String hostOS = (String) host.specs().get("os");
+    // 묶음들을 규칙 표 순서대로 합쳐서 calculate와 같은 점수
+    static int score(DeviceIndex devices, EdgeGroup[] groups) {
+        if (devices.isEmpty()) {
+            return 0;
+        }
 
-                    Object gestureObj = mouse.specs().get("gestureSupport");
-                    List<String> gestureSupports = (gestureObj instanceof List) ? (List<String>) gestureObj : Collections.emptyList();
+        double targetEdges = 0;
+        double successEdges = 0;
+        double totalQuality = 0;
+        for (EdgeGroup group : groups) {
+            targetEdges += group.edges();
+            for (double quality : group.qualities()) {
+                successEdges++;
+                totalQuality += quality;
+            }
+        }
 
-                    double score = (hostOS != null && gestureSupports.contains(hostOS)) ? 1.0 : 0.5;
-                    currentMax = Math.max(currentMax, score);
-                    connectedDevices.add(host.deviceId());
-                }
-                totalQuality += currentMax;
+        // 출발 기기(ID 기준 중복 제외) 중 어느 묶음에서도 연결되지 않은 것 (묶음이 4개뿐이라 합집합을 따로 안 만듦)
+        int targetDevCount = 0;
+        long isolatedCount = 0;
+        for (int g = 0; g < groups.length; g++) {
+            for (Long id : groups[g].targeted()) {
+                if (targetedEarlier(groups, g, id)) continue;
+                targetDevCount++;
+                if (!connectedAnywhere(groups, id)) isolatedCount++;
             }
         }
+        return finalScore(targetEdges, successEdges, totalQuality, targetDevCount, isolatedCount);
+    }
 
-        // (D) 오디오 ↔ 재생 기기 (스마트폰, 노트북, 태블릿 통합)
-        List<EvaluationPayload.DeviceDto> audioSources = new ArrayList<>();
-        audioSources.addAll(phones);
-        audioSources.addAll(hosts); // hosts에는 이미 laptops, tablets가 들어있음
+    private static boolean targetedEarlier(EdgeGroup[] groups, int before, Long id) {
+        for (int g = 0; g < before; g++) {
+            if (groups[g].targeted().contains(id)) return true;
+        }
+        return false;
+    }
 
-        if (!audioSources.isEmpty()) {
-            for (EvaluationPayload.DeviceDto audio : audios) {
-                Long aId = audio.deviceId();
-                targetedDevices.add(aId);
-                targetEdges++; // 이제 노트북이랑만 있어도 타겟이 잡히도록 수정
+    private static boolean connectedAnywhere(EdgeGroup[] groups, Long id) {
+        for (EdgeGroup group : groups) {
+            if (group.connected().contains(id)) return true;
+        }
+        return false;
+    }
+
+    private static EdgeGroup edgeGroup(EdgeRule rule, DeviceIndex devices) {
+        List<DeviceSpec> sources = devices.ofType(rule.source());
+        if (sources.isEmpty()) return EdgeGroup.EMPTY;
 
-                double currentMax = 0.0;
-                boolean connected = false;
+        // 이 규칙에 나오는 기기만 번호 매김 (번호 → ID는 ids로 되돌림)
+        Map<Long, Integer> slots = new HashMap<>();
+        List<Long> ids = new ArrayList<>();
+        for (DeviceType type : rule.targets()) {
+            for (DeviceSpec device : devices.ofType(type)) {
+                if (slots.putIfAbsent(device.getDeviceId(), ids.size()) == null) ids.add(device.getDeviceId());
+            }
+        }
+        Targets targets = Targets.of(devices, rule.targets(), slots);
+        if (targets.isEmpty()) return EdgeGroup.EMPTY;
 
-                for (EvaluationPayload.DeviceDto source : audioSources) {
-                    String sourceOS = (String) source.specs().get("os"); // phoneOS -> sourceOS로 변경
+        for (DeviceSpec source : sources) {
+            if (slots.putIfAbsent(source.getDeviceId(), ids.size()) == null) ids.add(source.getDeviceId());
+        }
 
-                    Object codecObj = audio.specs().get("supportedCodecs");
-                    List<String> audioCodecs = (codecObj instanceof List) ? (List<String>) codecObj : Collections.emptyList();
+        double[] qualities = new double[sources.size()];
+        int success = 0;
+        Set<Long> targeted = new HashSet<>();
+        BitSet connected = new BitSet(ids.size());
+
+        for (DeviceSpec source : sources) {
+            targeted.add(source.getDeviceId());
+            double quality = rule.quality().score(source, targets, connected);
+            if (rule.alwaysConnected() || quality > 0) {
+                qualities[success++] = quality;
+                connected.set(slots.get(source.getDeviceId()));
+            }
+        }
+        if (rule.alwaysConnected()) {
+            connected.or(targets.all);
+        }
 
-                    // 연결성 체크 (오디오는 블루투스라 기본 연결은 된다고 가정하거나, 필요 시 로직 추가)
-                    connected = true;
-                    connectedDevices.add(source.deviceId());
+        Set<Long> connectedIds = new HashSet<>();
+        for (int slot = connected.nextSetBit(0); slot >= 0; slot = connected.nextSetBit(slot + 1)) {
+            connectedIds.add(ids.get(slot));
+        }
+        return new EdgeGroup(sources.size(), Arrays.copyOf(qualities, success), targeted, connectedIds);
+    }
 
-                    boolean highQuality = false;
-                    // OS별 고음질 코덱 판별 로직
-                    if (sourceOS != null && (sourceOS.contains("iOS") || sourceOS.contains("iPadOS") || sourceOS.contains("macOS"))) {
-                        // 애플 계열: AAC 지원 여부 확인
-                        if (audioCodecs.contains("AAC")) highQuality = true;
+    /**
+     * 한 규칙의 연결 대상 기기들 (OS별 묶음)
+     */
+    static final class Targets {
+
+        private final Map<String, BitSet> byOs = new HashMap<>(); // OS 원문 → 그 OS인 기기 번호들 (OS 없는 기기 제외)
+        private final BitSet all = new BitSet();
+        private boolean hasApple;  // iOS / iPadOS / macOS 계열이 하나라도 있음
+        private boolean hasOther;  // 그 외 (OS 모름 포함)
+
+        static Targets of(DeviceIndex devices, List<DeviceType> types, Map<Long, Integer> slots) {
+            Targets targets = new Targets();
+            for (DeviceType type : types) {
+                for (DeviceSpec device : devices.ofType(type)) {
+                    int slot = slots.get(device.getDeviceId());
+                    targets.all.set(slot);
+
+                    String os = device.getOs();
+                    if (os != null) {
+                        targets.byOs.computeIfAbsent(os, k -> new BitSet()).set(slot);
+                    }
+                    if (os != null && (os.contains("iOS") || os.contains("iPadOS") || os.contains("macOS"))) {
+                        targets.hasApple = true;
                     } else {
-                        // 그 외 (Android, Windows): LDAC, aptX 등 확인
-                        if (audioCodecs.contains("LDAC") || audioCodecs.contains("aptX") || audioCodecs.contains("SSC")) highQuality = true;
+                        targets.hasOther = true;
                     }
-
-                    // [패널티 적용] 0.7 (아까 정한 그 점수)
-                    double score = highQuality ? 1.0 : 0.7;
-                    currentMax = Math.max(currentMax, score);
-                }
-
-                if (connected) {
-                    successEdges++;
-                    connectedDevices.add(aId);
                 }
-                totalQuality += currentMax;
             }
+            return targets;
         }
 
-        // 4. 최종 점수 산출
-        if (targetEdges == 0) return 65;
-        if (successEdges == 0) return 0;
-
-        double hubConnectivity = successEdges / targetEdges;
-        double avgQuality = totalQuality / successEdges;
-
-        long targetDevCount = targetedDevices.size();
-        long isolatedCount = targetedDevices.stream()
-                .filter(id -> !connectedDevices.contains(id))
-                .count();
-        double isolatedRatio = (targetDevCount == 0) ? 0.0 : (double) isolatedCount / targetDevCount;
+        boolean isEmpty() {
+            return all.isEmpty();
+        }
 
-        // 최종 점수 (Case E3)
-        return (int) (100 * (WEIGHT_HUB * hubConnectivity + WEIGHT_QUALITY * avgQuality + WEIGHT_ISOLATED * (1.0 - isolatedRatio)));
-    }
+        // 목록의 OS 중 대상에 있는 게 하나라도 있는지
+        boolean anyOs(List<String> osList) {
+            for (String os : osList) {
+                if (os != null && byOs.containsKey(os)) return true;
+            }
+            return false;
+        }
 
-    private List<EvaluationPayload.DeviceDto> filterByType(List<EvaluationPayload.DeviceDto> devices, String type) {
-        return devices.stream()
-                .filter(d -> type.equalsIgnoreCase(d.type()))
-                .collect(Collectors.toList());
+        // 목록의 OS인 대상 기기를 전부 connected에 표시, 하나라도 있었는지 반환
+        boolean markMatching(List<String> osList, BitSet connected) {
+            boolean matched = false;
+            for (String os : osList) {
+                BitSet group = os != null ? byOs.get(os) : null;
+                if (group != null) {
+                    connected.or(group);
+                    matched = true;
+                }
+            }
+            return matched;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,13 @@
 package com.devicelife.devicelife_worker.service;
 
-import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.service.SpecValues.ChargingMethod;
+import com.devicelife.devicelife_worker.service.SpecValues.WirelessCharging;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Component
 public class ConvenienceEvaluator {
@@ -18,50 +21,72 @@ public class ConvenienceEvaluator {
     private static final double W_QI = 0.10;     // 스마트폰 무선충전
     private static final double W_BAT = 0.25;    // 배터리 수명
 
+    /**
+     * 세부 지표 (선언 순서 = 가중합 순서)
+     * - types: 지표가 읽는 기기 타입 (증분 재평가 시 이 타입이 바뀐 지표만 다시 계산)
+     */
+    enum Part {
+        SIMULTANEOUS(W_SIM, EnumSet.of(DeviceType.CHARGER, DeviceType.SMARTPHONE, DeviceType.LAPTOP, DeviceType.TABLET,
+                DeviceType.AUDIO, DeviceType.KEYBOARD, DeviceType.MOUSE)),
+        LAPTOP_CHARGEABLE(W_LAPTOP, EnumSet.of(DeviceType.LAPTOP, DeviceType.CHARGER)),
+        USB_C_UNIFORMITY(W_USB_C, EnumSet.of(DeviceType.CHARGER, DeviceType.SMARTPHONE, DeviceType.LAPTOP,
+                DeviceType.TABLET, DeviceType.AUDIO, DeviceType.MOUSE)),
+        SMARTPHONE_WIRELESS(W_QI, EnumSet.of(DeviceType.SMARTPHONE)),
+        BATTERY_LIFE(W_BAT, EnumSet.of(DeviceType.SMARTPHONE, DeviceType.LAPTOP, DeviceType.TABLET));
+
+        private static final Part[] VALUES = values();
+
+        final double weight;
+        final Set<DeviceType> types;
+
+        Part(double weight, Set<DeviceType> types) {
+            this.weight = weight;
+            this.types = types;
+        }
+    }
+
     /**
      * 편의성 점수 (0~100)
      * - 가능한 지표만 가중합 후 가중치 재정규화
      * - 아무 지표도 계산 불가면 BASE_SCORE(65)
      */
-    public int calculate(EvaluationPayload payload) {
+    public int calculate(DeviceIndex devices) {
 
-        if (payload == null || payload.devices() == null || payload.devices().isEmpty()) {
+        if (devices == null || devices.isEmpty()) {
             return BASE_SCORE;
         }
 
-        // type -> DeviceDto
-        Map<String, EvaluationPayload.DeviceDto> byType = payload.devices().stream()
-                .filter(Objects::nonNull)
-                .filter(d -> d.type() != null)
-                .collect(Collectors.toMap(
-                        d -> normalizeType(d.type()),
-                        d -> d,
-                        (a, b) -> a
-                ));
-
-        EvaluationPayload.DeviceDto smartphone = byType.get("SMARTPHONE");
-        EvaluationPayload.DeviceDto laptop = byType.get("LAPTOP");
-        EvaluationPayload.DeviceDto tablet = byType.get("TABLET");
-        EvaluationPayload.DeviceDto watch = byType.get("WATCH");
-        EvaluationPayload.DeviceDto audio = byType.get("AUDIO");
-        EvaluationPayload.DeviceDto keyboard = byType.get("KEYBOARD");
-        EvaluationPayload.DeviceDto mouse = byType.get("MOUSE");
-        EvaluationPayload.DeviceDto charger = byType.get("CHARGER");
-
-        Score sSim = scoreSimultaneous(charger, smartphone, laptop, tablet, watch, audio, keyboard, mouse);
-        Score sLaptop = scoreLaptopChargeable(laptop, charger);
-        Score sUsbC = scoreUsbCUniformity(charger, smartphone, laptop, tablet, audio, keyboard, mouse);
-        Score sQi = scoreSmartphoneWireless(smartphone);
-        Score sBat = scoreBatteryLife(smartphone, laptop, tablet);
+        return combine(parts(devices));
+    }
 
+    // 지표 전부 계산 (Part 순서)
+    Score[] parts(DeviceIndex devices) {
+        Score[] parts = new Score[Part.VALUES.length];
+        for (Part part : Part.VALUES) {
+            parts[part.ordinal()] = part(part, devices);
+        }
+        return parts;
+    }
+
+    // 바뀐 타입을 읽는 지표만 다시 계산, 나머지는 이전 값 재사용
+    Score[] parts(DeviceIndex devices, Score[] previous, Set<DeviceType> changed) {
+        Score[] parts = previous.clone();
+        for (Part part : Part.VALUES) {
+            if (!Collections.disjoint(part.types, changed)) {
+                parts[part.ordinal()] = part(part, devices);
+            }
+        }
+        return parts;
+    }
+
+    int combine(Score[] parts) {
         double weightedSum = 0.0;
         double weightSum = 0.0;
 
-        if (sSim.available) { weightedSum += W_SIM * sSim.value; weightSum += W_SIM; }
-        if (sLaptop.available) { weightedSum += W_LAPTOP * sLaptop.value; weightSum += W_LAPTOP; }
-        if (sUsbC.available) { weightedSum += W_USB_C * sUsbC.value; weightSum += W_USB_C; }
-        if (sQi.available) { weightedSum += W_QI * sQi.value; weightSum += W_QI; }
-        if (sBat.available) { weightedSum += W_BAT * sBat.value; weightSum += W_BAT; }
+        for (Part part : Part.VALUES) {
+            Score s = parts[part.ordinal()];
+            if (s.available) { weightedSum += part.weight * s.value; weightSum += part.weight; }
+        }
 
         if (weightSum <= 0.0) return BASE_SCORE;
 
@@ -70,18 +95,38 @@ public class ConvenienceEvaluator {
         return clampInt(score, 0, 100);
     }
 
+    // 지표 하나 (타입별 첫 번째 기기는 DeviceIndex가 이미 묶어둠)
+    private Score part(Part part, DeviceIndex devices) {
+        // 기존 로직은 "WATCH" 타입으로 조회했는데 백엔드 타입은 SMARTWATCH라 항상 비어 있었음
+        // → 점수가 바뀌지 않도록 그대로 충전 대상에서 제외 (반영하려면 evaluationVersion 올리고 변경)
+        DeviceSpec watch = null;
+
+        return switch (part) {
+            case SIMULTANEOUS -> scoreSimultaneous(devices.first(DeviceType.CHARGER), devices.first(DeviceType.SMARTPHONE),
+                    devices.first(DeviceType.LAPTOP), devices.first(DeviceType.TABLET), watch, devices.first(DeviceType.AUDIO),
+                    devices.first(DeviceType.KEYBOARD), devices.first(DeviceType.MOUSE));
+            case LAPTOP_CHARGEABLE -> scoreLaptopChargeable(devices.first(DeviceType.LAPTOP), devices.first(DeviceType.CHARGER));
+            case USB_C_UNIFORMITY -> scoreUsbCUniformity(devices.first(DeviceType.CHARGER), devices.first(DeviceType.SMARTPHONE),
+                    devices.first(DeviceType.LAPTOP), devices.first(DeviceType.TABLET), devices.first(DeviceType.AUDIO),
+                    devices.first(DeviceType.KEYBOARD), devices.first(DeviceType.MOUSE));
+            case SMARTPHONE_WIRELESS -> scoreSmartphoneWireless(devices.first(DeviceType.SMARTPHONE));
+            case BATTERY_LIFE -> scoreBatteryLife(devices.first(DeviceType.SMARTPHONE), devices.first(DeviceType.LAPTOP),
+                    devices.first(DeviceType.TABLET));
+        };
+    }
+
     // =========================================================
     // (A) 동시충전율 s_sim
     // =========================================================
     private Score scoreSimultaneous(
-            EvaluationPayload.DeviceDto charger,
-            EvaluationPayload.DeviceDto smartphone,
-            EvaluationPayload.DeviceDto laptop,
-            EvaluationPayload.DeviceDto tablet,
-            EvaluationPayload.DeviceDto watch,
-            EvaluationPayload.DeviceDto audio,
-            EvaluationPayload.DeviceDto keyboard,
-            EvaluationPayload.DeviceDto mouse
+            DeviceSpec charger,
+            DeviceSpec smartphone,
+            DeviceSpec laptop,
+            DeviceSpec tablet,
+            DeviceSpec watch,
+            DeviceSpec audio,
+            DeviceSpec keyboard,
+            DeviceSpec mouse
     ) {
         if (charger == null) return Score.na();
 
@@ -92,11 +137,10 @@ public class ConvenienceEvaluator {
 
         // ports = chargers.portConfiguration 길이
         // 예) ["C","C","A"] → 3
-        List<?> portConfig = getList(charger.specs(), "portConfiguration");
-        if (portConfig != null) slots += portConfig.size();
+        slots += charger.getPortCount();
 
         // chargerType == WIRELESS_STAND → slots += 1
-        String chargerType = getString(charger.specs(), "chargerType");
+        String chargerType = charger.getChargerType();
         if ("WIRELESS_STAND".equalsIgnoreCase(chargerType)) {
             slots += 1;
         }
@@ -106,13 +150,13 @@ public class ConvenienceEvaluator {
     }
 
     private int countChargeTargets(
-            EvaluationPayload.DeviceDto smartphone,
-            EvaluationPayload.DeviceDto laptop,
-            EvaluationPayload.DeviceDto tablet,
-            EvaluationPayload.DeviceDto watch,
-            EvaluationPayload.DeviceDto audio,
-            EvaluationPayload.DeviceDto keyboard,
-            EvaluationPayload.DeviceDto mouse
+            DeviceSpec smartphone,
+            DeviceSpec laptop,
+            DeviceSpec tablet,
+            DeviceSpec watch,
+            DeviceSpec audio,
+            DeviceSpec keyboard,
+            DeviceSpec mouse
     ) {
         int cnt = 0;
 
@@ -127,13 +171,12 @@ public class ConvenienceEvaluator {
 
         // keyboard — batteryMah != null이면 충전 대상
         if (keyboard != null) {
-            Number batteryMah = getNumber(keyboard.specs(), "batteryMah");
-            if (batteryMah != null) cnt++;
+            if (DeviceSpec.isKnown(keyboard.getBatteryMah())) cnt++;
         }
 
         // mouse — powerSource == USB_C_RECHARGEABLE이면 충전 대상
         if (mouse != null) {
-            String powerSource = getString(mouse.specs(), "powerSource");
+            String powerSource = mouse.getPowerSource();
             if ("USB_C_RECHARGEABLE".equalsIgnoreCase(powerSource)) cnt++;
         }
 
@@ -143,28 +186,25 @@ public class ConvenienceEvaluator {
     // =========================================================
     // (B) 노트북 충전 가능 s_laptop
     // =========================================================
-    private Score scoreLaptopChargeable(EvaluationPayload.DeviceDto laptop, EvaluationPayload.DeviceDto charger) {
+    private Score scoreLaptopChargeable(DeviceSpec laptop, DeviceSpec charger) {
         if (laptop == null || charger == null) return Score.na();
 
-        String chargingMethod = getString(laptop.specs(), "chargingMethod"); // DC_ADAPTER / USB_C
+        ChargingMethod chargingMethod = laptop.getChargingMethod(); // DC_ADAPTER / USB_C
         if (chargingMethod == null) return Score.na();
 
         // DC 어댑터면 0
-        if ("DC_ADAPTER".equalsIgnoreCase(chargingMethod)) {
+        if (chargingMethod == ChargingMethod.DC_ADAPTER) {
             return Score.of(0.0);
         }
 
         // USB-C 충전
-        if (!"USB_C".equalsIgnoreCase(chargingMethod)) {
+        if (chargingMethod != ChargingMethod.USB_C) {
             return Score.of(0.0);
         }
 
-        Number minRequiredPowerW = getNumber(laptop.specs(), "minRequiredPowerW");
-        Number maxSinglePortPowerW = getNumber(charger.specs(), "maxSinglePortPowerW");
-        if (minRequiredPowerW == null || maxSinglePortPowerW == null) return Score.na();
-
-        double minReq = minRequiredPowerW.doubleValue();
-        double maxSingle = maxSinglePortPowerW.doubleValue();
+        double minReq = laptop.getMinRequiredPowerW();
+        double maxSingle = charger.getMaxSinglePortPowerW();
+        if (!DeviceSpec.isKnown(minReq) || !DeviceSpec.isKnown(maxSingle)) return Score.na();
         if (minReq <= 0 || maxSingle <= 0) return Score.na();
 
         double ratio = maxSingle / minReq;
@@ -175,18 +215,8 @@ public class ConvenienceEvaluator {
         else s = 0.0;
 
         // (선택옵션) supportedProtocols에 PD 없으면 0.5로 제한
-        if (s > 0.0) {
-            List<?> protocols = getList(charger.specs(), "supportedProtocols"); // ["PD","PPS"...]
-            boolean hasPd = false;
-            if (protocols != null) {
-                for (Object p : protocols) {
-                    if (p != null && "PD".equalsIgnoreCase(String.valueOf(p))) {
-                        hasPd = true;
-                        break;
-                    }
-                }
-            }
-            if (!hasPd) s = Math.min(s, 0.5);
+        if (s > 0.0 && !charger.isPdProtocol()) { // ["PD","PPS"...]
+            s = Math.min(s, 0.5);
         }
 
         return Score.of(clamp01(s));
@@ -196,79 +226,76 @@ public class ConvenienceEvaluator {
     // (C) USB-C 단자 통일감 s_usbc
     // =========================================================
     private Score scoreUsbCUniformity(
-            EvaluationPayload.DeviceDto charger,
-            EvaluationPayload.DeviceDto smartphone,
-            EvaluationPayload.DeviceDto laptop,
-            EvaluationPayload.DeviceDto tablet,
-            EvaluationPayload.DeviceDto audio,
-            EvaluationPayload.DeviceDto keyboard,
-            EvaluationPayload.DeviceDto mouse
+            DeviceSpec charger,
+            DeviceSpec smartphone,
+            DeviceSpec laptop,
+            DeviceSpec tablet,
+            DeviceSpec audio,
+            DeviceSpec keyboard,
+            DeviceSpec mouse
     ) {
         // 케이블로 충전하는 기기가 1개 이상일 때만 계산
-        List<Boolean> cableIsUsbC = new ArrayList<>();
+        int cableCount = 0;
+        int usbCCount = 0;
 
         // smartphone: chargingPort
         if (smartphone != null) {
-            String port = getString(smartphone.specs(), "chargingPort"); // USB_C/LIGHTNING/...
-            if (port != null) cableIsUsbC.add("USB_C".equalsIgnoreCase(port));
+            String port = smartphone.getChargingPort(); // USB_C/LIGHTNING/...
+            if (port != null) {
+                cableCount++;
+                if ("USB_C".equalsIgnoreCase(port)) usbCCount++;
+            }
         }
 
         // tablet: chargingPort
         if (tablet != null) {
-            String port = getString(tablet.specs(), "chargingPort");
-            if (port != null) cableIsUsbC.add("USB_C".equalsIgnoreCase(port));
+            String port = tablet.getChargingPort();
+            if (port != null) {
+                cableCount++;
+                if ("USB_C".equalsIgnoreCase(port)) usbCCount++;
+            }
         }
 
         // laptop: chargingMethod == USB_C
         if (laptop != null) {
-            String method = getString(laptop.specs(), "chargingMethod");
-            if ("USB_C".equalsIgnoreCase(method)) {
-                cableIsUsbC.add(true);
+            if (laptop.getChargingMethod() == ChargingMethod.USB_C) {
+                cableCount++;
+                usbCCount++;
             }
             // DC_ADAPTER는 "케이블(USB-C) 통일감" 산정에서 제외(네 설명 기준)
         }
 
         // audio: caseChargingType (USB_C / LIGHTNING / WIRELESS)
         if (audio != null) {
-            String t = getString(audio.specs(), "caseChargingType");
+            String t = audio.getCaseChargingType();
             if (t != null && !"WIRELESS".equalsIgnoreCase(t)) {
-                cableIsUsbC.add("USB_C".equalsIgnoreCase(t));
+                cableCount++;
+                if ("USB_C".equalsIgnoreCase(t)) usbCCount++;
             }
         }
 
         // keyboard: batteryMah != null이면 충전 대상이긴 한데 "포트 타입" 정보가 없으면 USB-C 판단 불가
         // -> keyboard.specs에 chargingPort 같은게 있다면 아래 주석 풀어써라
         // if (keyboard != null) {
-        //     String port = getString(keyboard.specs(), "chargingPort");
-        //     if (port != null) cableIsUsbC.add("USB_C".equalsIgnoreCase(port));
+        //     String port = keyboard.getChargingPort();
+        //     if (port != null) { cableCount++; if ("USB_C".equalsIgnoreCase(port)) usbCCount++; }
         // }
 
         // mouse: powerSource == USB_C_RECHARGEABLE면 USB-C로 봄
         if (mouse != null) {
-            String ps = getString(mouse.specs(), "powerSource");
+            String ps = mouse.getPowerSource();
             if ("USB_C_RECHARGEABLE".equalsIgnoreCase(ps)) {
-                cableIsUsbC.add(true);
+                cableCount++;
+                usbCCount++;
             }
         }
 
-        if (cableIsUsbC.isEmpty()) return Score.na();
+        if (cableCount == 0) return Score.na();
 
-        long usbCCount = cableIsUsbC.stream().filter(Boolean::booleanValue).count();
-        double deviceUsbCRatio = (double) usbCCount / (double) cableIsUsbC.size();
+        double deviceUsbCRatio = (double) usbCCount / (double) cableCount;
 
         // 충전기 있지만 C타입 지원 안함 -> 0.7 패널티
-        boolean chargerHasC = false;
-        if (charger != null) {
-            List<?> portConfig = getList(charger.specs(), "portConfiguration");
-            if (portConfig != null) {
-                for (Object p : portConfig) {
-                    if (p != null && "C".equalsIgnoreCase(String.valueOf(p))) {
-                        chargerHasC = true;
-                        break;
-                    }
-                }
-            }
-        }
+        boolean chargerHasC = charger != null && charger.isUsbCPort();
 
         double s = deviceUsbCRatio;
         if (charger != null && !chargerHasC) {
@@ -281,110 +308,56 @@ public class ConvenienceEvaluator {
     // =========================================================
     // (D) 스마트폰 무선충전 s_qi
     // =========================================================
-    private Score scoreSmartphoneWireless(EvaluationPayload.DeviceDto smartphone) {
+    private Score scoreSmartphoneWireless(DeviceSpec smartphone) {
         if (smartphone == null) return Score.na();
 
-        String wc = getString(smartphone.specs(), "wirelessCharging"); // MAGSAFE / QI / NONE
+        WirelessCharging wc = smartphone.getWirelessCharging(); // MAGSAFE / QI / NONE
         if (wc == null) return Score.na();
 
-        if ("MAGSAFE".equalsIgnoreCase(wc)) return Score.of(1.0);
-        if ("QI".equalsIgnoreCase(wc)) return Score.of(0.8);
-        if ("NONE".equalsIgnoreCase(wc)) return Score.of(0.0);
-
-        return Score.na();
+        return switch (wc) {
+            case MAGSAFE -> Score.of(1.0);
+            case QI -> Score.of(0.8);
+            case NONE -> Score.of(0.0);
+            case OTHER -> Score.na();
+        };
     }
 
     // =========================================================
     // (E) 배터리 수명 s_bat
     // =========================================================
     private Score scoreBatteryLife(
-            EvaluationPayload.DeviceDto smartphone,
-            EvaluationPayload.DeviceDto laptop,
-            EvaluationPayload.DeviceDto tablet
+            DeviceSpec smartphone,
+            DeviceSpec laptop,
+            DeviceSpec tablet
     ) {
         // 조건: 스마트폰/노트북/태블릿 중 하나라도 존재
         if (smartphone == null && laptop == null && tablet == null) return Score.na();
 
-        List<Double> parts = new ArrayList<>();
+        double[] parts = new double[3];
+        int count = 0;
 
         // smartphone batteryMah: 3000~5500
-        if (smartphone != null) {
-            Number mah = getNumber(smartphone.specs(), "batteryMah");
-            if (mah != null) parts.add(norm(mah.doubleValue(), 3000, 5500));
+        if (smartphone != null && DeviceSpec.isKnown(smartphone.getBatteryMah())) {
+            parts[count++] = norm(smartphone.getBatteryMah(), 3000, 5500);
         }
 
         // tablet batteryMah: 6000~11000
-        if (tablet != null) {
-            Number mah = getNumber(tablet.specs(), "batteryMah");
-            if (mah != null) parts.add(norm(mah.doubleValue(), 6000, 11000));
+        if (tablet != null && DeviceSpec.isKnown(tablet.getBatteryMah())) {
+            parts[count++] = norm(tablet.getBatteryMah(), 6000, 11000);
         }
 
         // laptop batteryWh: 40~100
-        if (laptop != null) {
-            Number wh = getNumber(laptop.specs(), "batteryWh");
-            if (wh != null) parts.add(norm(wh.doubleValue(), 40, 100));
+        if (laptop != null && DeviceSpec.isKnown(laptop.getBatteryWh())) {
+            parts[count++] = norm(laptop.getBatteryWh(), 40, 100);
         }
 
-        if (parts.isEmpty()) return Score.na();
+        if (count == 0) return Score.na();
 
-        double avg = parts.stream().mapToDouble(d -> d).average().orElse(0.0);
+        // 기존과 같은 DoubleStream.average (보정 합산이라 sum / count와 마지막 자리가 다를 수 있음 → 반올림 경계에서 점수가 바뀜)
+        double avg = Arrays.stream(parts, 0, count).average().orElse(0.0);
         return Score.of(clamp01(avg));
     }
 
-    // =========================================================
-    // Map<String,Object> 안전 파서들
-    // =========================================================
-    private String normalizeType(String type) {
-        return type.trim().toUpperCase(Locale.ROOT);
-    }
-
-    private String getString(Map<String, Object> specs, String key) {
-        if (specs == null) return null;
-        Object v = specs.get(key);
-        if (v == null) return null;
-        String s = String.valueOf(v).trim();
-        return s.isEmpty() ? null : s;
-    }
-
-    private Number getNumber(Map<String, Object> specs, String key) {
-        if (specs == null) return null;
-        Object v = specs.get(key);
-        if (v == null) return null;
-
-        if (v instanceof Number n) return n;
-
-        // Jackson이 문자열로 들어오는 경우 방어
-        if (v instanceof String s) {
-            String t = s.trim();
-            if (t.isEmpty()) return null;
-            try {
-                if (t.contains(".")) return Double.parseDouble(t);
-                return Long.parseLong(t);
-            } catch (NumberFormatException ignored) {
-                return null;
-            }
-        }
-        return null;
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<?> getList(Map<String, Object> specs, String key) {
-        if (specs == null) return null;
-        Object v = specs.get(key);
-        if (v == null) return null;
-
-        if (v instanceof List<?> list) return list;
-
-        // 배열로 들어온 경우도 방어
-        if (v.getClass().isArray()) {
-            int len = java.lang.reflect.Array.getLength(v);
-            List<Object> out = new ArrayList<>(len);
-            for (int i = 0; i < len; i++) out.add(java.lang.reflect.Array.get(v, i));
-            return out;
-        }
-        return null;
-    }
-
     // =========================================================
     // 유틸
     // =========================================================
@@ -401,7 +374,7 @@ public class ConvenienceEvaluator {
         return Math.max(min, Math.min(max, v));
     }
 
-    private static class Score {
+    static final class Score {
         final boolean available;
         final double value;
 
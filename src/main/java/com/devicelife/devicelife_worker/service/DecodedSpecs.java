@@ -0,0 +1,92 @@
+package com.devicelife.devicelife_worker.service;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 스트리밍 코덱이 만든 specs (DeviceDto.specs 자리에 들어감)
+ * - 평가에 쓰는 키는 이미 DeviceSpec.Fields로 디코딩됨 → Map으로는 보이지 않음
+ * - Map 내용은 알 수 없는 키만 담은 작은 배열 기반 overflow (대부분 비어 있음)
+ * - PayloadLoader가 보충해 붙인 경우엔 이미 만들어진 DeviceSpec을 그대로 들고 있음 (fields 없음)
+ */
+final class DecodedSpecs extends AbstractMap<String, Object> {
+
+    private final DeviceSpec.Fields fields;
+    private final DeviceSpec resolved;
+    private String[] keys = new String[0];
+    private Object[] values = new Object[0];
+    private int size;
+
+    DecodedSpecs(DeviceSpec.Fields fields) {
+        this.fields = fields;
+        this.resolved = null;
+    }
+
+    private DecodedSpecs(DeviceSpec resolved) {
+        this.fields = null;
+        this.resolved = resolved;
+    }
+
+    static DecodedSpecs resolved(DeviceSpec spec) {
+        return new DecodedSpecs(spec);
+    }
+
+    DeviceSpec.Fields fields() {
+        return fields;
+    }
+
+    DeviceSpec resolved() {
+        return resolved;
+    }
+
+    // 같은 키가 다시 오면 나중 값으로 (Jackson Map 디코딩과 동일)
+    void putOverflow(String key, Object value) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                values[i] = value;
+                return;
+            }
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(2, size * 2));
+            values = Arrays.copyOf(values, keys.length);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < size;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (index >= size) throw new NoSuchElementException();
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>(keys[index], values[index]);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload.DeviceDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * DeviceDto 스트리밍 디코더 (ObjectMapper 모듈로 등록)
+ * - specs를 LinkedHashMap으로 만들지 않고 JSON 토큰을 읽으면서 바로 DeviceSpec 필드로 디코딩
+ *   (숫자 키는 박싱 없이 double로, 알 수 없는 키만 overflow Map으로)
+ * - 백엔드가 실어 보낸 specs는 캐시에 같은 버전이 있어도 항상 디코딩
+ *   (디코딩 시점에 캐시에 있어도 평가 전에 밀려날 수 있음, 백엔드가 생략한 기기만 PayloadLoader가 보충)
+ */
+public class DeviceDtoDeserializer extends StdDeserializer<DeviceDto> {
+
+    public DeviceDtoDeserializer() {
+        super(DeviceDto.class);
+    }
+
+    @Override
+    public DeviceDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (DeviceDto) ctxt.handleUnexpectedToken(DeviceDto.class, p);
+        }
+
+        Long deviceId = null;
+        String type = null;
+        Long specVersion = null;
+        DecodedSpecs specs = null;
+
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            JsonToken token = p.nextToken();
+            switch (field) {
+                case "deviceId" -> deviceId = readLong(p, ctxt, token);
+                case "type" -> type = token == JsonToken.VALUE_STRING ? p.getText() : ctxt.readValue(p, String.class);
+                case "specVersion" -> specVersion = readLong(p, ctxt, token);
+                case "specs" -> {
+                    if (token == JsonToken.VALUE_NULL) {
+                        specs = null;
+                    } else if (token != JsonToken.START_OBJECT) {
+                        return (DeviceDto) ctxt.handleUnexpectedToken(DeviceDto.class, p);
+                    } else {
+                        specs = readSpecs(p, ctxt);
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+        return new DeviceDto(deviceId, type, specVersion, specs);
+    }
+
+    private static DecodedSpecs readSpecs(JsonParser p, DeserializationContext ctxt) throws IOException {
+        DeviceSpec.Fields fields = new DeviceSpec.Fields();
+        DecodedSpecs specs = new DecodedSpecs(fields);
+
+        for (String key = p.nextFieldName(); key != null; key = p.nextFieldName()) {
+            JsonToken token = p.nextToken();
+            DeviceSpec.Fields.Kind kind = DeviceSpec.Fields.kind(key);
+
+            if (kind == DeviceSpec.Fields.Kind.NUMBER && token.isNumeric()) {
+                fields.acceptNumber(key, p.getDoubleValue());
+                continue;
+            }
+
+            Object value = readValue(p, ctxt, token);
+            if (kind == DeviceSpec.Fields.Kind.UNKNOWN) {
+                specs.putOverflow(key, value);
+            } else {
+                fields.accept(key, value);
+            }
+        }
+        return specs;
+    }
+
+    // 스칼라는 박싱 최소로, 배열/객체는 Jackson 기본(Map 디코딩과 같은 ArrayList / LinkedHashMap)
+    private static Object readValue(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> p.getText();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getNumberValue();
+            default -> ctxt.readValue(p, Object.class);
+        };
+    }
+
+    private static Long readLong(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) return p.getLongValue();
+        if (token == JsonToken.VALUE_NULL) return null;
+        return ctxt.readValue(p, Long.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload 1건의 기기 목록을 타입별로 미리 묶어둔 불변 인덱스
+ * - EvaluationService.evaluate에서 한 번만 만들고 세 평가기가 같이 씀
+ * - 타입별 리스트는 원래 payload 순서를 유지 (first()는 기존 findFirst와 동일)
+ */
+public final class DeviceIndex {
+
+    private static final DeviceIndex EMPTY = new DeviceIndex(List.of());
+
+    private final List<DeviceSpec> devices;
+    private final Map<DeviceType, List<DeviceSpec>> byType = new EnumMap<>(DeviceType.class);
+
+    private DeviceIndex(List<DeviceSpec> devices) {
+        this.devices = devices;
+
+        Map<DeviceType, List<DeviceSpec>> grouping = new EnumMap<>(DeviceType.class);
+        for (DeviceSpec d : devices) {
+            grouping.computeIfAbsent(d.getType(), t -> new ArrayList<>()).add(d);
+        }
+        grouping.forEach((type, list) -> byType.put(type, List.copyOf(list)));
+    }
+
+    public static DeviceIndex of(EvaluationPayload payload) {
+        if (payload == null || payload.devices() == null || payload.devices().isEmpty()) {
+            return EMPTY;
+        }
+
+        List<DeviceSpec> specs = new ArrayList<>(payload.devices().size());
+        for (EvaluationPayload.DeviceDto dto : payload.devices()) {
+            if (dto != null) specs.add(DeviceSpec.from(dto));
+        }
+        return new DeviceIndex(List.copyOf(specs));
+    }
+
+    // 이미 디코딩된 스펙(캐시 공유 인스턴스)으로 구성
+    public static DeviceIndex of(List<DeviceSpec> specs) {
+        return specs.isEmpty() ? EMPTY : new DeviceIndex(List.copyOf(specs));
+    }
+
+    public List<DeviceSpec> all() {
+        return devices;
+    }
+
+    public List<DeviceSpec> ofType(DeviceType type) {
+        return byType.getOrDefault(type, List.of());
+    }
+
+    // 해당 타입의 첫 번째 기기 (없으면 null)
+    public DeviceSpec first(DeviceType type) {
+        List<DeviceSpec> list = byType.get(type);
+        return list == null ? null : list.get(0);
+    }
+
+    public boolean has(DeviceType type) {
+        return byType.containsKey(type);
+    }
+
+    public int size() {
+        return devices.size();
+    }
+
+    public boolean isEmpty() {
+        return devices.isEmpty();
+    }
+}
@@ -0,0 +1,362 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.service.SpecValues.*;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기기 1대의 스펙을 평가에 쓰는 필드만 골라 한 번에 디코딩한 불변 객체
+ * - 숫자: 값이 없거나 해석 불가면 NaN (isKnown()으로 확인)
+ * - 불리언: Flag.UNKNOWN
+ * - 문자열: null
+ * - 값 종류가 정해진 문자열(OS, 연결 방식, 충전 방식 등): SpecValues enum (없으면 null, 모르는 값은 OTHER)
+ * 평가기들은 더 이상 Map<String,Object>를 직접 뒤지지 않음
+ */
+@Getter
+public final class DeviceSpec {
+
+    public enum Flag {
+        TRUE, FALSE, UNKNOWN;
+
+        public boolean isTrue() { return this == TRUE; }
+        public boolean isKnown() { return this != UNKNOWN; }
+    }
+
+    private final Long deviceId;
+    private final DeviceType type;
+    private final Long specVersion;
+
+    // --- 공통 ---
+    private final String os;                   // 원본 그대로 (연동성에서 목록과 정확히 비교)
+    private final OsFamily osFamily;
+    private final ConnectionType connectionType;
+    private final double weightKg;
+    private final double weightGram;
+
+    // --- 연동성 (CompatibilityEvaluator) ---
+    private final List<String> compatiblePhoneOs;
+    private final List<String> supportedLayouts;
+    private final List<String> gestureSupport;
+    private final boolean codecAac;            // 애플 계열 고음질
+    private final boolean codecHiRes;          // LDAC / aptX / SSC
+
+    // --- 편의성 (ConvenienceEvaluator) ---
+    private final int portCount;               // portConfiguration 길이 (없으면 0)
+    private final boolean usbCPort;            // portConfiguration에 "C" 포함
+    private final boolean pdProtocol;          // supportedProtocols에 "PD" 포함
+    private final String chargerType;
+    private final String powerSource;
+    private final ChargingMethod chargingMethod;     // 어떤 타입이든 문자열로 + trim (편의성 평가기 규칙)
+    private final String chargingPort;
+    private final String caseChargingType;
+    private final WirelessCharging wirelessCharging;
+    private final double batteryMah;
+    private final double batteryWh;
+    private final double minRequiredPowerW;    // 숫자 문자열도 인정 (편의성 평가기 규칙)
+    private final double maxSinglePortPowerW;
+
+    // --- 라이프스타일 (LifestyleEvaluator) ---
+    private final double minRequiredPowerWStrict;   // JSON 숫자일 때만, 숫자 문자열은 NaN (라이프스타일 평가기 규칙)
+    private final double maxSinglePortPowerWStrict;
+    private final ChargingMethod chargingMethodStrict; // 문자열일 때만 원본 그대로, 아니면 null (라이프스타일 평가기 규칙)
+    private final String keyboardSize;
+    private final MouseType mouseType;
+    private final String stylusType;
+    private final SwitchType switchType;
+    private final String gpu;
+    private final GpuClass gpuClass;           // gpu가 비어 있으면 null
+    private final double ramGb;
+    private final double storageGb;
+    private final Flag hasHdmi;
+    private final Flag hasUsbA;
+    private final Flag hasThunderbolt;
+    private final Flag hasClientClick;
+
+    private DeviceSpec(Long deviceId, DeviceType type, Long specVersion, Fields f) {
+        this.deviceId = deviceId;
+        this.type = type;
+        this.specVersion = specVersion;
+
+        this.os = f.os;
+        this.osFamily = SpecValues.osFamily(f.os);
+        this.connectionType = f.connectionType;
+        this.weightKg = f.weightKg;
+        this.weightGram = f.weightGram;
+
+        this.compatiblePhoneOs = f.compatiblePhoneOs;
+        this.supportedLayouts = f.supportedLayouts;
+        this.gestureSupport = f.gestureSupport;
+        this.codecAac = f.codecAac;
+        this.codecHiRes = f.codecHiRes;
+
+        this.portCount = f.portCount;
+        this.usbCPort = f.usbCPort;
+        this.pdProtocol = f.pdProtocol;
+        this.chargerType = f.chargerType;
+        this.powerSource = f.powerSource;
+        this.chargingMethod = f.chargingMethod;
+        this.chargingPort = f.chargingPort;
+        this.caseChargingType = f.caseChargingType;
+        this.wirelessCharging = f.wirelessCharging;
+        this.batteryMah = f.batteryMah;
+        this.batteryWh = f.batteryWh;
+        this.minRequiredPowerW = f.minRequiredPowerW;
+        this.maxSinglePortPowerW = f.maxSinglePortPowerW;
+        this.minRequiredPowerWStrict = f.minRequiredPowerWStrict;
+        this.maxSinglePortPowerWStrict = f.maxSinglePortPowerWStrict;
+        this.chargingMethodStrict = f.chargingMethodStrict;
+
+        this.keyboardSize = f.keyboardSize;
+        this.mouseType = f.mouseType;
+        this.stylusType = f.stylusType;
+        this.switchType = f.switchType;
+        this.gpu = f.gpu;
+        this.gpuClass = SpecValues.gpuClass(f.gpu);
+        this.ramGb = f.ramGb;
+        this.storageGb = f.storageGb;
+        this.hasHdmi = f.hasHdmi;
+        this.hasUsbA = f.hasUsbA;
+        this.hasThunderbolt = f.hasThunderbolt;
+        this.hasClientClick = f.hasClientClick;
+    }
+
+    public static DeviceSpec from(EvaluationPayload.DeviceDto dto) {
+        Fields fields;
+        if (dto.specs() instanceof DecodedSpecs decoded) {
+            // 스트리밍 코덱이 JSON을 읽으면서 이미 디코딩해 둔 경우
+            if (decoded.resolved() != null) return decoded.resolved();
+            fields = decoded.fields();
+        } else {
+            fields = new Fields();
+            if (dto.specs() != null) {
+                dto.specs().forEach((key, value) -> {
+                    if (key != null) fields.accept(key, value);
+                });
+            }
+        }
+        return new DeviceSpec(dto.deviceId(), DeviceType.from(dto.type()), dto.specVersion(), fields);
+    }
+
+    public static boolean isKnown(double value) {
+        return !Double.isNaN(value);
+    }
+
+    /**
+     * 스펙 키 → 필드 디코딩 (Map 경로와 스트리밍 코덱이 같은 규칙을 씀)
+     * - 키가 없으면 기본값 그대로: 숫자 NaN, 문자열 null, 목록 빈 리스트, Flag.UNKNOWN
+     */
+    static final class Fields {
+
+        enum Kind { NUMBER, OTHER, UNKNOWN }
+
+        String os;
+        ConnectionType connectionType;
+        double weightKg = Double.NaN;
+        double weightGram = Double.NaN;
+
+        List<String> compatiblePhoneOs = List.of();
+        List<String> supportedLayouts = List.of();
+        List<String> gestureSupport = List.of();
+        boolean codecAac;
+        boolean codecHiRes;
+
+        int portCount;
+        boolean usbCPort;
+        boolean pdProtocol;
+        String chargerType;
+        String powerSource;
+        ChargingMethod chargingMethod;
+        String chargingPort;
+        String caseChargingType;
+        WirelessCharging wirelessCharging;
+        double batteryMah = Double.NaN;
+        double batteryWh = Double.NaN;
+        double minRequiredPowerW = Double.NaN;
+        double maxSinglePortPowerW = Double.NaN;
+        double minRequiredPowerWStrict = Double.NaN;
+        double maxSinglePortPowerWStrict = Double.NaN;
+        ChargingMethod chargingMethodStrict;
+
+        String keyboardSize;
+        MouseType mouseType;
+        String stylusType;
+        SwitchType switchType;
+        String gpu;
+        double ramGb = Double.NaN;
+        double storageGb = Double.NaN;
+        Flag hasHdmi = Flag.UNKNOWN;
+        Flag hasUsbA = Flag.UNKNOWN;
+        Flag hasThunderbolt = Flag.UNKNOWN;
+        Flag hasClientClick = Flag.UNKNOWN;
+
+        // 코덱이 숫자 토큰을 박싱 없이 넘길 수 있는 키인지
+        static Kind kind(String key) {
+            return switch (key) {
+                case "weightKg", "weightGram", "batteryMah", "batteryWh", "minRequiredPowerW",
+                     "maxSinglePortPowerW", "ramGb", "storageGb" -> Kind.NUMBER;
+                case "os", "connectionType", "compatiblePhoneOs", "supportedLayouts", "gestureSupport",
+                     "supportedCodecs", "portConfiguration", "supportedProtocols", "chargerType", "powerSource",
+                     "chargingMethod", "chargingPort", "caseChargingType", "wirelessCharging", "keyboardSize",
+                     "mouseType", "stylusType", "switchType", "gpu", "hasHdmi", "hasUsbA", "hasThunderbolt",
+                     "hasClientClick" -> Kind.OTHER;
+                default -> Kind.UNKNOWN;
+            };
+        }
+
+        // 숫자 키 + JSON 숫자 (strict / lenient 모두 Number면 doubleValue 그대로)
+        void acceptNumber(String key, double value) {
+            switch (key) {
+                case "weightKg" -> weightKg = value;
+                case "weightGram" -> weightGram = value;
+                case "batteryMah" -> batteryMah = value;
+                case "batteryWh" -> batteryWh = value;
+                case "minRequiredPowerW" -> minRequiredPowerW = minRequiredPowerWStrict = value;
+                case "maxSinglePortPowerW" -> maxSinglePortPowerW = maxSinglePortPowerWStrict = value;
+                case "ramGb" -> ramGb = value;
+                case "storageGb" -> storageGb = value;
+                default -> { }
+            }
+        }
+
+        // 알 수 없는 키면 false
+        boolean accept(String key, Object v) {
+            switch (key) {
+                case "os" -> os = string(v);
+                case "connectionType" -> connectionType = SpecValues.connectionType(string(v));
+                case "weightKg" -> weightKg = strictNumber(v);
+                case "weightGram" -> weightGram = strictNumber(v);
+
+                case "compatiblePhoneOs" -> compatiblePhoneOs = strings(v);
+                case "supportedLayouts" -> supportedLayouts = strings(v);
+                case "gestureSupport" -> gestureSupport = strings(v);
+                case "supportedCodecs" -> {
+                    List<String> codecs = strings(v);
+                    codecAac = codecs.contains("AAC");
+                    codecHiRes = codecs.contains("LDAC") || codecs.contains("aptX") || codecs.contains("SSC");
+                }
+
+                case "portConfiguration" -> {
+                    List<?> ports = list(v);
+                    portCount = ports != null ? ports.size() : 0;
+                    usbCPort = containsIgnoreCase(ports, "C");
+                }
+                case "supportedProtocols" -> pdProtocol = containsIgnoreCase(list(v), "PD");
+                case "chargerType" -> chargerType = text(v);
+                case "powerSource" -> powerSource = text(v);
+                // 충전 W와 같은 사정: 편의성은 trim한 문자열, 라이프스타일은 문자열 원본만
+                case "chargingMethod" -> {
+                    chargingMethod = SpecValues.chargingMethod(text(v));
+                    chargingMethodStrict = SpecValues.chargingMethod(string(v));
+                }
+                case "chargingPort" -> chargingPort = text(v);
+                case "caseChargingType" -> caseChargingType = text(v);
+                case "wirelessCharging" -> wirelessCharging = SpecValues.wirelessCharging(text(v));
+                case "batteryMah" -> batteryMah = lenientNumber(v);
+                case "batteryWh" -> batteryWh = lenientNumber(v);
+                // 편의성은 숫자 문자열도, 라이프스타일은 숫자만 인정하던 규칙을 그대로 (둘 다 따로 보관)
+                case "minRequiredPowerW" -> {
+                    minRequiredPowerW = lenientNumber(v);
+                    minRequiredPowerWStrict = strictNumber(v);
+                }
+                case "maxSinglePortPowerW" -> {
+                    maxSinglePortPowerW = lenientNumber(v);
+                    maxSinglePortPowerWStrict = strictNumber(v);
+                }
+
+                case "keyboardSize" -> keyboardSize = string(v);
+                case "mouseType" -> mouseType = SpecValues.mouseType(string(v));
+                case "stylusType" -> stylusType = string(v);
+                case "switchType" -> switchType = SpecValues.switchType(string(v));
+                case "gpu" -> gpu = string(v);
+                case "ramGb" -> ramGb = strictNumber(v);
+                case "storageGb" -> storageGb = strictNumber(v);
+                case "hasHdmi" -> hasHdmi = flag(v);
+                case "hasUsbA" -> hasUsbA = flag(v);
+                case "hasThunderbolt" -> hasThunderbolt = flag(v);
+                case "hasClientClick" -> hasClientClick = flag(v);
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // =========================================================
+    // Map<String,Object> 값 디코더 (기존 평가기별 파싱 규칙 그대로)
+    // =========================================================
+
+    // 문자열 타입일 때만 원본 그대로
+    private static String string(Object v) {
+        return v instanceof String s ? s : null;
+    }
+
+    // 어떤 타입이든 문자열로 바꾼 뒤 trim, 비어 있으면 null
+    private static String text(Object v) {
+        if (v == null) return null;
+        String s = String.valueOf(v).trim();
+        return s.isEmpty() ? null : s;
+    }
+
+    // Number만 인정
+    private static double strictNumber(Object v) {
+        return v instanceof Number n ? n.doubleValue() : Double.NaN;
+    }
+
+    // Number + 숫자 문자열 (Jackson이 문자열로 넘기는 경우 방어)
+    private static double lenientNumber(Object v) {
+        if (v instanceof Number n) return n.doubleValue();
+        if (v instanceof String s) {
+            String t = s.trim();
+            if (t.isEmpty()) return Double.NaN;
+            try {
+                if (t.contains(".")) return Double.parseDouble(t);
+                return Long.parseLong(t);
+            } catch (NumberFormatException ignored) {
+                return Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static Flag flag(Object v) {
+        if (v instanceof Boolean b) return b ? Flag.TRUE : Flag.FALSE;
+        return Flag.UNKNOWN;
+    }
+
+    private static List<?> list(Object v) {
+        if (v == null) return null;
+        if (v instanceof List<?> l) return l;
+
+        // 배열로 들어온 경우도 방어
+        if (v.getClass().isArray()) {
+            int len = java.lang.reflect.Array.getLength(v);
+            List<Object> out = new ArrayList<>(len);
+            for (int i = 0; i < len; i++) out.add(java.lang.reflect.Array.get(v, i));
+            return out;
+        }
+        return null;
+    }
+
+    // 문자열 원소만 남긴 불변 리스트 (없으면 빈 리스트)
+    private static List<String> strings(Object v) {
+        if (!(v instanceof List<?> l) || l.isEmpty()) return List.of();
+        List<String> out = new ArrayList<>(l.size());
+        for (Object o : l) {
+            if (o instanceof String s) out.add(s);
+        }
+        return List.copyOf(out);
+    }
+
+    private static boolean containsIgnoreCase(List<?> values, String target) {
+        if (values == null) return false;
+        for (Object o : values) {
+            if (o != null && target.equalsIgnoreCase(String.valueOf(o))) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,199 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * deviceId → 디코딩된 DeviceSpec 로컬 캐시
+ * - 인기 기기(폰/노트북/충전기)는 수천 개 조합에 반복 등장하므로 디코딩 결과를 공유(flyweight)
+ * - Caffeine(W-TinyLFU)로 개수 제한, specVersion이 더 최신이면 교체
+ * - 캐시에 같은 버전이 있으면 Payload는 deviceId + specVersion만 실어도 됨
+ */
+@Component
+public class DeviceSpecCache {
+
+    /** payload에도 캐시에도 스펙이 없는 기기 (백엔드가 생략했는데 보충되지 않음) */
+    public static class MissingSpecException extends IllegalStateException {
+        MissingSpecException(Long deviceId, Long specVersion) {
+            super("기기 스펙이 없습니다. deviceId=" + deviceId + ", specVersion=" + specVersion);
+        }
+    }
+
+    private final Cache<Long, DeviceSpec> cache;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter staleCounter;
+
+    public DeviceSpecCache(@Value("${custom.cache.device-spec.max-size:10000}") long maxSize,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+
+        this.hitCounter = requests(meterRegistry, "hit");
+        this.missCounter = requests(meterRegistry, "miss");
+        this.staleCounter = requests(meterRegistry, "stale");
+
+        Gauge.builder("worker.spec.cache.size", cache, Cache::estimatedSize)
+                .description("캐시에 올라간 기기 스펙 수")
+                .register(meterRegistry);
+        Gauge.builder("worker.spec.cache.hit.ratio", this, DeviceSpecCache::hitRatio)
+                .description("스펙 캐시 적중률 (기동 이후 누적)")
+                .register(meterRegistry);
+
+        // 디코딩 때 enum으로 못 바꾼 값 (백엔드가 새 값을 보내기 시작하면 증가, 값 자체는 SpecValues 로그에)
+        for (SpecValues.Interner<?> interner : SpecValues.ALL) {
+            FunctionCounter.builder("worker.spec.values.unknown", interner, SpecValues.Interner::unknownCount)
+                    .description("목록에 없어 OTHER로 디코딩된 스펙 값 수")
+                    .tag("field", interner.field())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Payload의 기기들을 캐시 인스턴스로 바꿔 DeviceIndex 생성
+     * - 캐시에 없는 기기는 payload에 실린 specs를 디코딩해서 캐시에 넣음
+     * - specs도 없으면 MissingSpecException (호출 전에 PayloadLoader가 pin으로 붙여 둬야 함)
+     */
+    public DeviceIndex index(EvaluationPayload payload) {
+        if (payload == null || payload.devices() == null || payload.devices().isEmpty()) {
+            return DeviceIndex.of(List.of());
+        }
+
+        List<DeviceSpec> specs = new ArrayList<>(payload.devices().size());
+        for (EvaluationPayload.DeviceDto dto : payload.devices()) {
+            if (dto == null) continue;
+
+            DeviceSpec spec = resolve(dto);
+            if (spec == null) {
+                throw new MissingSpecException(dto.deviceId(), dto.specVersion());
+            }
+            specs.add(spec);
+        }
+        return DeviceIndex.of(specs);
+    }
+
+    /**
+     * 캐시에도 없고 payload에도 specs가 없는 기기 ID 목록 (백엔드에서 일괄 조회 대상)
+     */
+    public List<Long> missingDeviceIds(EvaluationPayload payload) {
+        if (payload == null || payload.devices() == null) return List.of();
+
+        List<Long> missing = new ArrayList<>();
+        for (EvaluationPayload.DeviceDto dto : payload.devices()) {
+            if (dto == null || dto.specs() != null || dto.deviceId() == null) continue;
+            if (peek(dto.deviceId(), dto.specVersion()) == null && !missing.contains(dto.deviceId())) {
+                missing.add(dto.deviceId());
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * specs가 빠진 기기에 스펙을 붙인 Payload 사본 (백엔드 보충 직후 PayloadLoader가 호출, 붙일 게 없으면 그대로 반환)
+     * - 백엔드에서 받아 온 기기는 받은 specs를 디코딩해서 캐시에 등록 (더 오래된 버전으로 덮어쓰지 않음), 캐시에 있던 기기는 지금 캐시 인스턴스
+     * - 타입 / 스펙 버전은 payload에 실린 값 (스펙 조회 응답에 빠져 있어도 기기가 UNKNOWN이 되지 않게), 받아 온 것은 specs만
+     * - index()까지 가는 사이 캐시에서 밀려나거나(크기 제한 / 입장 거절) 다른 버전으로 바뀌어도 붙여 둔 스펙으로 평가
+     */
+    public EvaluationPayload pin(EvaluationPayload payload, Map<Long, EvaluationPayload.DeviceDto> fetched) {
+        if (payload == null || payload.devices() == null) return payload;
+
+        List<EvaluationPayload.DeviceDto> devices = null;
+        for (int i = 0; i < payload.devices().size(); i++) {
+            EvaluationPayload.DeviceDto dto = payload.devices().get(i);
+            if (dto == null || dto.specs() != null || dto.deviceId() == null) continue;
+
+            DeviceSpec spec;
+            EvaluationPayload.DeviceDto source = fetched.get(dto.deviceId());
+            if (source != null && source.specs() != null) {
+                spec = put(DeviceSpec.from(new EvaluationPayload.DeviceDto(dto.deviceId(),
+                        dto.type() != null ? dto.type() : source.type(),
+                        dto.specVersion() != null ? dto.specVersion() : source.specVersion(),
+                        source.specs())));
+            } else {
+                spec = peek(dto.deviceId(), dto.specVersion());
+                if (spec == null) continue; // 백엔드도 안 준 기기 → index()에서 MissingSpecException
+            }
+
+            if (devices == null) devices = new ArrayList<>(payload.devices());
+            devices.set(i, new EvaluationPayload.DeviceDto(dto.deviceId(), dto.type(), dto.specVersion(),
+                    DecodedSpecs.resolved(spec)));
+        }
+
+        return devices == null ? payload : new EvaluationPayload(payload.combinationId(), payload.evaluationVersion(),
+                payload.jobId(), devices, payload.lifestyles());
+    }
+
+    private DeviceSpec resolve(EvaluationPayload.DeviceDto dto) {
+        // pin으로 붙여 둔 캐시 인스턴스 (붙일 때 이미 적중)
+        if (dto.specs() instanceof DecodedSpecs decoded && decoded.resolved() != null) {
+            hitCounter.increment();
+            return decoded.resolved();
+        }
+
+        // ID/버전이 없으면 캐시 기준이 없으므로 매번 디코딩 (구버전 백엔드 호환)
+        if (dto.deviceId() == null || dto.specVersion() == null) {
+            return dto.specs() != null ? DeviceSpec.from(dto) : null;
+        }
+
+        DeviceSpec cached = lookup(dto.deviceId(), dto.specVersion());
+        if (cached != null) {
+            return cached;
+        }
+        return dto.specs() != null ? put(DeviceSpec.from(dto)) : null;
+    }
+
+    private DeviceSpec lookup(Long deviceId, Long specVersion) {
+        DeviceSpec cached = cache.getIfPresent(deviceId);
+        if (cached == null) {
+            missCounter.increment();
+            return null;
+        }
+        if (!specVersion.equals(cached.getSpecVersion())) {
+            staleCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return cached;
+    }
+
+    // 통계에 잡지 않는 조회 (누락 ID 계산용)
+    private DeviceSpec peek(Long deviceId, Long specVersion) {
+        DeviceSpec cached = cache.getIfPresent(deviceId);
+        return cached != null && specVersion != null && specVersion.equals(cached.getSpecVersion()) ? cached : null;
+    }
+
+    // 버전이 같거나 더 최신일 때만 교체, 호출 측에는 방금 디코딩한 스펙을 그대로 돌려줌
+    private DeviceSpec put(DeviceSpec spec) {
+        if (spec.getSpecVersion() != null) {
+            cache.asMap().merge(spec.getDeviceId(), spec,
+                    (old, fresh) -> old.getSpecVersion() != null && old.getSpecVersion() > fresh.getSpecVersion() ? old : fresh);
+        }
+        return spec;
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count() + staleCounter.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("worker.spec.cache.requests")
+                .description("스펙 캐시 조회 결과")
+                .tag("result", result)
+                .register(registry);
+    }
+}
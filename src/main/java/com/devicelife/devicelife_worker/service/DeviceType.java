@@ -0,0 +1,30 @@
+package com.devicelife.devicelife_worker.service;
+
+import java.util.Locale;
+
+/**
+ * 백엔드가 내려주는 기기 타입 문자열의 enum 버전
+ * - 모르는 값은 UNKNOWN (평가에서 무시됨)
+ */
+public enum DeviceType {
+    SMARTPHONE,
+    SMARTWATCH,
+    LAPTOP,
+    TABLET,
+    KEYBOARD,
+    MOUSE,
+    AUDIO,
+    CHARGER,
+    UNKNOWN;
+
+    private static final DeviceType[] VALUES = values();
+
+    public static DeviceType from(String raw) {
+        if (raw == null) return UNKNOWN;
+        String key = raw.trim().toUpperCase(Locale.ROOT);
+        for (DeviceType type : VALUES) {
+            if (type.name().equals(key)) return type;
+        }
+        return UNKNOWN;
+    }
+}
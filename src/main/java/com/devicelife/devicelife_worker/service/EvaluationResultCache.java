@@ -0,0 +1,90 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.service.LifestyleRules.Tag;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * 조합 내용 fingerprint → 평가 점수/등급 캐시
+ * - combinationId는 달라도 기기 구성 + 스펙 버전 + 라이프스타일 + evaluationVersion + 규칙 revision이 같으면 결과도 같음
+ * - 같은 fingerprint가 동시에 들어오면 한 번만 계산 (Caffeine get)
+ */
+@Component
+public class EvaluationResultCache {
+
+    /** 캐시에 보관하는 평가 결과 (combinationId/버전과 무관한 부분만) */
+    public record ScoreCard(
+            int compatibilityScore,
+            int convenienceScore,
+            int lifestyleScore,
+            String compatibilityGrade,
+            String convenienceGrade,
+            String lifestyleGrade
+    ) {}
+
+    private final boolean enabled;
+    private final Cache<String, ScoreCard> cache;
+
+    public EvaluationResultCache(@Value("${custom.cache.evaluation-result.enabled:true}") boolean enabled,
+                                 @Value("${custom.cache.evaluation-result.max-size:50000}") long maxSize,
+                                 @Value("${custom.cache.evaluation-result.ttl:30m}") Duration ttl,
+                                 MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size ...
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "evaluationResult");
+    }
+
+    ScoreCard get(DeviceIndex devices, List<Tag> tags, String rulesRevision, Long evaluationVersion, Supplier<ScoreCard> evaluator) {
+        String fingerprint = enabled ? fingerprint(devices, tags, rulesRevision, evaluationVersion) : null;
+        if (fingerprint == null) {
+            return evaluator.get();
+        }
+        return cache.get(fingerprint, key -> evaluator.get());
+    }
+
+    /**
+     * 조합 내용의 정규화 키 (캐시 불가면 null)
+     * - 기기: 타입 순서로 묶고 "deviceId@specVersion" 나열
+     *   타입 안에서는 payload 순서 유지 (편의성/라이프스타일이 타입별 첫 번째 기기를 쓰므로 순서가 점수에 영향)
+     * - 라이프스타일: 별칭까지 푼 표준 태그를 정렬 (태그별 점수의 평균이라 순서 무관)
+     * - 라이프스타일 규칙 revision (핫 리로드로 규칙이 바뀌면 예전 점수를 다시 쓰지 않음)
+     * - 스펙 버전이 없는 기기가 있으면 내용 동일성을 보장할 수 없으므로 캐시하지 않음
+     */
+    static String fingerprint(DeviceIndex devices, List<Tag> tags, String rulesRevision, Long evaluationVersion) {
+        StringBuilder sb = new StringBuilder(64).append('v').append(evaluationVersion);
+
+        for (DeviceType type : DeviceType.values()) {
+            List<DeviceSpec> list = devices.ofType(type);
+            if (list.isEmpty()) continue;
+
+            sb.append('|').append(type.ordinal()).append(':');
+            for (DeviceSpec d : list) {
+                if (d.getDeviceId() == null || d.getSpecVersion() == null) return null;
+                sb.append(d.getDeviceId()).append('@').append(d.getSpecVersion()).append(',');
+            }
+        }
+
+        sb.append("|r:").append(rulesRevision).append("|t:");
+        if (!tags.isEmpty()) {
+            TreeSet<String> names = new TreeSet<>();
+            for (Tag tag : tags) names.add(tag.name());
+            for (String name : names) sb.append(name).append(',');
+        }
+        return sb.toString();
+    }
+}
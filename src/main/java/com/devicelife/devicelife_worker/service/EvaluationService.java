@@ -2,50 +2,160 @@ package com.devicelife.devicelife_worker.service;
 
 import com.devicelife.devicelife_worker.dto.EvaluationPayload;
 import com.devicelife.devicelife_worker.dto.EvaluationResult;
-import lombok.RequiredArgsConstructor;
+import com.devicelife.devicelife_worker.dto.JobMessage;
+import com.devicelife.devicelife_worker.service.EvaluationResultCache.ScoreCard;
+import com.devicelife.devicelife_worker.service.LifestyleRules.Tag;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
 @Service
-@RequiredArgsConstructor
 public class EvaluationService {
 
     private final CompatibilityEvaluator compatibilityEvaluator;
     private final ConvenienceEvaluator convenienceEvaluator;
     private final LifestyleEvaluator lifestyleEvaluator;
+    private final DeviceSpecCache deviceSpecCache;
+    private final EvaluationResultCache evaluationResultCache;
+    private final ParallelEvaluation parallelEvaluation;
+    private final IncrementalEvaluation incrementalEvaluation;
+
+    // 평가기별 calculate 소요 시간 (결과 캐시 적중 시에는 기록 안 됨)
+    private final Timer compatibilityTimer;
+    private final Timer convenienceTimer;
+    private final Timer lifestyleTimer;
+    private final Timer incrementalTimer; // 증분 모드에서 연동성 + 편의성을 합친 시간
+
+    public EvaluationService(CompatibilityEvaluator compatibilityEvaluator,
+                             ConvenienceEvaluator convenienceEvaluator,
+                             LifestyleEvaluator lifestyleEvaluator,
+                             DeviceSpecCache deviceSpecCache,
+                             EvaluationResultCache evaluationResultCache,
+                             ParallelEvaluation parallelEvaluation,
+                             IncrementalEvaluation incrementalEvaluation,
+                             MeterRegistry meterRegistry) {
+        this.compatibilityEvaluator = compatibilityEvaluator;
+        this.convenienceEvaluator = convenienceEvaluator;
+        this.lifestyleEvaluator = lifestyleEvaluator;
+        this.deviceSpecCache = deviceSpecCache;
+        this.evaluationResultCache = evaluationResultCache;
+        this.parallelEvaluation = parallelEvaluation;
+        this.incrementalEvaluation = incrementalEvaluation;
+
+        this.compatibilityTimer = evaluatorTimer(meterRegistry, "compatibility");
+        this.convenienceTimer = evaluatorTimer(meterRegistry, "convenience");
+        this.lifestyleTimer = evaluatorTimer(meterRegistry, "lifestyle");
+        this.incrementalTimer = evaluatorTimer(meterRegistry, "incremental");
+    }
 
     public EvaluationResult evaluate(EvaluationPayload payload) {
-        // --- 1. 연동성 평가 (payload 내부의 devices 리스트를 사용하도록 Evaluator 수정 필요) ---
-        int compScore = compatibilityEvaluator.calculate(payload);
-        String compGrade = getGrade(compScore);
+        return evaluate(payload, null);
+    }
 
-        // --- 2. 편의성 평가 (0점 처리) ---
-        int convScore = convenienceEvaluator.calculate(payload);
-        String convGrade = getGrade(convScore);
+    /**
+     * job이 델타 메시지(추가/삭제 deviceId)이고 증분 모드가 켜져 있으면 직전 중간 상태에서 바뀐 부분만 다시 계산
+     * - 점수는 전체 계산과 항상 같음 (IncrementalEvaluation이 델타를 새 Payload와 대조)
+     */
+    public EvaluationResult evaluate(EvaluationPayload payload, JobMessage job) {
+        // --- 0. 기기 인덱스 (캐시된 스펙 공유 + 타입별 분류를 payload당 한 번만) ---
+        DeviceIndex devices = deviceSpecCache.index(payload);
 
-        // --- 3. 라이프스타일 평가 (0점 처리) ---
-        int lifeScore = lifestyleEvaluator.calculate(payload);
-        String lifeGrade = getGrade(lifeScore);
+        // 라벨 → 표준 태그 (이 메시지는 끝까지 지금 잡은 규칙으로 계산)
+        LifestyleRules rules = lifestyleEvaluator.rules();
+        List<Tag> tags = rules.tags(payload.lifestyles());
 
-        int totalScore = compScore + convScore + lifeScore;
+        // 내용이 같은 조합은 이전 계산 결과를 그대로 사용 (combinationId만 다른 경우)
+        ScoreCard card = evaluationResultCache.get(devices, tags, rules.revision(), payload.evaluationVersion(),
+                () -> incrementalEvaluation.isEnabled()
+                        ? scoreIncrementally(payload.combinationId(), devices, job, tags)
+                        : score(devices, tags));
+
+        int totalScore = card.compatibilityScore() + card.convenienceScore() + card.lifestyleScore();
 
         // 최종 성적표 발송 (ID와 버전을 payload에서 정확히 추출)
         return new EvaluationResult(
                 payload.combinationId(),
                 payload.evaluationVersion(),
                 totalScore,
-                compScore,
-                convScore,
-                lifeScore,
-                compGrade,
-                convGrade,
-                lifeGrade
+                card.compatibilityScore(),
+                card.convenienceScore(),
+                card.lifestyleScore(),
+                card.compatibilityGrade(),
+                card.convenienceGrade(),
+                card.lifestyleGrade()
         );
     }
 
+    private ScoreCard score(DeviceIndex devices, List<Tag> tags) {
+        // 큰 조합은 세 평가기(+ 라이프스타일 태그별)를 fork-join으로 동시에
+        if (parallelEvaluation.applies(devices)) {
+            int[] scores = parallelEvaluation.invokeAll(List.of(
+                    () -> compatibilityTimer.record(() -> compatibilityEvaluator.calculate(devices)),
+                    () -> convenienceTimer.record(() -> convenienceEvaluator.calculate(devices)),
+                    () -> lifestyleTimer.record(() -> lifestyleByTag(devices, tags))));
+            return scoreCard(scores[0], scores[1], scores[2]);
+        }
+
+        // --- 1. 연동성 평가 ---
+        int compScore = compatibilityTimer.record(() -> compatibilityEvaluator.calculate(devices));
+
+        // --- 2. 편의성 평가 ---
+        int convScore = convenienceTimer.record(() -> convenienceEvaluator.calculate(devices));
+
+        // --- 3. 라이프스타일 평가 ---
+        int lifeScore = lifestyleTimer.record(() -> LifestyleEvaluator.score(devices, tags));
+
+        return scoreCard(compScore, convScore, lifeScore);
+    }
+
+    // 조합별 중간 상태를 남겨 두고, 델타 메시지면 바뀐 간선 묶음 / 편의성 지표만 다시 계산 (병렬 모드보다 우선)
+    private ScoreCard scoreIncrementally(Long combinationId, DeviceIndex devices, JobMessage job, List<Tag> tags) {
+        boolean delta = job != null && job.isDelta();
+        IncrementalEvaluation.Scores scores = incrementalTimer.record(() -> incrementalEvaluation.score(combinationId, devices,
+                delta ? job.addedDeviceIds() : null, delta ? job.removedDeviceIds() : null));
+
+        int lifeScore = lifestyleTimer.record(() -> LifestyleEvaluator.score(devices, tags));
+        return scoreCard(scores.compatibility(), scores.convenience(), lifeScore);
+    }
+
+    // 라이프스타일 태그별 점수를 서브태스크로 나눠 계산 (합계 → 평균은 순서와 무관해서 결과 동일)
+    private int lifestyleByTag(DeviceIndex devices, List<Tag> tags) {
+        if (tags.size() < 2) {
+            return LifestyleEvaluator.score(devices, tags);
+        }
+
+        List<IntSupplier> tasks = new ArrayList<>(tags.size());
+        for (Tag tag : tags) {
+            tasks.add(() -> tag.score(devices));
+        }
+
+        int sum = 0;
+        for (int score : parallelEvaluation.invokeAll(tasks)) {
+            sum += score;
+        }
+        return LifestyleEvaluator.average(sum, tags.size());
+    }
+
+    private ScoreCard scoreCard(int compScore, int convScore, int lifeScore) {
+        return new ScoreCard(compScore, convScore, lifeScore, getGrade(compScore), getGrade(convScore), getGrade(lifeScore));
+    }
+
     private String getGrade(int score) {
         if (score >= 90) return "최적";
         if (score >= 80) return "양호";
         if (score >= 60) return "보통";
         return "미흡";
     }
+
+    private static Timer evaluatorTimer(MeterRegistry registry, String evaluator) {
+        return Timer.builder("worker.evaluator.duration")
+                .description("평가기 calculate 소요 시간")
+                .tag("evaluator", evaluator)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
 }
\ No newline at end of file
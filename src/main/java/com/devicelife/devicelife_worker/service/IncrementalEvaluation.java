@@ -0,0 +1,172 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.service.CompatibilityEvaluator.EdgeGroup;
+import com.devicelife.devicelife_worker.service.ConvenienceEvaluator.Score;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 조합별 중간 상태 캐시 → 기기 몇 대만 바뀐 델타 메시지는 영향받는 부분만 다시 계산
+ * - 상태: 직전 기기 목록 + 연동성 간선 묶음(규칙별) + 편의성 세부 지표 5개
+ * - 델타(추가/삭제 deviceId)로 바뀐 타입을 정하고, 그 타입에 걸린 간선 묶음 / 지표만 새 Payload로 다시 계산
+ * - 직전 목록에 델타를 적용한 결과가 새 Payload와 다르면 (나머지 타입의 순서 / 스펙 버전 포함) 전체 재계산
+ *   → 델타가 틀리거나 중간 메시지를 놓쳐도 점수는 항상 전체 재계산과 같음
+ * - 상태는 불변 객체를 통째로 교체 (같은 조합의 메시지가 동시에 처리돼도 섞이지 않음)
+ * - 라이프스타일은 컴파일된 규칙이라 매번 전부 계산 (EvaluationService)
+ */
+@Component
+public class IncrementalEvaluation {
+
+    record Scores(int compatibility, int convenience) {}
+
+    private record State(DeviceIndex devices, EdgeGroup[] edges, Score[] convenience) {}
+
+    private final CompatibilityEvaluator compatibilityEvaluator;
+    private final ConvenienceEvaluator convenienceEvaluator;
+    private final boolean enabled;
+    private final Cache<Long, State> states;
+
+    private final Counter fullCounter;
+    private final Counter deltaCounter;
+    private final Counter fallbackCounter;
+
+    public IncrementalEvaluation(CompatibilityEvaluator compatibilityEvaluator,
+                                 ConvenienceEvaluator convenienceEvaluator,
+                                 @Value("${custom.evaluation.incremental.enabled:false}") boolean enabled,
+                                 @Value("${custom.evaluation.incremental.max-size:20000}") long maxSize,
+                                 @Value("${custom.evaluation.incremental.ttl:1h}") Duration ttl,
+                                 MeterRegistry meterRegistry) {
+        this.compatibilityEvaluator = compatibilityEvaluator;
+        this.convenienceEvaluator = convenienceEvaluator;
+        this.enabled = enabled;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .executor(Runnable::run) // 메시지마다 put이라 정리 작업을 공용 풀로 넘기는 unpark 비용이 계산보다 큼
+                .recordStats()
+                .build();
+
+        this.fullCounter = evaluations(meterRegistry, "full");
+        this.deltaCounter = evaluations(meterRegistry, "delta");
+        this.fallbackCounter = evaluations(meterRegistry, "fallback");
+
+        CaffeineCacheMetrics.monitor(meterRegistry, states, "incrementalState");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 연동성 / 편의성 점수
+     * - added / removed가 둘 다 null이면 일반 메시지 (전부 계산해서 상태만 저장)
+     */
+    Scores score(Long combinationId, DeviceIndex devices, List<Long> added, List<Long> removed) {
+        boolean delta = added != null || removed != null;
+        State previous = delta && combinationId != null ? states.getIfPresent(combinationId) : null;
+        Set<DeviceType> changed = previous != null
+                ? changedTypes(previous.devices(), devices, orEmpty(added), orEmpty(removed))
+                : null;
+
+        State state;
+        if (changed != null) {
+            state = new State(devices,
+                    compatibilityEvaluator.edgeGroups(devices, previous.edges(), changed),
+                    convenienceEvaluator.parts(devices, previous.convenience(), changed));
+            deltaCounter.increment();
+        } else {
+            state = new State(devices, compatibilityEvaluator.edgeGroups(devices), convenienceEvaluator.parts(devices));
+            (delta ? fallbackCounter : fullCounter).increment();
+        }
+
+        if (combinationId != null) {
+            states.put(combinationId, state);
+        }
+
+        return new Scores(CompatibilityEvaluator.score(devices, state.edges()),
+                convenienceEvaluator.combine(state.convenience()));
+    }
+
+    /**
+     * 델타로 바뀐 기기 타입 (직전 목록 + 델타가 새 목록과 맞지 않으면 null → 전체 재계산)
+     * - 델타에 안 걸린 타입: 기기 순서와 스펙 버전까지 그대로 (버전 없는 기기는 내용 동일성을 보장할 수 없어 null)
+     * - 걸린 타입: ID별 개수가 직전 + added - removed == 새 목록
+     */
+    static Set<DeviceType> changedTypes(DeviceIndex before, DeviceIndex after, List<Long> added, List<Long> removed) {
+        if (hasNull(added) || hasNull(removed)) return null;
+
+        // 델타에 나온 ID의 타입 (한 델타 안에서 추가됐다 빠진 기기는 어느 쪽에도 없어서 자연히 제외)
+        Set<DeviceType> changed = EnumSet.noneOf(DeviceType.class);
+        collectTypes(before, added, removed, changed);
+        collectTypes(after, added, removed, changed);
+
+        Map<Long, Integer> balance = new HashMap<>();
+        for (DeviceType type : DeviceType.values()) {
+            List<DeviceSpec> was = before.ofType(type);
+            List<DeviceSpec> now = after.ofType(type);
+
+            if (changed.contains(type)) {
+                for (DeviceSpec d : was) balance.merge(d.getDeviceId(), 1, Integer::sum);
+                for (DeviceSpec d : now) balance.merge(d.getDeviceId(), -1, Integer::sum);
+                continue;
+            }
+
+            if (was.size() != now.size()) return null;
+            for (int i = 0; i < was.size(); i++) {
+                if (!sameSpec(was.get(i), now.get(i))) return null;
+            }
+        }
+
+        for (Long id : added) balance.merge(id, 1, Integer::sum);
+        for (Long id : removed) balance.merge(id, -1, Integer::sum);
+        for (int count : balance.values()) {
+            if (count != 0) return null;
+        }
+        return changed;
+    }
+
+    private static void collectTypes(DeviceIndex devices, List<Long> added, List<Long> removed, Set<DeviceType> changed) {
+        for (DeviceSpec d : devices.all()) {
+            Long id = d.getDeviceId();
+            if (id != null && (added.contains(id) || removed.contains(id))) changed.add(d.getType());
+        }
+    }
+
+    // 스펙 캐시가 살아 있으면 같은 인스턴스, 아니면 ID + 버전으로 비교
+    private static boolean sameSpec(DeviceSpec a, DeviceSpec b) {
+        if (a.getSpecVersion() == null) return false;
+        return a == b || (Objects.equals(a.getDeviceId(), b.getDeviceId()) && a.getSpecVersion().equals(b.getSpecVersion()));
+    }
+
+    // List.of()는 contains(null)에서 NPE
+    private static boolean hasNull(List<Long> ids) {
+        for (Long id : ids) {
+            if (id == null) return true;
+        }
+        return false;
+    }
+
+    private static List<Long> orEmpty(List<Long> ids) {
+        return ids == null ? List.of() : ids;
+    }
+
+    private static Counter evaluations(MeterRegistry registry, String mode) {
+        return Counter.builder("worker.evaluation.incremental")
+                .description("증분 재평가 모드별 처리 수 (fallback = 직전 상태가 없거나 델타가 안 맞아 전체 재계산)")
+                .tag("mode", mode)
+                .register(registry);
+    }
+}
@@ -0,0 +1,101 @@
+package com.devicelife.devicelife_worker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 라이프스타일 규칙 로딩 + 핫 리로드
+ * - 기동 시 custom.lifestyle.rules 위치에서 읽어 컴파일 (잘못된 규칙이면 기동 실패)
+ * - 위치가 파일이면 reload-interval마다 수정 시각을 보고, 바뀌었으면 새로 컴파일해서 통째로 교체
+ * - 새 규칙이 컴파일에 실패하면 기존 규칙을 그대로 유지 (반쯤 저장된 파일도 안전)
+ */
+@Slf4j
+@Component
+public class LifestyleRuleReloader {
+
+    private final LifestyleEvaluator lifestyleEvaluator;
+    private final Resource resource;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter reloadSuccess;
+    private final Counter reloadFailure;
+
+    private long lastModified;
+
+    public LifestyleRuleReloader(LifestyleEvaluator lifestyleEvaluator,
+                                 ResourceLoader resourceLoader,
+                                 @Value("${custom.lifestyle.rules:classpath:lifestyle-rules.yaml}") String location,
+                                 @Value("${custom.lifestyle.reload-interval:10s}") Duration reloadInterval,
+                                 MeterRegistry meterRegistry) {
+        this.lifestyleEvaluator = lifestyleEvaluator;
+        this.resource = resourceLoader.getResource(location);
+
+        this.reloadSuccess = reloads(meterRegistry, "success");
+        this.reloadFailure = reloads(meterRegistry, "failure");
+
+        this.lastModified = lastModified();
+        LifestyleRules rules = LifestyleRules.load(resource);
+        lifestyleEvaluator.replace(rules);
+        log.info("📐 라이프스타일 규칙 로드: {} (태그 {}개, revision={})", location, rules.tagNames().size(), rules.revision());
+
+        // jar 안의 classpath 리소스는 바뀔 일이 없으므로 파일일 때만 감시
+        if (resource.isFile() && !reloadInterval.isZero()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("lifestyle-rules-"));
+            long period = reloadInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::reloadIfChanged, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    private void reloadIfChanged() {
+        long modified = lastModified();
+        if (modified == lastModified) return;
+        lastModified = modified;
+
+        try {
+            LifestyleRules rules = LifestyleRules.load(resource);
+            if (rules.revision().equals(lifestyleEvaluator.rules().revision())) return;
+
+            lifestyleEvaluator.replace(rules);
+            reloadSuccess.increment();
+            log.info("🔁 라이프스타일 규칙 교체 (태그 {}개, revision={})", rules.tagNames().size(), rules.revision());
+        } catch (RuntimeException e) {
+            reloadFailure.increment();
+            log.error("❌ 라이프스타일 규칙 리로드 실패, 기존 규칙 유지: {}", e.getMessage());
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) scheduler.shutdownNow();
+    }
+
+    private static Counter reloads(MeterRegistry registry, String result) {
+        return Counter.builder("worker.lifestyle.rules.reloads")
+                .description("라이프스타일 규칙 핫 리로드 결과")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,699 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.service.DeviceSpec.Flag;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.zip.CRC32;
+
+/**
+ * 라이프스타일 규칙 파일(lifestyle-rules.yaml, JSON도 가능)을 컴파일한 불변 규칙 묶음
+ * - 필드 경로("laptop.ramGb")는 컴파일 때 DeviceType + 접근자로 묶어 둠 → 평가 때는 조건 트리만 따라감
+ * - 태그 라벨 → 표준 태그는 별칭 사전 + 라벨별 메모 (메시지마다 replace/split 정규화를 다시 안 함)
+ * - 교체는 LifestyleEvaluator가 참조를 통째로 바꾸는 방식 (한 평가 안에서 옛/새 규칙이 섞이지 않음)
+ * - 문법은 규칙 파일 머리 주석 참고
+ */
+public final class LifestyleRules {
+
+    static final int BASE_SCORE = 65;
+
+    public static final String BUNDLED = "lifestyle-rules.yaml";
+
+    private static final int MAX_MEMO = 1024; // 라벨 메모 상한 (넘으면 매번 정규화, 라벨 종류는 보통 수십 개)
+
+    private static final Rule ZERO = devices -> 0;
+
+    /** 표준 태그 하나 (모르는 태그는 규칙 없이 기본 점수) */
+    static final class Tag {
+
+        private final String name;
+        private final Rule[] rules;
+
+        private Tag(String name, Rule[] rules) {
+            this.name = name;
+            this.rules = rules;
+        }
+
+        String name() {
+            return name;
+        }
+
+        // 기본 점수 + 가감, 0~100으로 자름
+        int score(DeviceIndex devices) {
+            int delta = 0;
+            for (Rule rule : rules) {
+                delta += rule.score(devices);
+            }
+            return clamp(BASE_SCORE + delta);
+        }
+    }
+
+    private final String revision;
+    private final Map<String, Tag> byName;
+    private final Map<String, String> aliases;
+    private final Map<String, Tag> memo = new ConcurrentHashMap<>();
+
+    private LifestyleRules(String revision, Map<String, Tag> byName, Map<String, String> aliases) {
+        this.revision = revision;
+        this.byName = byName;
+        this.aliases = aliases;
+    }
+
+    /* ===================== 로딩 ===================== */
+
+    // jar에 같이 들어가는 기본 규칙
+    public static LifestyleRules bundled() {
+        return load(new ClassPathResource(BUNDLED));
+    }
+
+    public static LifestyleRules load(Resource resource) {
+        byte[] bytes;
+        try (InputStream in = resource.getInputStream()) {
+            bytes = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("라이프스타일 규칙을 읽을 수 없습니다: " + resource.getDescription(), e);
+        }
+        return parse(bytes);
+    }
+
+    // YAML은 JSON의 상위 집합이라 같은 파서로 둘 다 읽음, 리비전은 내용 CRC (내용이 같으면 결과 캐시도 그대로 유효)
+    static LifestyleRules parse(byte[] bytes) {
+        Object document = new Yaml(new SafeConstructor(new LoaderOptions()))
+                .load(new String(bytes, StandardCharsets.UTF_8));
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return compile(map(document, "(root)"), Long.toHexString(crc.getValue()));
+    }
+
+    static LifestyleRules compile(Map<String, Object> document, String revision) {
+        Map<String, Tag> byName = new HashMap<>();
+        Map<String, Object> tags = map(document.get("tags"), "tags");
+        tags.forEach((name, rules) -> {
+            String tag = normalizeTag(name);
+            byName.put(tag, new Tag(tag, compileRules(rules, "tags." + name).toArray(Rule[]::new)));
+        });
+
+        Map<String, String> aliases = new HashMap<>();
+        Object aliasNode = document.get("aliases");
+        if (aliasNode != null) {
+            map(aliasNode, "aliases").forEach((alias, target) -> {
+                String canonical = normalizeTag(String.valueOf(target));
+                if (!byName.containsKey(canonical)) {
+                    throw invalid("aliases." + alias, "정의되지 않은 태그입니다: " + target);
+                }
+                aliases.put(normalizeTag(alias), canonical);
+            });
+        }
+        return new LifestyleRules(revision, Map.copyOf(byName), Map.copyOf(aliases));
+    }
+
+    public String revision() {
+        return revision;
+    }
+
+    public Set<String> tagNames() {
+        return byName.keySet();
+    }
+
+    /* ===================== 태그 ===================== */
+
+    // 라벨 목록 → 표준 태그 목록 (별칭까지 풀고 중복 제거, 순서 유지)
+    List<Tag> tags(List<String> lifestyles) {
+        if (lifestyles == null || lifestyles.isEmpty()) return List.of();
+
+        List<Tag> tags = new ArrayList<>(lifestyles.size());
+        for (String label : lifestyles) {
+            Tag tag = tag(label);
+            if (!containsName(tags, tag.name())) tags.add(tag);
+        }
+        return tags;
+    }
+
+    Tag tag(String label) {
+        Tag tag = memo.get(label);
+        if (tag != null) return tag;
+
+        String name = normalizeTag(label);
+        name = aliases.getOrDefault(name, name);
+        tag = byName.get(name);
+        if (tag == null) {
+            // 알 수 없는 태그 → 영향 없음 (기본 점수로 평균에만 들어감)
+            tag = new Tag(name, new Rule[0]);
+        }
+        if (memo.size() < MAX_MEMO) memo.putIfAbsent(label, tag);
+        return tag;
+    }
+
+    private static boolean containsName(List<Tag> tags, String name) {
+        for (Tag t : tags) {
+            if (t.name().equals(name)) return true;
+        }
+        return false;
+    }
+
+    static String normalizeTag(String tagLabel) {
+        // "# Office/portability" → "OFFICE"
+        String cleaned = tagLabel
+                .replace("#", "")
+                .trim();
+
+        if (cleaned.contains("/")) {
+            cleaned = cleaned.split("/")[0];
+        }
+
+        return cleaned
+                .toUpperCase()
+                .replace("-", "_")
+                .replace(" ", "_");
+    }
+
+    static int clamp(int score) {
+        return Math.max(0, Math.min(100, score));
+    }
+
+    /* ===================== 컴파일된 트리 ===================== */
+
+    @FunctionalInterface
+    interface Rule {
+        int score(DeviceIndex devices);
+    }
+
+    // 3값 조건: 기기가 없거나 값이 없으면 UNKNOWN
+    @FunctionalInterface
+    interface Condition {
+        Flag test(DeviceIndex devices);
+    }
+
+    // 필드 값 (기기가 없으면 null / NaN / UNKNOWN)
+    @FunctionalInterface
+    interface StringField {
+        String get(DeviceIndex devices);
+    }
+
+    // 값 종류가 정해진 필드 (SpecValues enum, 디코딩 때 이미 해석됨)
+    @FunctionalInterface
+    interface EnumField {
+        Enum<?> get(DeviceIndex devices);
+    }
+
+    @FunctionalInterface
+    interface NumberField {
+        double get(DeviceIndex devices);
+    }
+
+    @FunctionalInterface
+    interface FlagField {
+        Flag get(DeviceIndex devices);
+    }
+
+    // requires: 그룹마다 하나라도 있어야 함
+    private record Guarded(DeviceType[][] groups, Rule rule) implements Rule {
+        public int score(DeviceIndex devices) {
+            for (DeviceType[] group : groups) {
+                if (!anyPresent(devices, group)) return 0;
+            }
+            return rule.score(devices);
+        }
+    }
+
+    private record When(Condition condition, Rule then, Rule otherwise, Rule unknown) implements Rule {
+        public int score(DeviceIndex devices) {
+            return switch (condition.test(devices)) {
+                case TRUE -> then.score(devices);
+                case FALSE -> otherwise.score(devices);
+                case UNKNOWN -> unknown.score(devices);
+            };
+        }
+    }
+
+    private record Switch(StringField field, StringMatcher<Rule> cases, Rule otherwise, Rule unknown) implements Rule {
+        public int score(DeviceIndex devices) {
+            String value = field.get(devices);
+            if (value == null) return unknown.score(devices);
+            Rule matched = cases.find(value);
+            return (matched != null ? matched : otherwise).score(devices);
+        }
+    }
+
+    // enum 필드는 문자열 비교 없이 ordinal로 바로 찾음
+    private record EnumSwitch(EnumField field, Rule[] byOrdinal, Rule otherwise, Rule unknown) implements Rule {
+        public int score(DeviceIndex devices) {
+            Enum<?> value = field.get(devices);
+            if (value == null) return unknown.score(devices);
+            Rule matched = byOrdinal[value.ordinal()];
+            return (matched != null ? matched : otherwise).score(devices);
+        }
+    }
+
+    private record Constant(int delta) implements Rule {
+        public int score(DeviceIndex devices) {
+            return delta;
+        }
+    }
+
+    private record Sum(Rule[] rules) implements Rule {
+        public int score(DeviceIndex devices) {
+            int delta = 0;
+            for (Rule rule : rules) delta += rule.score(devices);
+            return delta;
+        }
+    }
+
+    private record In(StringField field, StringMatcher<Boolean> values) implements Condition {
+        public Flag test(DeviceIndex devices) {
+            String value = field.get(devices);
+            if (value == null) return Flag.UNKNOWN;
+            return values.find(value) != null ? Flag.TRUE : Flag.FALSE;
+        }
+    }
+
+    private record EnumIn(EnumField field, boolean[] byOrdinal) implements Condition {
+        public Flag test(DeviceIndex devices) {
+            Enum<?> value = field.get(devices);
+            if (value == null) return Flag.UNKNOWN;
+            return byOrdinal[value.ordinal()] ? Flag.TRUE : Flag.FALSE;
+        }
+    }
+
+    private record Is(FlagField field, boolean expected) implements Condition {
+        public Flag test(DeviceIndex devices) {
+            Flag value = field.get(devices);
+            if (!value.isKnown()) return Flag.UNKNOWN;
+            return value.isTrue() == expected ? Flag.TRUE : Flag.FALSE;
+        }
+    }
+
+    private record Compare(NumberField left, NumberField right, boolean atLeast, boolean truncate) implements Condition {
+        public Flag test(DeviceIndex devices) {
+            double a = left.get(devices);
+            double b = right.get(devices);
+            if (!DeviceSpec.isKnown(a) || !DeviceSpec.isKnown(b)) return Flag.UNKNOWN;
+
+            boolean result;
+            if (truncate) {
+                result = atLeast ? (int) a >= (int) b : (int) a <= (int) b;
+            } else {
+                result = atLeast ? a >= b : a <= b;
+            }
+            return result ? Flag.TRUE : Flag.FALSE;
+        }
+    }
+
+    // any: 하나라도 TRUE면 TRUE / all: 하나라도 FALSE면 FALSE, 둘 다 아니고 전부 UNKNOWN이면 UNKNOWN
+    private record AnyOf(Condition[] conditions, boolean any) implements Condition {
+        public Flag test(DeviceIndex devices) {
+            Flag decisive = any ? Flag.TRUE : Flag.FALSE;
+            boolean known = false;
+            for (Condition c : conditions) {
+                Flag f = c.test(devices);
+                if (f == decisive) return decisive;
+                known |= f.isKnown();
+            }
+            if (!known) return Flag.UNKNOWN;
+            return any ? Flag.FALSE : Flag.TRUE;
+        }
+    }
+
+    /**
+     * 대소문자 무시 문자열 매칭
+     * - 백엔드 값은 대부분 규칙과 철자가 똑같으므로 먼저 HashMap 정확 일치, 빗나가면 equalsIgnoreCase로 한 바퀴
+     */
+    private static final class StringMatcher<V> {
+
+        private final Map<String, V> exact;
+        private final String[] keys;
+        private final List<V> values;
+
+        StringMatcher(LinkedHashMap<String, V> entries, String path) {
+            this.exact = Map.copyOf(entries);
+            this.keys = entries.keySet().toArray(String[]::new);
+            this.values = List.copyOf(entries.values());
+
+            for (int i = 0; i < keys.length; i++) {
+                for (int j = i + 1; j < keys.length; j++) {
+                    if (keys[i].equalsIgnoreCase(keys[j])) {
+                        throw invalid(path, "대소문자만 다른 값이 중복됩니다: " + keys[i] + ", " + keys[j]);
+                    }
+                }
+            }
+        }
+
+        V find(String value) {
+            V hit = exact.get(value);
+            if (hit != null) return hit;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equalsIgnoreCase(value)) return values.get(i);
+            }
+            return null;
+        }
+    }
+
+    /* ===================== 컴파일러 ===================== */
+
+    private static final Set<String> RULE_KEYS = Set.of("requires", "when", "then", "else", "switch", "cases", "otherwise", "unknown");
+
+    private static List<Rule> compileRules(Object node, String path) {
+        if (node == null) return List.of();
+        if (!(node instanceof List<?> list)) throw invalid(path, "규칙 목록이어야 합니다");
+
+        List<Rule> rules = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            rules.add(compileRule(map(list.get(i), path + "[" + i + "]"), path + "[" + i + "]"));
+        }
+        return rules;
+    }
+
+    private static Rule compileRule(Map<String, Object> node, String path) {
+        for (String key : node.keySet()) {
+            if (!RULE_KEYS.contains(key)) throw invalid(path, "알 수 없는 키입니다: " + key);
+        }
+
+        Rule unknown = outcome(node.get("unknown"), path + ".unknown");
+        Rule rule;
+        if (node.containsKey("switch") == node.containsKey("when")) {
+            throw invalid(path, "switch와 when 중 하나만 있어야 합니다");
+        } else if (node.containsKey("switch")) {
+            String fieldPath = string(node.get("switch"), path + ".switch");
+            LinkedHashMap<String, Rule> cases = new LinkedHashMap<>();
+            map(node.get("cases"), path + ".cases").forEach((value, result) ->
+                    cases.put(value, outcome(result, path + ".cases." + value)));
+            Rule otherwise = outcome(node.get("otherwise"), path + ".otherwise");
+
+            EnumBinding binding = ENUM_FIELDS.get(fieldName(fieldPath));
+            if (binding != null) {
+                Rule[] byOrdinal = new Rule[binding.type().getEnumConstants().length];
+                cases.forEach((value, result) -> {
+                    int ordinal = constant(binding, value, path + ".cases").ordinal();
+                    if (byOrdinal[ordinal] != null) throw invalid(path + ".cases", "같은 값이 중복됩니다: " + value);
+                    byOrdinal[ordinal] = result;
+                });
+                rule = new EnumSwitch(enumField(fieldPath, path + ".switch"), byOrdinal, otherwise, unknown);
+            } else {
+                rule = new Switch(stringField(fieldPath, path + ".switch"), new StringMatcher<>(cases, path + ".cases"),
+                        otherwise, unknown);
+            }
+        } else {
+            rule = new When(condition(node.get("when"), path + ".when"),
+                    outcome(node.get("then"), path + ".then"),
+                    outcome(node.get("else"), path + ".else"), unknown);
+        }
+
+        Object requires = node.get("requires");
+        if (requires == null) return rule;
+        if (!(requires instanceof List<?> list)) throw invalid(path + ".requires", "기기 타입 목록이어야 합니다");
+
+        DeviceType[][] groups = new DeviceType[list.size()][];
+        for (int i = 0; i < list.size(); i++) {
+            groups[i] = deviceTypes(string(list.get(i), path + ".requires"), path + ".requires");
+        }
+        return new Guarded(groups, rule);
+    }
+
+    // 가감 자리: 숫자 또는 하위 규칙 목록 (없으면 0)
+    private static Rule outcome(Object node, String path) {
+        if (node == null) return ZERO;
+        if (node instanceof Number n) return new Constant(n.intValue());
+        List<Rule> nested = compileRules(node, path);
+        return nested.size() == 1 ? nested.get(0) : new Sum(nested.toArray(Rule[]::new));
+    }
+
+    private static Condition condition(Object raw, String path) {
+        Map<String, Object> node = map(raw, path);
+
+        if (node.containsKey("any") || node.containsKey("all")) {
+            boolean any = node.containsKey("any");
+            Object children = node.get(any ? "any" : "all");
+            if (node.size() != 1 || !(children instanceof List<?> list) || list.isEmpty()) {
+                throw invalid(path, "any / all은 조건 목록 하나만 가져야 합니다");
+            }
+            Condition[] conditions = new Condition[list.size()];
+            for (int i = 0; i < list.size(); i++) {
+                conditions[i] = condition(list.get(i), path + "[" + i + "]");
+            }
+            return new AnyOf(conditions, any);
+        }
+
+        if (node.containsKey("in")) {
+            requireKeys(node, path, "field", "in");
+            if (!(node.get("in") instanceof List<?> list)) throw invalid(path + ".in", "값 목록이어야 합니다");
+            String fieldPath = string(node.get("field"), path + ".field");
+
+            EnumBinding binding = ENUM_FIELDS.get(fieldName(fieldPath));
+            if (binding != null) {
+                boolean[] byOrdinal = new boolean[binding.type().getEnumConstants().length];
+                for (Object v : list) byOrdinal[constant(binding, String.valueOf(v), path + ".in").ordinal()] = true;
+                return new EnumIn(enumField(fieldPath, path + ".field"), byOrdinal);
+            }
+
+            LinkedHashMap<String, Boolean> values = new LinkedHashMap<>();
+            for (Object v : list) values.put(String.valueOf(v), Boolean.TRUE);
+            return new In(stringField(fieldPath, path + ".field"),
+                    new StringMatcher<>(values, path + ".in"));
+        }
+
+        if (node.containsKey("is")) {
+            requireKeys(node, path, "field", "is");
+            if (!(node.get("is") instanceof Boolean expected)) throw invalid(path + ".is", "true / false여야 합니다");
+            return new Is(flagField(string(node.get("field"), path + ".field"), path + ".field"), expected);
+        }
+
+        // 숫자 비교 (field 또는 sum) + atLeast / atMost
+        requireKeys(node, path, "field", "sum", "atLeast", "atMost", "truncate");
+        if (node.containsKey("field") == node.containsKey("sum")) throw invalid(path, "field와 sum 중 하나만 있어야 합니다");
+
+        NumberField left = node.containsKey("field")
+                ? numberField(string(node.get("field"), path + ".field"), path + ".field")
+                : sum(node.get("sum"), path + ".sum");
+        boolean truncate = Boolean.TRUE.equals(node.get("truncate"));
+
+        List<Condition> comparisons = new ArrayList<>(2);
+        if (node.containsKey("atLeast")) comparisons.add(new Compare(left, operand(node.get("atLeast"), path + ".atLeast"), true, truncate));
+        if (node.containsKey("atMost")) comparisons.add(new Compare(left, operand(node.get("atMost"), path + ".atMost"), false, truncate));
+        if (comparisons.isEmpty()) throw invalid(path, "조건 종류를 알 수 없습니다 (in / is / atLeast / atMost / any / all)");
+
+        return comparisons.size() == 1 ? comparisons.get(0) : new AnyOf(comparisons.toArray(Condition[]::new), false);
+    }
+
+    private static void requireKeys(Map<String, Object> node, String path, String... allowed) {
+        Set<String> keys = Set.of(allowed);
+        for (String key : node.keySet()) {
+            if (!keys.contains(key)) throw invalid(path, "알 수 없는 키입니다: " + key);
+        }
+    }
+
+    // 비교 상대: 숫자 상수 또는 필드 경로
+    private static NumberField operand(Object node, String path) {
+        if (node instanceof Number n) {
+            double constant = n.doubleValue();
+            return devices -> constant;
+        }
+        return numberField(string(node, path), path);
+    }
+
+    // 항: "laptop.weightKg" 또는 "tablet.weightGram / 1000" (왼쪽부터 더함, 하나라도 NaN이면 NaN)
+    private static NumberField sum(Object node, String path) {
+        if (!(node instanceof List<?> list) || list.isEmpty()) throw invalid(path, "항 목록이어야 합니다");
+
+        NumberField[] terms = new NumberField[list.size()];
+        for (int i = 0; i < list.size(); i++) {
+            String term = string(list.get(i), path + "[" + i + "]");
+            int slash = term.indexOf('/');
+            if (slash < 0) {
+                terms[i] = numberField(term.trim(), path + "[" + i + "]");
+                continue;
+            }
+            NumberField field = numberField(term.substring(0, slash).trim(), path + "[" + i + "]");
+            double divisor;
+            try {
+                divisor = Double.parseDouble(term.substring(slash + 1).trim());
+            } catch (NumberFormatException e) {
+                throw invalid(path + "[" + i + "]", "나눗수가 숫자가 아닙니다: " + term);
+            }
+            terms[i] = devices -> field.get(devices) / divisor;
+        }
+
+        return devices -> {
+            double total = terms[0].get(devices);
+            for (int i = 1; i < terms.length; i++) total += terms[i].get(devices);
+            return total;
+        };
+    }
+
+    /* ===================== 필드 바인딩 ===================== */
+
+    private static final Map<String, Function<DeviceSpec, String>> STRING_FIELDS = Map.of(
+            "os", DeviceSpec::getOs,
+            "chargerType", DeviceSpec::getChargerType,
+            "powerSource", DeviceSpec::getPowerSource,
+            "chargingPort", DeviceSpec::getChargingPort,
+            "caseChargingType", DeviceSpec::getCaseChargingType,
+            "keyboardSize", DeviceSpec::getKeyboardSize,
+            "stylusType", DeviceSpec::getStylusType,
+            "gpu", DeviceSpec::getGpu
+    );
+
+    private record EnumBinding(Class<? extends Enum<?>> type, Function<DeviceSpec, Enum<?>> getter) {}
+
+    private static final Map<String, EnumBinding> ENUM_FIELDS = Map.of(
+            "osFamily", new EnumBinding(SpecValues.OsFamily.class, DeviceSpec::getOsFamily),
+            "connectionType", new EnumBinding(SpecValues.ConnectionType.class, DeviceSpec::getConnectionType),
+            "chargingMethod", new EnumBinding(SpecValues.ChargingMethod.class, DeviceSpec::getChargingMethodStrict),
+            "wirelessCharging", new EnumBinding(SpecValues.WirelessCharging.class, DeviceSpec::getWirelessCharging),
+            "mouseType", new EnumBinding(SpecValues.MouseType.class, DeviceSpec::getMouseType),
+            "switchType", new EnumBinding(SpecValues.SwitchType.class, DeviceSpec::getSwitchType),
+            "gpuClass", new EnumBinding(SpecValues.GpuClass.class, DeviceSpec::getGpuClass)
+    );
+
+    private static final Map<String, ToDoubleFunction<DeviceSpec>> NUMBER_FIELDS = Map.of(
+            "weightKg", DeviceSpec::getWeightKg,
+            "weightGram", DeviceSpec::getWeightGram,
+            "ramGb", DeviceSpec::getRamGb,
+            "storageGb", DeviceSpec::getStorageGb,
+            "batteryMah", DeviceSpec::getBatteryMah,
+            "batteryWh", DeviceSpec::getBatteryWh,
+            "minRequiredPowerW", DeviceSpec::getMinRequiredPowerWStrict, // 숫자 문자열은 모름으로 (예전 라이프스타일 규칙)
+            "maxSinglePortPowerW", DeviceSpec::getMaxSinglePortPowerWStrict,
+            "portCount", DeviceSpec::getPortCount
+    );
+
+    private static final Map<String, Function<DeviceSpec, Flag>> FLAG_FIELDS = Map.of(
+            "hasHdmi", DeviceSpec::getHasHdmi,
+            "hasUsbA", DeviceSpec::getHasUsbA,
+            "hasThunderbolt", DeviceSpec::getHasThunderbolt,
+            "hasClientClick", DeviceSpec::getHasClientClick,
+            "codecAac", d -> d.isCodecAac() ? Flag.TRUE : Flag.FALSE,
+            "codecHiRes", d -> d.isCodecHiRes() ? Flag.TRUE : Flag.FALSE,
+            "usbCPort", d -> d.isUsbCPort() ? Flag.TRUE : Flag.FALSE,
+            "pdProtocol", d -> d.isPdProtocol() ? Flag.TRUE : Flag.FALSE
+    );
+
+    private static StringField stringField(String path, String where) {
+        DeviceType[] types = deviceTypes(devicePart(path, where), where);
+        Function<DeviceSpec, String> getter = accessor(STRING_FIELDS, path, where);
+        if (types.length == 1) {
+            DeviceType type = types[0];
+            return devices -> {
+                DeviceSpec d = devices.first(type);
+                return d == null ? null : getter.apply(d);
+            };
+        }
+        return devices -> {
+            DeviceSpec d = firstPresent(devices, types);
+            return d == null ? null : getter.apply(d);
+        };
+    }
+
+    private static EnumField enumField(String path, String where) {
+        DeviceType[] types = deviceTypes(devicePart(path, where), where);
+        Function<DeviceSpec, Enum<?>> getter = accessor(ENUM_FIELDS, path, where).getter();
+        if (types.length == 1) {
+            DeviceType type = types[0];
+            return devices -> {
+                DeviceSpec d = devices.first(type);
+                return d == null ? null : getter.apply(d);
+            };
+        }
+        return devices -> {
+            DeviceSpec d = firstPresent(devices, types);
+            return d == null ? null : getter.apply(d);
+        };
+    }
+
+    // 규칙에 적힌 값 → enum 상수 (대소문자 무시), 목록에 없는 값이면 규칙이 영원히 안 맞으므로 컴파일 오류
+    private static Enum<?> constant(EnumBinding binding, String value, String where) {
+        for (Enum<?> c : binding.type().getEnumConstants()) {
+            if (c.name().equalsIgnoreCase(value)) return c;
+        }
+        throw invalid(where, "'" + value + "'는 " + binding.type().getSimpleName() + " 값이 아닙니다 (가능: "
+                + Arrays.toString(binding.type().getEnumConstants()) + ", 새 값이면 SpecValues에 먼저 추가)");
+    }
+
+    private static NumberField numberField(String path, String where) {
+        DeviceType[] types = deviceTypes(devicePart(path, where), where);
+        ToDoubleFunction<DeviceSpec> getter = accessor(NUMBER_FIELDS, path, where);
+        return devices -> {
+            DeviceSpec d = firstPresent(devices, types);
+            return d == null ? Double.NaN : getter.applyAsDouble(d);
+        };
+    }
+
+    private static FlagField flagField(String path, String where) {
+        DeviceType[] types = deviceTypes(devicePart(path, where), where);
+        Function<DeviceSpec, Flag> getter = accessor(FLAG_FIELDS, path, where);
+        return devices -> {
+            DeviceSpec d = firstPresent(devices, types);
+            return d == null ? Flag.UNKNOWN : getter.apply(d);
+        };
+    }
+
+    private static <T> T accessor(Map<String, T> fields, String path, String where) {
+        T getter = fields.get(fieldName(path));
+        if (getter == null) throw invalid(where, "이 자리에 쓸 수 없는 필드입니다: " + path);
+        return getter;
+    }
+
+    private static String fieldName(String path) {
+        return path.substring(path.lastIndexOf('.') + 1);
+    }
+
+    private static String devicePart(String path, String where) {
+        int dot = path.lastIndexOf('.');
+        if (dot <= 0) throw invalid(where, "필드는 <기기타입>.<필드> 형식이어야 합니다: " + path);
+        return path.substring(0, dot);
+    }
+
+    // "keyboard|mouse" → [KEYBOARD, MOUSE]
+    private static DeviceType[] deviceTypes(String spec, String where) {
+        String[] parts = spec.split("\\|");
+        DeviceType[] types = new DeviceType[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            types[i] = DeviceType.from(parts[i]);
+            if (types[i] == DeviceType.UNKNOWN) throw invalid(where, "알 수 없는 기기 타입입니다: " + parts[i]);
+        }
+        return types;
+    }
+
+    private static DeviceSpec firstPresent(DeviceIndex devices, DeviceType[] types) {
+        for (DeviceType type : types) {
+            DeviceSpec d = devices.first(type);
+            if (d != null) return d;
+        }
+        return null;
+    }
+
+    private static boolean anyPresent(DeviceIndex devices, DeviceType[] types) {
+        return firstPresent(devices, types) != null;
+    }
+
+    /* ===================== 공통 유틸 ===================== */
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object node, String path) {
+        if (!(node instanceof Map<?, ?> raw)) throw invalid(path, "키-값 객체여야 합니다");
+        // YAML 키가 숫자/불리언으로 읽혀도 문자열로 통일 (순서 유지)
+        Map<String, Object> result = new LinkedHashMap<>();
+        ((Map<Object, Object>) raw).forEach((k, v) -> result.put(String.valueOf(k), v));
+        return result;
+    }
+
+    private static String string(Object node, String path) {
+        if (node == null) throw invalid(path, "값이 없습니다");
+        return String.valueOf(node).trim();
+    }
+
+    private static IllegalArgumentException invalid(String path, String message) {
+        return new IllegalArgumentException("라이프스타일 규칙 오류 [" + path + "] " + message);
+    }
+}
@@ -0,0 +1,88 @@
+package com.devicelife.devicelife_worker.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.IntSupplier;
+
+/**
+ * 큰 조합 전용 fork-join 병렬 평가 (custom.evaluation.parallel.*)
+ * - 세 평가기, 그리고 라이프스타일 태그끼리는 서로 독립이라 서브태스크로 나눠도 결과가 같음
+ * - 기기 수가 min-devices 이상일 때만 사용 (작은 조합은 스케줄링 비용이 계산보다 큼)
+ * - 공용 풀(commonPool)이 아닌 전용 풀 → 다른 작업과 스레드를 나눠 쓰지 않고 병렬도 상한이 고정됨
+ */
+@Slf4j
+@Component
+public class ParallelEvaluation {
+
+    private final ForkJoinPool pool;  // 꺼져 있으면 null
+    private final int minDevices;
+
+    public ParallelEvaluation(@Value("${custom.evaluation.parallel.enabled:false}") boolean enabled,
+                              @Value("${custom.evaluation.parallel.min-devices:24}") int minDevices,
+                              @Value("${custom.evaluation.parallel.parallelism:0}") int parallelism) {
+        this.minDevices = minDevices;
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        if (enabled && threads < 2) {
+            // 코어 1개면 나눠봐야 순서대로 도는 것과 같고 스케줄링 비용만 늘어남
+            log.warn("⚠️ 병렬도가 {}라 병렬 평가를 끕니다", threads);
+            enabled = false;
+        }
+
+        if (enabled) {
+            this.pool = new ForkJoinPool(threads, ParallelEvaluation::newThread, null, false);
+            log.info("⚙️ 병렬 평가 사용: 기기 {}대 이상, 병렬도 {}", minDevices, threads);
+        } else {
+            this.pool = null;
+        }
+    }
+
+    /** 이 조합을 병렬로 평가할지 */
+    public boolean applies(DeviceIndex devices) {
+        return pool != null && devices.size() >= minDevices;
+    }
+
+    /**
+     * 작업들을 fork-join 서브태스크로 실행하고 결과를 같은 순서로 반환
+     * - 이미 이 풀의 작업 안이면(태그별 분할 등) 그 자리에서 fork, 밖이면 풀에 맡기고 끝날 때까지 대기
+     */
+    public int[] invokeAll(List<IntSupplier> tasks) {
+        List<ForkJoinTask<Integer>> forks = new ArrayList<>(tasks.size());
+        for (IntSupplier task : tasks) {
+            forks.add(ForkJoinTask.adapt(task::getAsInt));
+        }
+
+        if (ForkJoinTask.getPool() == pool) {
+            ForkJoinTask.invokeAll(forks);
+        } else {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(forks)));
+        }
+
+        int[] results = new int[forks.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = forks.get(i).join();
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private static ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("evaluate-fj-" + thread.getPoolIndex());
+        return thread;
+    }
+}
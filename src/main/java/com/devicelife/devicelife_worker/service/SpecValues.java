@@ -0,0 +1,187 @@
+package com.devicelife.devicelife_worker.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 스펙 문자열 값 → enum (디코딩 시점에 한 번만)
+ * - 평가기마다 equalsIgnoreCase를 반복하던 값들을 서로 다른 문자열당 한 번만 해석해서 캐시 (개수 상한 있음)
+ * - 대소문자만 다른 값은 같은 상수 (기존 equalsIgnoreCase와 동일), 여기서는 trim하지 않음
+ *   공백 처리는 기존 평가기 규칙대로 DeviceSpec이 정함: 편의성의 chargingMethod / wirelessCharging은 trim한 뒤 넘기고,
+ *   나머지(라이프스타일의 chargingMethod 포함)는 원본 그대로 → 공백이 붙으면 기존처럼 불일치 → OTHER
+ * - 목록에 없는 값은 OTHER로 두고 값별 등장 횟수를 1, 2, 4, 8...번째마다 로그 (백엔드가 새 값을 쓰기 시작했는지 확인용)
+ *   DeviceSpec은 캐시되므로 횟수는 메시지 수가 아니라 디코딩 횟수
+ */
+@Slf4j
+public final class SpecValues {
+
+    private static final int MAX_INTERNED = 256;   // 필드별 캐시할 서로 다른 문자열 수
+    private static final int MAX_GPU_MEMO = 2048;  // GPU 모델명은 종류가 더 많음
+
+    private SpecValues() {}
+
+    public enum OsFamily { IOS, IPADOS, MACOS, ANDROID, WINDOWS, LINUX, CHROMEOS, OTHER }
+
+    public enum ConnectionType { WIRED_USB, BLUETOOTH, BLUETOOTH_AND_DONGLE, OTHER }
+
+    public enum ChargingMethod { USB_C, DC_ADAPTER, OTHER }
+
+    public enum MouseType { NORMAL, VERTICAL, OTHER }
+
+    public enum SwitchType { BLUE, RED, BROWN, OTHER }
+
+    public enum WirelessCharging { MAGSAFE, QI, NONE, OTHER }
+
+    public enum GpuClass { DEDICATED, INTEGRATED }
+
+    static final Interner<OsFamily> OS = new Interner<>("os", OsFamily.class, OsFamily.OTHER);
+    static final Interner<ConnectionType> CONNECTION_TYPE = new Interner<>("connectionType", ConnectionType.class, ConnectionType.OTHER);
+    static final Interner<ChargingMethod> CHARGING_METHOD = new Interner<>("chargingMethod", ChargingMethod.class, ChargingMethod.OTHER);
+    static final Interner<MouseType> MOUSE_TYPE = new Interner<>("mouseType", MouseType.class, MouseType.OTHER);
+    static final Interner<SwitchType> SWITCH_TYPE = new Interner<>("switchType", SwitchType.class, SwitchType.OTHER);
+    static final Interner<WirelessCharging> WIRELESS_CHARGING = new Interner<>("wirelessCharging", WirelessCharging.class, WirelessCharging.OTHER);
+
+    static final Interner<?>[] ALL = {OS, CONNECTION_TYPE, CHARGING_METHOD, MOUSE_TYPE, SWITCH_TYPE, WIRELESS_CHARGING};
+
+    /**
+     * 필드 하나의 문자열 → enum 캐시
+     */
+    static final class Interner<E extends Enum<E>> {
+
+        private final String field;
+        private final E[] constants;
+        private final E other;
+        private final Map<String, Interned<E>> cache = new ConcurrentHashMap<>();
+        private final Interned<E> overflow;         // 캐시가 꽉 찬 뒤 처음 보는 모르는 값들 (횟수만 합산)
+        private final AtomicLong unknownTotal = new AtomicLong();
+
+        private record Interned<E>(E value, AtomicLong seen) {}
+
+        Interner(String field, Class<E> type, E other) {
+            this.field = field;
+            this.constants = type.getEnumConstants();
+            this.other = other;
+            this.overflow = new Interned<>(other, new AtomicLong());
+        }
+
+        String field() {
+            return field;
+        }
+
+        // null이면 null (값 없음), 목록에 없으면 OTHER
+        E intern(String raw) {
+            if (raw == null) return null;
+
+            Interned<E> entry = cache.get(raw);
+            if (entry == null) {
+                E value = resolve(raw);
+                if (cache.size() < MAX_INTERNED) {
+                    entry = cache.computeIfAbsent(raw, k -> new Interned<>(value, value == other ? new AtomicLong() : null));
+                } else {
+                    entry = value == other ? overflow : new Interned<>(value, null);
+                }
+            }
+
+            if (entry.value() == other) {
+                unknownTotal.incrementAndGet();
+                long seen = entry.seen().incrementAndGet();
+                if (Long.bitCount(seen) == 1) {
+                    log.warn("⚠️ 모르는 스펙 값 {}='{}' → OTHER ({}회째)", field, entry == overflow ? "(캐시 초과분)" : raw, seen);
+                }
+            }
+            return entry.value();
+        }
+
+        // 목록에 없는 값이 들어온 누적 횟수 (메트릭)
+        long unknownCount() {
+            return unknownTotal.get();
+        }
+
+        private E resolve(String raw) {
+            for (E constant : constants) {
+                if (constant != other && constant.name().equalsIgnoreCase(raw)) return constant;
+            }
+            return other;
+        }
+    }
+
+    public static OsFamily osFamily(String raw) {
+        return OS.intern(raw);
+    }
+
+    public static ConnectionType connectionType(String raw) {
+        return CONNECTION_TYPE.intern(raw);
+    }
+
+    public static ChargingMethod chargingMethod(String raw) {
+        return CHARGING_METHOD.intern(raw);
+    }
+
+    public static MouseType mouseType(String raw) {
+        return MOUSE_TYPE.intern(raw);
+    }
+
+    public static SwitchType switchType(String raw) {
+        return SWITCH_TYPE.intern(raw);
+    }
+
+    public static WirelessCharging wirelessCharging(String raw) {
+        return WIRELESS_CHARGING.intern(raw);
+    }
+
+    /* ===================== GPU 분류 ===================== */
+
+    // 키워드 전부를 정규식 하나로 (그룹 = 판정 우선순위), 문자열을 한 번만 훑고 결과는 모델명별로 캐시
+    private static final Pattern GPU_KEYWORDS = Pattern.compile(
+            "(integrated|iris|uhd|hd graphics)"            // 1) 명확한 내장
+                    + "|(rtx|gtx|geforce|quadro|nvidia|arc)" // 2) 명확한 외장 (arc = intel arc)
+                    + "|(radeon)");                          // 3) AMD Radeon은 케이스 분기
+
+    private static final Map<String, GpuClass> GPU_MEMO = new ConcurrentHashMap<>();
+
+    // 값이 비어 있으면 판단 보류(null)
+    public static GpuClass gpuClass(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+
+        GpuClass cached = GPU_MEMO.get(raw);
+        if (cached != null) return cached;
+
+        GpuClass result = classifyGpu(raw);
+        if (GPU_MEMO.size() < MAX_GPU_MEMO) GPU_MEMO.putIfAbsent(raw, result);
+        return result;
+    }
+
+    private static GpuClass classifyGpu(String raw) {
+        String g = raw.trim().toLowerCase(Locale.ROOT);
+
+        boolean integrated = false;
+        boolean dedicated = false;
+        boolean radeon = false;
+        // 겹치는 키워드도 놓치지 않도록 매치 시작 다음 글자부터 다시 찾음 (contains 여러 번과 같은 결과)
+        Matcher m = GPU_KEYWORDS.matcher(g);
+        int from = 0;
+        while (!integrated && m.find(from)) {
+            if (m.group(1) != null) integrated = true;
+            else if (m.group(2) != null) dedicated = true;
+            else radeon = true;
+            from = m.start() + 1;
+        }
+
+        if (integrated) return GpuClass.INTEGRATED;
+        if (dedicated) return GpuClass.DEDICATED;
+
+        // "Radeon RX ..." or "RX 6600M" 같은 건 외장 가능성이 높음, "Radeon Graphics" 같은 뭉뚱그림은 내장 쪽으로
+        if (radeon && (g.contains(" rx ") || g.startsWith("rx") || g.contains("xt") || g.endsWith("m"))) {
+            return GpuClass.DEDICATED;
+        }
+
+        // 여기까지 왔으면 애매한 값 -> 외장 아님(보수적으로)
+        return GpuClass.INTEGRATED;
+    }
+}
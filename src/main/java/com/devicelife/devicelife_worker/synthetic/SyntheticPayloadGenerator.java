@@ -0,0 +1,131 @@
+package com.devicelife.devicelife_worker.synthetic;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실제 백엔드 Payload와 같은 모양의 가짜 데이터 생성기 (벤치마크 / 부하 테스트 / 워밍업용)
+ * - 타입별 인기 모델 카탈로그에서 뽑아 같은 deviceId가 여러 조합에 반복 등장 (스펙 캐시 적중 패턴 재현)
+ * - 같은 seed면 항상 같은 순서로 생성
+ */
+public class SyntheticPayloadGenerator {
+
+    private static final String[] LIFESTYLE_LABELS = {
+            "#Office/portability", "#Study", "#Developer", "#Video Editing", "#Game", "#Tour"
+    };
+
+    // 조합에 흔히 들어가는 타입 비율 (앞쪽일수록 자주 나옴)
+    private static final String[] TYPE_WEIGHTS = {
+            "SMARTPHONE", "LAPTOP", "AUDIO", "CHARGER", "MOUSE", "KEYBOARD", "TABLET", "SMARTWATCH",
+            "SMARTPHONE", "AUDIO", "CHARGER", "MOUSE"
+    };
+
+    private static final Map<String, List<Map<String, Object>>> CATALOG = Map.of(
+            "SMARTPHONE", List.of(
+                    Map.of("os", "iOS", "chargingPort", "USB_C", "wirelessCharging", "MAGSAFE", "batteryMah", 3349),
+                    Map.of("os", "iOS", "chargingPort", "LIGHTNING", "wirelessCharging", "MAGSAFE", "batteryMah", 3279),
+                    Map.of("os", "Android", "chargingPort", "USB_C", "wirelessCharging", "QI", "batteryMah", 5000),
+                    Map.of("os", "Android", "chargingPort", "USB_C", "wirelessCharging", "NONE", "batteryMah", 4500)),
+            "LAPTOP", List.of(
+                    Map.ofEntries(Map.entry("os", "macOS"), Map.entry("chargingMethod", "USB_C"),
+                            Map.entry("minRequiredPowerW", 70), Map.entry("batteryWh", 72.4), Map.entry("hasHdmi", true),
+                            Map.entry("hasUsbA", false), Map.entry("hasThunderbolt", true), Map.entry("ramGb", 16),
+                            Map.entry("storageGb", 512), Map.entry("gpu", "Apple M3 Pro 18-core"), Map.entry("weightKg", 1.61)),
+                    Map.ofEntries(Map.entry("os", "Windows"), Map.entry("chargingMethod", "DC_ADAPTER"),
+                            Map.entry("minRequiredPowerW", 180), Map.entry("batteryWh", 90), Map.entry("hasHdmi", true),
+                            Map.entry("hasUsbA", true), Map.entry("hasThunderbolt", false), Map.entry("ramGb", 32),
+                            Map.entry("storageGb", 1024), Map.entry("gpu", "NVIDIA GeForce RTX 4070 Laptop"), Map.entry("weightKg", 2.3)),
+                    Map.ofEntries(Map.entry("os", "Windows"), Map.entry("chargingMethod", "USB_C"),
+                            Map.entry("minRequiredPowerW", 65), Map.entry("batteryWh", 57), Map.entry("hasHdmi", false),
+                            Map.entry("hasUsbA", true), Map.entry("hasThunderbolt", true), Map.entry("ramGb", 8),
+                            Map.entry("storageGb", 256), Map.entry("gpu", "Intel Iris Xe Graphics"), Map.entry("weightKg", 1.2))),
+            "TABLET", List.of(
+                    Map.of("os", "iPadOS", "chargingPort", "USB_C", "batteryMah", 7606, "stylusType", "APPLE_PENCIL", "weightGram", 462),
+                    Map.of("os", "Android", "chargingPort", "USB_C", "batteryMah", 10090, "stylusType", "S_PEN", "weightGram", 571),
+                    Map.of("os", "iPadOS", "chargingPort", "LIGHTNING", "batteryMah", 8557, "stylusType", "NONE", "weightGram", 487)),
+            "SMARTWATCH", List.of(
+                    Map.of("compatiblePhoneOs", List.of("iOS")),
+                    Map.of("compatiblePhoneOs", List.of("Android")),
+                    Map.of("compatiblePhoneOs", List.of("iOS", "Android"))),
+            "KEYBOARD", List.of(
+                    Map.of("supportedLayouts", List.of("macOS", "iPadOS", "iOS"), "keyboardSize", "TKL", "switchType", "BROWN",
+                            "connectionType", "BLUETOOTH", "batteryMah", 2000),
+                    Map.of("supportedLayouts", List.of("Windows"), "keyboardSize", "FULL", "switchType", "BLUE",
+                            "connectionType", "WIRED_USB"),
+                    Map.of("supportedLayouts", List.of("Windows", "macOS"), "keyboardSize", "MINI_60", "switchType", "RED",
+                            "connectionType", "BLUETOOTH_AND_DONGLE", "batteryMah", 4000)),
+            "MOUSE", List.of(
+                    Map.of("gestureSupport", List.of("macOS"), "mouseType", "NORMAL", "connectionType", "BLUETOOTH",
+                            "powerSource", "USB_C_RECHARGEABLE", "hasClientClick", false),
+                    Map.of("gestureSupport", List.of("Windows", "macOS"), "mouseType", "VERTICAL",
+                            "connectionType", "BLUETOOTH_AND_DONGLE", "powerSource", "USB_C_RECHARGEABLE", "hasClientClick", true),
+                    Map.of("gestureSupport", List.of(), "mouseType", "NORMAL", "connectionType", "WIRED_USB",
+                            "powerSource", "WIRED", "hasClientClick", true)),
+            "AUDIO", List.of(
+                    Map.of("supportedCodecs", List.of("SBC", "AAC"), "caseChargingType", "USB_C"),
+                    Map.of("supportedCodecs", List.of("SBC", "AAC", "LDAC"), "caseChargingType", "WIRELESS"),
+                    Map.of("supportedCodecs", List.of("SBC", "AAC", "SSC"), "caseChargingType", "USB_C"),
+                    Map.of("supportedCodecs", List.of("SBC"), "caseChargingType", "LIGHTNING")),
+            "CHARGER", List.of(
+                    Map.of("portConfiguration", List.of("C", "C", "A"), "chargerType", "GAN", "maxSinglePortPowerW", 100,
+                            "supportedProtocols", List.of("PD", "PPS", "QC")),
+                    Map.of("portConfiguration", List.of("C"), "chargerType", "GAN", "maxSinglePortPowerW", 35,
+                            "supportedProtocols", List.of("PD")),
+                    Map.of("portConfiguration", List.of(), "chargerType", "WIRELESS_STAND", "maxSinglePortPowerW", 15,
+                            "supportedProtocols", List.of()))
+    );
+
+    private final Random random;
+    private final AtomicLong combinationIds = new AtomicLong(1);
+
+    public SyntheticPayloadGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /** 기기 2~12대, 라이프스타일 0~3개의 일반적인 조합 */
+    public EvaluationPayload next() {
+        return next(2 + random.nextInt(11), random.nextInt(4));
+    }
+
+    public synchronized EvaluationPayload next(int deviceCount, int lifestyleCount) {
+        List<EvaluationPayload.DeviceDto> devices = new ArrayList<>(deviceCount);
+        for (int i = 0; i < deviceCount; i++) {
+            // 처음 두 대는 거의 항상 있는 스마트폰 + 노트북
+            String type = i == 0 ? "SMARTPHONE" : i == 1 ? "LAPTOP" : TYPE_WEIGHTS[random.nextInt(TYPE_WEIGHTS.length)];
+            List<Map<String, Object>> models = CATALOG.get(type);
+            int model = random.nextInt(models.size());
+
+            // deviceId = 타입 번호 * 100 + 모델 번호 (같은 모델은 항상 같은 ID)
+            long deviceId = (long) (indexOf(type) + 1) * 100 + model;
+            devices.add(new EvaluationPayload.DeviceDto(deviceId, type, 1L, models.get(model)));
+        }
+
+        // 서로 다른 태그를 임의 위치부터 순서대로 (최대 6개)
+        List<String> lifestyles = new ArrayList<>(lifestyleCount);
+        int start = random.nextInt(LIFESTYLE_LABELS.length);
+        for (int i = 0; i < Math.min(lifestyleCount, LIFESTYLE_LABELS.length); i++) {
+            lifestyles.add(LIFESTYLE_LABELS[(start + i) % LIFESTYLE_LABELS.length]);
+        }
+
+        long combinationId = combinationIds.getAndIncrement();
+        return new EvaluationPayload(combinationId, 1L, "synthetic-" + combinationId, devices, lifestyles);
+    }
+
+    private static int indexOf(String type) {
+        return switch (type) {
+            case "SMARTPHONE" -> 0;
+            case "LAPTOP" -> 1;
+            case "TABLET" -> 2;
+            case "SMARTWATCH" -> 3;
+            case "KEYBOARD" -> 4;
+            case "MOUSE" -> 5;
+            case "AUDIO" -> 6;
+            default -> 7;
+        };
+    }
+}
@@ -0,0 +1,276 @@
+package com.devicelife.devicelife_worker.client;
+
+import com.devicelife.devicelife_worker.dto.EvaluationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 결과 아웃박스 복구 테스트 (실제 세그먼트 파일 + 가짜 백엔드)
+ * - N건 쓰고 일부만 보낸 뒤 다시 열면 안 보낸 레코드만 정확히 다시 보냄 (세그먼트를 넘겨도)
+ * - 마지막 레코드가 잘렸거나 CRC가 안 맞으면 그 앞까지만 복구
+ * - 체크포인트가 없거나 깨졌으면 남은 세그먼트를 처음부터 다시 보냄 (중복 전송은 허용, 유실은 없음)
+ * - 건별 전송으로 거절된 건만 버림, 읽지 못한 레코드가 섞여도 종료가 timeout까지 기다리지 않음
+ */
+class ResultOutboxTest {
+
+    private static final int SEGMENT_KB = 4;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(1);
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry registry;
+
+    @Test
+    void replaysExactlyTheUnsentRecordsAfterReopen() throws Exception {
+        FakeBackend down = new FakeBackend(0);
+        ResultOutbox outbox = open(down, 16);
+        appendAll(outbox, 1, 30);
+
+        down.accepts = 1; // bulk 한 번만 성공
+        await(() -> !down.received.isEmpty() && pending() == 30 - down.received.size());
+        outbox.shutdown();
+        int sent = down.received.size();
+        assertTrue(segmentFiles().size() > 1, "세그먼트를 넘겨 가며 써야 함");
+
+        FakeBackend up = new FakeBackend(Integer.MAX_VALUE);
+        ResultOutbox reopened = open(up, 16);
+        assertEquals(30 - sent, pending());
+        await(() -> pending() == 0);
+        reopened.shutdown();
+
+        assertEquals(ids(sent + 1, 30), up.received);
+    }
+
+    @Test
+    void recoversUpToCorruptLastRecord() throws Exception {
+        int last = writeUnsent(5);
+        try (FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            long at = last + OutboxSegment.HEADER + 1;
+            channel.read(b, at);
+            b.put(0, (byte) (b.get(0) ^ 0x5A)).rewind();
+            channel.write(b, at);
+        }
+
+        assertReplays(ids(1, 4));
+    }
+
+    @Test
+    void recoversUpToTruncatedLastRecord() throws Exception {
+        int last = writeUnsent(5);
+        try (FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE)) {
+            channel.truncate(last + OutboxSegment.HEADER + 10); // 쓰는 도중 전원이 나감
+        }
+
+        assertReplays(ids(1, 4));
+    }
+
+    @Test
+    void intactCheckpointSkipsSentRecords() throws Exception {
+        sendAllAndStop(5);
+
+        FakeBackend up = new FakeBackend(Integer.MAX_VALUE);
+        ResultOutbox reopened = open(up, 16);
+        assertEquals(0, pending());
+        reopened.shutdown();
+        assertTrue(up.received.isEmpty());
+    }
+
+    @Test
+    void missingCheckpointReplaysRemainingSegments() throws Exception {
+        sendAllAndStop(5);
+        Files.delete(dir.resolve("checkpoint"));
+
+        assertReplays(ids(1, 5));
+    }
+
+    @Test
+    void garbageCheckpointReplaysRemainingSegments() throws Exception {
+        sendAllAndStop(5);
+        Files.write(dir.resolve("checkpoint"), "oops".getBytes());
+
+        assertReplays(ids(1, 5));
+    }
+
+    @Test
+    void rejectsAppendWhenUnsentSegmentsAreFull() throws Exception {
+        ResultOutbox outbox = open(new FakeBackend(0), 2);
+
+        CompletableFuture<Void> first = outbox.append(result(1));
+        first.get(15, TimeUnit.SECONDS);
+        CompletableFuture<Void> rejected = null;
+        for (long id = 2; id <= 100 && rejected == null; id++) {
+            CompletableFuture<Void> done = outbox.append(result(id));
+            if (done.isCompletedExceptionally()) rejected = done;
+        }
+        outbox.shutdown();
+
+        assertNotNull(rejected, "안 보낸 세그먼트가 max-segments개면 거절해야 함");
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void dropsOnlyRejectedResultsAndUnreadableRecords() throws Exception {
+        // 이전 프로세스가 남긴 세그먼트: 정상 / 읽을 수 없는 JSON / 백엔드가 거절할 결과 / 정상
+        try (OutboxSegment segment = OutboxSegment.create(dir.resolve("results-000000000001.log"), 1, SEGMENT_KB << 10)) {
+            int offset = segment.write(0, objectMapper.writeValueAsBytes(result(1)));
+            offset = segment.write(offset, "{not json".getBytes());
+            offset = segment.write(offset, objectMapper.writeValueAsBytes(result(3)));
+            segment.write(offset, objectMapper.writeValueAsBytes(result(4)));
+        }
+
+        FakeBackend up = new FakeBackend(Integer.MAX_VALUE);
+        up.rejected.add(3L);
+        ResultOutbox outbox = open(up, 16);
+        assertEquals(4, pending());
+        await(() -> pending() == 0);
+
+        long start = System.nanoTime();
+        outbox.shutdown();
+        assertTrue(System.nanoTime() - start < SHUTDOWN_TIMEOUT.toNanos(), "다 보냈으면 timeout까지 기다리지 않아야 함");
+        assertEquals(List.of(1L, 4L), up.received);
+        assertEquals(2, registry.get("worker.outbox.dropped").counter().count());
+    }
+
+    // ===== 도우미 =====
+
+    private ResultOutbox open(FakeBackend backend, int maxSegments) throws IOException {
+        registry = new SimpleMeterRegistry();
+        return new ResultOutbox(backend, objectMapper, dir.toString(), DataSize.ofKilobytes(SEGMENT_KB),
+                Duration.ofHours(1), maxSegments, 10, SHUTDOWN_TIMEOUT, registry);
+    }
+
+    // 백엔드가 죽은 채로 1..n을 쓰고 멈춤 → 마지막 레코드의 시작 위치
+    private int writeUnsent(int n) throws Exception {
+        ResultOutbox outbox = open(new FakeBackend(0), 16);
+        appendAll(outbox, 1, n);
+        outbox.shutdown();
+
+        int offset = 0;
+        for (long id = 1; id < n; id++) {
+            offset += OutboxSegment.HEADER + objectMapper.writeValueAsBytes(result(id)).length;
+        }
+        return offset;
+    }
+
+    private void sendAllAndStop(int n) throws Exception {
+        FakeBackend up = new FakeBackend(Integer.MAX_VALUE);
+        ResultOutbox outbox = open(up, 16);
+        appendAll(outbox, 1, n);
+        await(() -> pending() == 0);
+        outbox.shutdown();
+        assertEquals(ids(1, n), up.received);
+    }
+
+    private void assertReplays(List<Long> expected) throws Exception {
+        FakeBackend up = new FakeBackend(Integer.MAX_VALUE);
+        ResultOutbox outbox = open(up, 16);
+        assertEquals(expected.size(), pending());
+        await(() -> pending() == 0);
+        outbox.shutdown();
+        assertEquals(expected, up.received);
+    }
+
+    private static void appendAll(ResultOutbox outbox, long from, long to) throws Exception {
+        List<CompletableFuture<Void>> durable = new ArrayList<>();
+        for (long id = from; id <= to; id++) durable.add(outbox.append(result(id)));
+        CompletableFuture.allOf(durable.toArray(CompletableFuture[]::new)).get(15, TimeUnit.SECONDS);
+    }
+
+    private double pending() {
+        return registry.get("worker.outbox.pending").gauge().value();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("results-")).sorted().toList();
+        }
+    }
+
+    // 새 디렉터리에서 한 번 쓰고 멈추면 세그먼트는 하나
+    private Path onlySegment() throws IOException {
+        List<Path> files = segmentFiles();
+        assertEquals(1, files.size());
+        return files.get(0);
+    }
+
+    private static List<Long> ids(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().toList();
+    }
+
+    private static EvaluationResult result(long id) {
+        return new EvaluationResult(id, 1L, 80, 90, 70, 80, "A", "B", "A");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "시간 안에 끝나지 않음");
+            Thread.sleep(20);
+        }
+    }
+
+    // accepts: 남은 일괄 전송 성공 횟수 (0이면 5xx처럼 실패 → 재시도), rejected: 4xx로 거절할 조합 ID
+    private static class FakeBackend extends BackendClient {
+
+        final List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        final Set<Long> rejected = ConcurrentHashMap.newKeySet();
+        volatile int accepts;
+
+        FakeBackend(int accepts) {
+            super(null, null, null);
+            this.accepts = accepts;
+        }
+
+        @Override
+        public CompletableFuture<Void> sendResults(List<EvaluationResult> results) {
+            if (results.stream().anyMatch(r -> rejected.contains(r.combinationId()))) {
+                return CompletableFuture.failedFuture(badRequest());
+            }
+            if (accepts <= 0) return CompletableFuture.failedFuture(new IllegalStateException("백엔드 장애"));
+            accepts--;
+            results.forEach(r -> received.add(r.combinationId()));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> sendResult(EvaluationResult result) {
+            if (rejected.contains(result.combinationId())) return CompletableFuture.failedFuture(badRequest());
+            if (accepts <= 0) return CompletableFuture.failedFuture(new IllegalStateException("백엔드 장애"));
+            received.add(result.combinationId());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        private static WebClientResponseException badRequest() {
+            return WebClientResponseException.create(HttpStatus.BAD_REQUEST, "Bad Request", new HttpHeaders(),
+                    new byte[0], null, null);
+        }
+    }
+}
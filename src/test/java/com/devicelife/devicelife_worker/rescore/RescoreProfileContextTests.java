@@ -0,0 +1,16 @@
+package com.devicelife.devicelife_worker.rescore;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// rescore 프로필(SQS 꺼짐, 웹 서버 없음)로도 컨텍스트가 뜨는지 (입력이 없으니 러너는 바로 실패로 끝남)
+@SpringBootTest(properties = "custom.rescore.exit-on-finish=false")
+@ActiveProfiles("rescore")
+class RescoreProfileContextTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 편의성 배터리 수명 점수가 예전 평가기(LegacyConvenienceEvaluator, 원본 specs Map)와 같은지 비교
+ * - 배터리 스펙만 실어서 다른 지표는 전부 판단 불가 → 점수 = round(100 × 배터리 평균)
+ * - 정규화 값이 1/200 격자(= 반올림 경계)에 떨어지는 값과 임의 실수를 섞음 (평균 합산 방식이 다르면 여기서 갈림)
+ */
+class BatteryLifeAveragingDifferentialTest {
+
+    private final ConvenienceEvaluator evaluator = new ConvenienceEvaluator();
+    private final LegacyConvenienceEvaluator legacy = new LegacyConvenienceEvaluator();
+
+    @Test
+    void sameScoresAsPreviousAveraging() {
+        Random random = new Random(2);
+        for (int i = 0; i < 100_000; i++) {
+            List<EvaluationPayload.DeviceDto> devices = new ArrayList<>();
+            if (random.nextInt(4) > 0) devices.add(device(1L, "SMARTPHONE", "batteryMah", value(random, 3000, 5500)));
+            if (random.nextInt(4) > 0) devices.add(device(2L, "TABLET", "batteryMah", value(random, 6000, 11000)));
+            if (random.nextInt(4) > 0) devices.add(device(3L, "LAPTOP", "batteryWh", value(random, 40, 100)));
+            EvaluationPayload payload = new EvaluationPayload(1L, 1L, "diff", devices, List.of());
+
+            assertEquals(legacy.calculate(payload), evaluator.calculate(DeviceIndex.of(payload)), () -> "payload=" + payload);
+        }
+    }
+
+    private static double value(Random random, double min, double max) {
+        return random.nextBoolean()
+                ? min + (max - min) * random.nextInt(201) / 200.0
+                : min - 100 + (max - min + 200) * random.nextDouble();
+    }
+
+    private static EvaluationPayload.DeviceDto device(Long id, String type, String key, double value) {
+        Map<String, Object> specs = new HashMap<>();
+        specs.put(key, value);
+        return new EvaluationPayload.DeviceDto(id, type, 1L, specs);
+    }
+}
@@ -0,0 +1,141 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.dto.ApiResponse;
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 충전 W(minRequiredPowerW / maxSinglePortPowerW)가 숫자 문자열로, 충전 방식(chargingMethod)이 공백 / 문자열 아닌 값으로 올 때
+ * 예전 평가기 규칙과 같은지 비교
+ * - 편의성: 숫자 + 숫자 문자열 인정 (예전 getNumber), 충전 방식은 어떤 값이든 문자열로 + trim (예전 getString)
+ *   → 그렇게 바꿔 둔 Payload와 점수가 같아야 함
+ * - 라이프스타일: JSON 숫자만 (예전 getIntSpec), 충전 방식은 문자열 원본만 (예전 getStringSpec)
+ *   → 그 밖의 값을 뺀 Payload와 점수가 같아야 함
+ * - Map 디코딩 / 스트리밍 코덱 둘 다 확인
+ */
+class ChargingPowerParsingDifferentialTest {
+
+    private static final String[] POWER_KEYS = {"minRequiredPowerW", "maxSinglePortPowerW"};
+    private static final Object[] CHARGING = {"USB_C", "DC_ADAPTER", "usb_c", " USB_C", "DC_ADAPTER ", " ", 1, true};
+    private static final List<String> LIFESTYLES = List.of("#Tour");
+
+    private final ConvenienceEvaluator convenienceEvaluator = new ConvenienceEvaluator();
+    private final LifestyleEvaluator lifestyleEvaluator = new LifestyleEvaluator();
+    private final ObjectMapper writer = new ObjectMapper();
+    private final ObjectMapper streaming = new ObjectMapper().registerModule(new SimpleModule()
+            .addDeserializer(EvaluationPayload.DeviceDto.class, new DeviceDtoDeserializer()));
+
+    @Test
+    void sameScoresAsPreviousParsingRules() throws Exception {
+        Random random = new Random(46);
+        for (int i = 0; i < 20_000; i++) {
+            EvaluationPayload payload = randomPayload(random);
+            EvaluationPayload lenient = rewrite(payload, ChargingPowerParsingDifferentialTest::lenient,
+                    ChargingPowerParsingDifferentialTest::lenientText);
+            EvaluationPayload strict = rewrite(payload, ChargingPowerParsingDifferentialTest::strict,
+                    ChargingPowerParsingDifferentialTest::strictText);
+
+            for (DeviceIndex devices : List.of(DeviceIndex.of(payload), DeviceIndex.of(decode(payload)))) {
+                assertEquals(convenienceEvaluator.calculate(DeviceIndex.of(lenient)), convenienceEvaluator.calculate(devices),
+                        () -> "convenience payload=" + payload);
+                assertEquals(lifestyleEvaluator.calculate(DeviceIndex.of(strict), LIFESTYLES),
+                        lifestyleEvaluator.calculate(devices, LIFESTYLES), () -> "lifestyle payload=" + payload);
+            }
+        }
+    }
+
+    private EvaluationPayload decode(EvaluationPayload payload) throws Exception {
+        byte[] json = writer.writeValueAsBytes(new ApiResponse<>("OK", "diff", payload, true));
+        ApiResponse<EvaluationPayload> response = streaming.readValue(json, new TypeReference<ApiResponse<EvaluationPayload>>() {});
+        return response.result();
+    }
+
+    private static EvaluationPayload randomPayload(Random random) {
+        Map<String, Object> laptop = new HashMap<>();
+        laptop.put("chargingMethod", CHARGING[random.nextInt(CHARGING.length)]);
+        laptop.put("minRequiredPowerW", power(random));
+        laptop.put("batteryWh", 40 + random.nextInt(60));
+
+        Map<String, Object> charger = new HashMap<>();
+        charger.put("maxSinglePortPowerW", power(random));
+        charger.put("portConfiguration", List.of("C", "A"));
+
+        return new EvaluationPayload(1L, 1L, "diff", List.of(
+                new EvaluationPayload.DeviceDto(1L, "LAPTOP", 1L, laptop),
+                new EvaluationPayload.DeviceDto(2L, "CHARGER", 1L, charger)), LIFESTYLES);
+    }
+
+    // 숫자 / 숫자 문자열 / 해석 안 되는 문자열
+    private static Object power(Random random) {
+        int watts = 20 + random.nextInt(120);
+        return switch (random.nextInt(6)) {
+            case 0 -> watts;
+            case 1 -> watts + 0.5;
+            case 2 -> String.valueOf(watts);
+            case 3 -> " " + (watts + 0.5) + " ";
+            case 4 -> watts + "W";
+            default -> "";
+        };
+    }
+
+    // 예전 ConvenienceEvaluator.getNumber
+    private static Object lenient(Object v) {
+        if (v instanceof Number) return v;
+        if (v instanceof String s) {
+            String t = s.trim();
+            if (t.isEmpty()) return null;
+            try {
+                if (t.contains(".")) return Double.parseDouble(t);
+                return Long.parseLong(t);
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    // 예전 LifestyleEvaluator.getIntSpec (절삭은 규칙 파일의 truncate)
+    private static Object strict(Object v) {
+        return v instanceof Number ? v : null;
+    }
+
+    // 예전 ConvenienceEvaluator.getString
+    private static Object lenientText(Object v) {
+        if (v == null) return null;
+        String s = String.valueOf(v).trim();
+        return s.isEmpty() ? null : s;
+    }
+
+    // 예전 LifestyleEvaluator.getStringSpec
+    private static Object strictText(Object v) {
+        return v instanceof String ? v : null;
+    }
+
+    private static EvaluationPayload rewrite(EvaluationPayload payload, UnaryOperator<Object> numberRule,
+                                             UnaryOperator<Object> textRule) {
+        List<EvaluationPayload.DeviceDto> devices = new ArrayList<>();
+        for (EvaluationPayload.DeviceDto dto : payload.devices()) {
+            Map<String, Object> specs = new HashMap<>(dto.specs());
+            for (String key : POWER_KEYS) rewrite(specs, key, numberRule);
+            rewrite(specs, "chargingMethod", textRule);
+            devices.add(new EvaluationPayload.DeviceDto(dto.deviceId(), dto.type(), dto.specVersion(), specs));
+        }
+        return new EvaluationPayload(payload.combinationId(), payload.evaluationVersion(), payload.jobId(),
+                devices, payload.lifestyles());
+    }
+
+    private static void rewrite(Map<String, Object> specs, String key, UnaryOperator<Object> rule) {
+        if (!specs.containsKey(key)) return;
+        Object value = rule.apply(specs.get(key));
+        if (value == null) specs.remove(key);
+        else specs.put(key, value);
+    }
+}
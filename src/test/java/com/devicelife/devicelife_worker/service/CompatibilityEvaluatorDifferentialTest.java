@@ -0,0 +1,274 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 규칙 표 기반 CompatibilityEvaluator가 예전 이중 루프 구현과 점수가 같은지 비교
+ * - 합성 Payload + 일부러 지저분하게 만든 랜덤 Payload (OS 없음, 대소문자/공백 다른 OS, 중복 ID, 100대 이상)
+ */
+class CompatibilityEvaluatorDifferentialTest {
+
+    private static final String[] OS = {"iOS", "Android", "macOS", "iPadOS", "Windows", "Linux", "ios", " iOS", "HarmonyOS"};
+    private static final String[] CODECS = {"SBC", "AAC", "LDAC", "aptX", "SSC", "aac"};
+    private static final String[] TYPES = {
+            "SMARTPHONE", "SMARTWATCH", "LAPTOP", "TABLET", "KEYBOARD", "MOUSE", "AUDIO", "CHARGER", "UNKNOWN"
+    };
+
+    private final CompatibilityEvaluator evaluator = new CompatibilityEvaluator();
+    private final LegacyCompatibilityEvaluator legacy = new LegacyCompatibilityEvaluator();
+
+    @Test
+    void sameScoresForSyntheticPayloads() {
+        SyntheticPayloadGenerator generator = new SyntheticPayloadGenerator(2024);
+        for (int i = 0; i < 20_000; i++) {
+            assertSameScore(generator.next());
+        }
+    }
+
+    @Test
+    void sameScoresForLargeSyntheticPayloads() {
+        SyntheticPayloadGenerator generator = new SyntheticPayloadGenerator(7);
+        for (int i = 0; i < 2_000; i++) {
+            assertSameScore(generator.next(100 + i % 60, 0));
+        }
+    }
+
+    @Test
+    void sameScoresForIrregularPayloads() {
+        Random random = new Random(99);
+        for (int i = 0; i < 50_000; i++) {
+            int size = i % 10 == 0 ? 100 + random.nextInt(100) : random.nextInt(16);
+            assertSameScore(randomPayload(random, size));
+        }
+    }
+
+    @Test
+    void emptyAndTargetlessCombinations() {
+        assertEquals(0, evaluator.calculate(DeviceIndex.of(List.of())));
+        assertSameScore(payload(device(1L, "KEYBOARD", Map.of("supportedLayouts", List.of("macOS")))));
+        assertSameScore(payload(device(1L, "SMARTWATCH", Map.of("compatiblePhoneOs", List.of("iOS"))),
+                device(2L, "SMARTPHONE", Map.of("os", "Android"))));
+    }
+
+    private void assertSameScore(EvaluationPayload payload) {
+        DeviceIndex devices = DeviceIndex.of(payload);
+        assertEquals(legacy.calculate(devices), evaluator.calculate(devices), () -> "payload=" + payload);
+    }
+
+    private static EvaluationPayload randomPayload(Random random, int size) {
+        List<EvaluationPayload.DeviceDto> devices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> specs = new HashMap<>();
+            if (random.nextInt(5) > 0) specs.put("os", OS[random.nextInt(OS.length)]);
+            specs.put("compatiblePhoneOs", pick(random, OS, 3));
+            specs.put("supportedLayouts", pick(random, OS, 3));
+            specs.put("gestureSupport", pick(random, OS, 2));
+            specs.put("supportedCodecs", pick(random, CODECS, 3));
+
+            // 좁은 범위 ID + 가끔 null → 중복 ID / ID 없는 기기도 섞임
+            Long deviceId = random.nextInt(20) == 0 ? null : (long) random.nextInt(Math.max(4, size));
+            devices.add(device(deviceId, TYPES[random.nextInt(TYPES.length)], specs));
+        }
+        return new EvaluationPayload(1L, 1L, "diff", devices, List.of());
+    }
+
+    private static List<String> pick(Random random, String[] values, int max) {
+        int count = random.nextInt(max + 1);
+        List<String> picked = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            picked.add(values[random.nextInt(values.length)]);
+        }
+        return picked;
+    }
+
+    private static EvaluationPayload.DeviceDto device(Long deviceId, String type, Map<String, Object> specs) {
+        return new EvaluationPayload.DeviceDto(deviceId, type, 1L, specs);
+    }
+
+    private static EvaluationPayload payload(EvaluationPayload.DeviceDto... devices) {
+        return new EvaluationPayload(1L, 1L, "diff", List.of(devices), List.of());
+    }
+
+    /**
+     * 규칙 표 도입 전 구현 그대로 (비교 기준, 수정 금지)
+     */
+    static class LegacyCompatibilityEvaluator {
+
+        // 점수 계산 상수
+        private static final double WEIGHT_HUB = 0.45;
+        private static final double WEIGHT_QUALITY = 0.45;
+        private static final double WEIGHT_ISOLATED = 0.1;
+
+        public int calculate(DeviceIndex devices) {
+            // 1. 방어 로직
+            if (devices.isEmpty()) {
+                return 0;
+            }
+
+            // 2. 기기 분류 (DeviceIndex에 타입별로 이미 묶여 있음)
+            List<DeviceSpec> phones = devices.ofType(DeviceType.SMARTPHONE);
+            List<DeviceSpec> watches = devices.ofType(DeviceType.SMARTWATCH);
+            List<DeviceSpec> laptops = devices.ofType(DeviceType.LAPTOP);
+            List<DeviceSpec> tablets = devices.ofType(DeviceType.TABLET);
+            List<DeviceSpec> keyboards = devices.ofType(DeviceType.KEYBOARD);
+            List<DeviceSpec> mice = devices.ofType(DeviceType.MOUSE);
+            List<DeviceSpec> audios = devices.ofType(DeviceType.AUDIO);
+
+            List<DeviceSpec> hosts = new ArrayList<>(laptops.size() + tablets.size());
+            hosts.addAll(laptops);
+            hosts.addAll(tablets);
+
+            // 3. 변수 초기화
+            double targetEdges = 0;
+            double successEdges = 0;
+            double totalQuality = 0;
+
+            Set<Long> targetedDevices = new HashSet<>();
+            Set<Long> connectedDevices = new HashSet<>();
+
+            // (A) 스마트워치 ↔ 스마트폰
+            if (!phones.isEmpty()) {
+                for (DeviceSpec watch : watches) {
+                    Long wId = watch.getDeviceId();
+                    targetedDevices.add(wId);
+                    targetEdges++;
+
+                    double bestQ = 0.0;
+                    boolean connected = false;
+
+                    List<String> compatibleOS = watch.getCompatiblePhoneOs();
+                    for (DeviceSpec phone : phones) {
+                        String phoneOS = phone.getOs();
+
+                        if (phoneOS != null && compatibleOS.contains(phoneOS)) {
+                            bestQ = 1.0;
+                            connected = true;
+                            connectedDevices.add(phone.getDeviceId());
+                        }
+                    }
+
+                    if (connected) {
+                        successEdges++;
+                        totalQuality += bestQ;
+                        connectedDevices.add(wId);
+                    }
+                }
+            }
+
+            // (B) 키보드 ↔ 노트북 / 태블릿
+            if (!hosts.isEmpty()) {
+                for (DeviceSpec kb : keyboards) {
+                    Long kId = kb.getDeviceId();
+                    targetedDevices.add(kId);
+                    targetEdges++;
+                    successEdges++;
+                    connectedDevices.add(kId);
+
+                    double currentMax = 0.0;
+                    List<String> supportedLayouts = kb.getSupportedLayouts();
+                    for (DeviceSpec host : hosts) {
+                        String hostOS = host.getOs();
+                        double score;
+
+                        if (hostOS != null && supportedLayouts.contains(hostOS)) {
+                            score = 1.0;
+                        } else {
+                            score = 0.4;
+                        }
+                        currentMax = Math.max(currentMax, score);
+                        connectedDevices.add(host.getDeviceId());
+                    }
+                    totalQuality += currentMax;
+                }
+            }
+
+            // (C) 마우스 ↔ 노트북 / 태블릿
+            if (!hosts.isEmpty()) {
+                for (DeviceSpec mouse : mice) {
+                    Long mId = mouse.getDeviceId();
+                    targetedDevices.add(mId);
+                    targetEdges++;
+                    successEdges++;
+                    connectedDevices.add(mId);
+
+                    double currentMax = 0.0;
+                    List<String> gestureSupports = mouse.getGestureSupport();
+                    for (DeviceSpec host : hosts) {
+                        String hostOS = host.getOs();
+
+                        double score = (hostOS != null && gestureSupports.contains(hostOS)) ? 1.0 : 0.5;
+                        currentMax = Math.max(currentMax, score);
+                        connectedDevices.add(host.getDeviceId());
+                    }
+                    totalQuality += currentMax;
+                }
+            }
+
+            // (D) 오디오 ↔ 재생 기기 (스마트폰, 노트북, 태블릿 통합)
+            List<DeviceSpec> audioSources = new ArrayList<>(phones.size() + hosts.size());
+            audioSources.addAll(phones);
+            audioSources.addAll(hosts); // hosts에는 이미 laptops, tablets가 들어있음
+
+            if (!audioSources.isEmpty()) {
+                for (DeviceSpec audio : audios) {
+                    Long aId = audio.getDeviceId();
+                    targetedDevices.add(aId);
+                    targetEdges++; // 이제 노트북이랑만 있어도 타겟이 잡히도록 수정
+
+                    double currentMax = 0.0;
+                    boolean connected = false;
+
+                    for (DeviceSpec source : audioSources) {
+                        String sourceOS = source.getOs(); // phoneOS -> sourceOS로 변경
+
+                        // 연결성 체크 (오디오는 블루투스라 기본 연결은 된다고 가정하거나, 필요 시 로직 추가)
+                        connected = true;
+                        connectedDevices.add(source.getDeviceId());
+
+                        boolean highQuality = false;
+                        // OS별 고음질 코덱 판별 로직
+                        if (sourceOS != null && (sourceOS.contains("iOS") || sourceOS.contains("iPadOS") || sourceOS.contains("macOS"))) {
+                            // 애플 계열: AAC 지원 여부 확인
+                            if (audio.isCodecAac()) highQuality = true;
+                        } else {
+                            // 그 외 (Android, Windows): LDAC, aptX 등 확인
+                            if (audio.isCodecHiRes()) highQuality = true;
+                        }
+
+                        // [패널티 적용] 0.7 (아까 정한 그 점수)
+                        double score = highQuality ? 1.0 : 0.7;
+                        currentMax = Math.max(currentMax, score);
+                    }
+
+                    if (connected) {
+                        successEdges++;
+                        connectedDevices.add(aId);
+                    }
+                    totalQuality += currentMax;
+                }
+            }
+
+            // 4. 최종 점수 산출
+            if (targetEdges == 0) return 65;
+            if (successEdges == 0) return 0;
+
+            double hubConnectivity = successEdges / targetEdges;
+            double avgQuality = totalQuality / successEdges;
+
+            long targetDevCount = targetedDevices.size();
+            long isolatedCount = targetedDevices.stream()
+                    .filter(id -> !connectedDevices.contains(id))
+                    .count();
+            double isolatedRatio = (targetDevCount == 0) ? 0.0 : (double) isolatedCount / targetDevCount;
+
+            // 최종 점수 (Case E3)
+            return (int) (100 * (WEIGHT_HUB * hubConnectivity + WEIGHT_QUALITY * avgQuality + WEIGHT_ISOLATED * (1.0 - isolatedRatio)));
+        }
+    }
+}
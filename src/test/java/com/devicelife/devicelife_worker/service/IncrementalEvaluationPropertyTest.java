@@ -0,0 +1,269 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.dto.EvaluationPayload.DeviceDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 증분 재평가 속성 테스트: 임의 조합에 임의 델타를 연달아 적용해도 매 단계 점수가 전체 재계산과 같은지
+ * - 같은 deviceId@specVersion은 항상 같은 스펙 (백엔드와 같은 전제), 중복 ID / ID 없는 기기 / 모르는 타입도 섞음
+ * - 델타가 정확하면 전부 delta 모드로 처리 (fallback 없음)
+ * - 델타가 틀려도 (빠진 ID, 없는 ID, 다른 타입 순서 변경, 스펙 버전만 바뀜) fallback으로 같은 점수
+ * - 실패하면 seed / 단계 / 델타 / 기기 목록을 메시지에 남김 (같은 seed로 재현)
+ */
+class IncrementalEvaluationPropertyTest {
+
+    private static final int TRIALS = 2_000;
+    private static final int STEPS = 12;
+    private static final int ID_RANGE = 40;
+
+    private static final String[] OS = {"iOS", "Android", "macOS", "iPadOS", "Windows", "Linux", "ios", " iOS", "HarmonyOS"};
+    private static final String[] CODECS = {"SBC", "AAC", "LDAC", "aptX", "SSC", "aac"};
+    private static final String[] TYPES = {
+            "SMARTPHONE", "SMARTWATCH", "LAPTOP", "TABLET", "KEYBOARD", "MOUSE", "AUDIO", "CHARGER", "UNKNOWN"
+    };
+
+    private final CompatibilityEvaluator compatibilityEvaluator = new CompatibilityEvaluator();
+    private final ConvenienceEvaluator convenienceEvaluator = new ConvenienceEvaluator();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final IncrementalEvaluation incremental = new IncrementalEvaluation(
+            compatibilityEvaluator, convenienceEvaluator, true, 100_000, Duration.ofHours(1), registry);
+
+    @Test
+    void correctDeltasMatchFullRecompute() {
+        for (int trial = 0; trial < TRIALS; trial++) {
+            Combination combination = new Combination(trial, new Random(trial));
+            assertSameScores(combination, null, null, "seed");
+
+            for (int step = 0; step < STEPS; step++) {
+                Delta delta = combination.mutate();
+                assertSameScores(combination, delta.added(), delta.removed(), "step " + step + " " + delta);
+            }
+        }
+
+        assertEquals(TRIALS * STEPS, count("delta"));
+        assertEquals(0, count("fallback"));
+    }
+
+    @Test
+    void wrongDeltasFallBackToFullRecompute() {
+        for (int trial = 0; trial < TRIALS; trial++) {
+            Random random = new Random(1_000_000 + trial);
+            Combination combination = new Combination(trial, random);
+            assertSameScores(combination, null, null, "seed");
+
+            for (int step = 0; step < STEPS; step++) {
+                Delta delta = combination.mutate();
+                Delta wrong = combination.corrupt(delta, random);
+                assertSameScores(combination, wrong.added(), wrong.removed(), "step " + step + " " + delta + " → " + wrong);
+            }
+        }
+
+        assertTrue(count("fallback") > TRIALS * STEPS / 2, "틀린 델타가 fallback으로 가지 않음");
+    }
+
+    @Test
+    void deltaWithoutPreviousStateIsFullRecompute() {
+        Combination combination = new Combination(-1, new Random(5));
+        Delta delta = combination.mutate();
+        assertSameScores(combination, delta.added(), delta.removed(), "no state");
+        assertEquals(1, count("fallback"));
+
+        // 빈 델타는 그대로 재사용
+        assertSameScores(combination, List.of(), List.of(), "empty delta");
+        assertEquals(1, count("delta"));
+    }
+
+    @Test
+    void emptyCombination() {
+        DeviceIndex empty = DeviceIndex.of(List.of());
+        IncrementalEvaluation.Scores scores = incremental.score(1L, empty, null, null);
+        assertEquals(compatibilityEvaluator.calculate(empty), scores.compatibility());
+        assertEquals(convenienceEvaluator.calculate(empty), scores.convenience());
+    }
+
+    private void assertSameScores(Combination combination, List<Long> added, List<Long> removed, String context) {
+        DeviceIndex devices = combination.index();
+        IncrementalEvaluation.Scores scores = incremental.score(combination.id, devices, added, removed);
+
+        String message = "trial " + combination.id + ", " + context + ", devices=" + combination.devices;
+        assertEquals(compatibilityEvaluator.calculate(devices), scores.compatibility(), message);
+        assertEquals(convenienceEvaluator.calculate(devices), scores.convenience(), message);
+    }
+
+    private long count(String mode) {
+        return (long) registry.get("worker.evaluation.incremental").tag("mode", mode).counter().count();
+    }
+
+    private record Delta(List<Long> added, List<Long> removed) {}
+
+    /**
+     * 조합 하나의 기기 목록 + 기기별 현재 스펙 버전
+     */
+    private static final class Combination {
+
+        final long id;
+        final Random random;
+        final List<DeviceDto> devices = new ArrayList<>();
+        final Map<Long, Long> versions = new HashMap<>();
+
+        Combination(long id, Random random) {
+            this.id = id;
+            this.random = random;
+            int size = random.nextInt(10) == 0 ? 30 + random.nextInt(30) : random.nextInt(12);
+            for (int i = 0; i < size; i++) {
+                devices.add(randomDevice());
+            }
+        }
+
+        DeviceIndex index() {
+            return DeviceIndex.of(new EvaluationPayload(id, 1L, "prop", List.copyOf(devices), List.of()));
+        }
+
+        // 추가 / 삭제 / 교체 / 스펙 버전 변경을 1~3번 섞어서 적용하고, 그에 맞는 정확한 델타 반환
+        Delta mutate() {
+            List<Long> added = new ArrayList<>();
+            List<Long> removed = new ArrayList<>();
+
+            int ops = 1 + random.nextInt(3);
+            for (int op = 0; op < ops; op++) {
+                switch (random.nextInt(4)) {
+                    case 0 -> {
+                        DeviceDto device = randomDevice();
+                        if (device.deviceId() == null) continue;
+                        devices.add(random.nextInt(devices.size() + 1), device);
+                        added.add(device.deviceId());
+                    }
+                    case 1 -> {
+                        int index = randomIdentified();
+                        if (index < 0) continue;
+                        removed.add(devices.remove(index).deviceId());
+                    }
+                    case 2 -> {
+                        int index = randomIdentified();
+                        DeviceDto device = randomDevice();
+                        if (index < 0 || device.deviceId() == null) continue;
+                        removed.add(devices.set(index, device).deviceId());
+                        added.add(device.deviceId());
+                    }
+                    default -> {
+                        // 같은 기기의 스펙이 바뀌면 조합 안의 같은 ID가 전부 새 버전 (삭제 + 추가로 보냄)
+                        int index = randomIdentified();
+                        if (index < 0) continue;
+                        long deviceId = devices.get(index).deviceId();
+                        long version = versions.merge(deviceId, 1L, Long::sum);
+                        for (int i = 0; i < devices.size(); i++) {
+                            if (Objects.equals(devices.get(i).deviceId(), deviceId)) {
+                                devices.set(i, device(deviceId, version));
+                                removed.add(deviceId);
+                                added.add(deviceId);
+                            }
+                        }
+                    }
+                }
+            }
+            return new Delta(added, removed);
+        }
+
+        // 정확한 델타를 일부러 틀리게 (목록은 그대로 두거나, 델타에 안 걸린 기기를 바꿈)
+        Delta corrupt(Delta delta, Random random) {
+            List<Long> added = new ArrayList<>(delta.added());
+            List<Long> removed = new ArrayList<>(delta.removed());
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    if (!added.isEmpty()) added.remove(random.nextInt(added.size()));
+                    else removed.add((long) random.nextInt(ID_RANGE));
+                }
+                case 1 -> removed.add(ID_RANGE + 1L);
+                case 2 -> {
+                    // 델타에 없는 기기 두 대 자리 바꿈 (타입이 같으면 순서가 바뀜)
+                    if (devices.size() >= 2) {
+                        Collections.swap(devices, random.nextInt(devices.size()), random.nextInt(devices.size()));
+                    }
+                }
+                case 3 -> {
+                    // 델타에 없이 스펙 버전만 올라감
+                    int index = randomIdentified();
+                    if (index >= 0) {
+                        long deviceId = devices.get(index).deviceId();
+                        long version = versions.merge(deviceId, 1L, Long::sum);
+                        for (int i = 0; i < devices.size(); i++) {
+                            if (Objects.equals(devices.get(i).deviceId(), deviceId)) devices.set(i, device(deviceId, version));
+                        }
+                    }
+                }
+                default -> {
+                    added.add((long) random.nextInt(ID_RANGE));
+                }
+            }
+            return new Delta(added, removed);
+        }
+
+        private int randomIdentified() {
+            for (int attempt = 0; attempt < 4 && !devices.isEmpty(); attempt++) {
+                int index = random.nextInt(devices.size());
+                if (devices.get(index).deviceId() != null) return index;
+            }
+            return -1;
+        }
+
+        // 좁은 ID 범위라 같은 기기가 여러 번 들어가기도 함, 가끔 ID 없는 기기
+        private DeviceDto randomDevice() {
+            if (random.nextInt(25) == 0) return device(null, 1L);
+            long deviceId = random.nextInt(ID_RANGE);
+            return device(deviceId, versions.getOrDefault(deviceId, 1L));
+        }
+    }
+
+    // 같은 ID + 버전이면 항상 같은 타입 / 스펙
+    private static DeviceDto device(Long deviceId, long version) {
+        long id = deviceId == null ? -1 : deviceId;
+        Random random = new Random(id * 7919 + version);
+        String type = TYPES[(int) Math.floorMod(id, (long) TYPES.length)];
+        return new DeviceDto(deviceId, type, version, specs(random));
+    }
+
+    private static Map<String, Object> specs(Random random) {
+        Map<String, Object> specs = new HashMap<>();
+        if (random.nextInt(5) > 0) specs.put("os", OS[random.nextInt(OS.length)]);
+        specs.put("compatiblePhoneOs", pick(random, OS, 3));
+        specs.put("supportedLayouts", pick(random, OS, 3));
+        specs.put("gestureSupport", pick(random, OS, 2));
+        specs.put("supportedCodecs", pick(random, CODECS, 3));
+
+        maybe(random, specs, "chargingPort", "USB_C", "LIGHTNING", "usb_c");
+        maybe(random, specs, "wirelessCharging", "MAGSAFE", "QI", "NONE", "WEIRD");
+        maybe(random, specs, "chargingMethod", "USB_C", "DC_ADAPTER");
+        maybe(random, specs, "caseChargingType", "USB_C", "LIGHTNING", "WIRELESS");
+        maybe(random, specs, "powerSource", "USB_C_RECHARGEABLE", "AA", "WIRED");
+        maybe(random, specs, "chargerType", "GAN", "WIRELESS_STAND");
+        if (random.nextBoolean()) specs.put("batteryMah", 1000 + random.nextInt(11000));
+        if (random.nextBoolean()) specs.put("batteryWh", 30 + random.nextInt(80));
+        if (random.nextBoolean()) specs.put("minRequiredPowerW", 20 + random.nextInt(120));
+        if (random.nextBoolean()) specs.put("maxSinglePortPowerW", 10 + random.nextInt(130));
+        specs.put("portConfiguration", pick(random, new String[]{"C", "A"}, 3));
+        specs.put("supportedProtocols", pick(random, new String[]{"PD", "PPS", "QC"}, 2));
+        return specs;
+    }
+
+    private static void maybe(Random random, Map<String, Object> specs, String key, String... values) {
+        int pick = random.nextInt(values.length + 1);
+        if (pick < values.length) specs.put(key, values[pick]);
+    }
+
+    private static List<String> pick(Random random, String[] values, int max) {
+        int count = random.nextInt(max + 1);
+        List<String> picked = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            picked.add(values[random.nextInt(values.length)]);
+        }
+        return picked;
+    }
+}
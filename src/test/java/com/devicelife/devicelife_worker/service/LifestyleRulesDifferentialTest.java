@@ -0,0 +1,140 @@
+package com.devicelife.devicelife_worker.service;
+
+import com.devicelife.devicelife_worker.dto.EvaluationPayload;
+import com.devicelife.devicelife_worker.synthetic.SyntheticPayloadGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 규칙 파일(lifestyle-rules.yaml)로 컴파일한 LifestyleEvaluator가 예전 하드코딩 구현과 점수가 같은지 비교
+ * - 기준은 baseline 구현 그대로 (LegacyLifestyleEvaluator, 원본 specs Map을 읽음) → DeviceSpec 디코딩 차이도 같이 잡힘
+ * - 합성 Payload + 값 대소문자/공백/타입/누락/경계값을 섞은 랜덤 Payload
+ * - 별칭, 잘못된 규칙 거부, 리비전도 같이 확인
+ */
+class LifestyleRulesDifferentialTest {
+
+    private static final String[] TYPES = {"LAPTOP", "TABLET", "KEYBOARD", "MOUSE", "CHARGER", "SMARTPHONE"};
+    private static final String[] LABELS = {
+            "#Office/portability", "#Study", "#Developer", "#Video Editing", "#Game", "#Tour", "# office", "#Unknown", "video-editing",
+            "#Travel", "#Gaming", "#Work", "#Dev" // 예전에는 기본 점수 (별칭을 넣으면 여기서 깨짐)
+    };
+    private static final String[] KEYBOARD_SIZES = {"FULL", "TKL", "MINI_60", "full", "Tkl", "ALICE"};
+    private static final String[] MOUSE_TYPES = {"VERTICAL", "vertical", "STANDARD"};
+    private static final String[] STYLUS_TYPES = {"NONE", "none", "ACTIVE", ""};
+    private static final String[] SWITCH_TYPES = {"BLUE", "blue", "RED", "BROWN"};
+    private static final String[] OS = {"MACOS", "LINUX", "WINDOWS", "CHROMEOS", "macOS", "iOS"};
+    private static final String[] GPUS = {"RTX 4060", "Intel Iris Xe", "Radeon RX 6600M", "Radeon Graphics", "Apple M3", "  ", "Intel Arc A370M", "UHD 620"};
+    private static final String[] CONNECTIONS = {"WIRED_USB", "BLUETOOTH_AND_DONGLE", "BLUETOOTH", "bluetooth", "DONGLE"};
+    private static final String[] CHARGING = {"DC_ADAPTER", "USB_C", "usb_c", "MAGSAFE", " USB_C", "DC_ADAPTER "};
+
+    private final LifestyleEvaluator evaluator = new LifestyleEvaluator();
+    private final LegacyLifestyleEvaluator legacy = new LegacyLifestyleEvaluator();
+
+    @Test
+    void sameScoresForSyntheticPayloads() {
+        SyntheticPayloadGenerator generator = new SyntheticPayloadGenerator(2025);
+        for (int i = 0; i < 20_000; i++) {
+            assertSameScore(generator.next(1 + i % 12, i % 7));
+        }
+    }
+
+    @Test
+    void sameScoresForIrregularPayloads() {
+        Random random = new Random(15);
+        for (int i = 0; i < 50_000; i++) {
+            assertSameScore(randomPayload(random, random.nextInt(8)));
+        }
+    }
+
+    @Test
+    void aliasesResolveToCanonicalTag() {
+        LifestyleRules rules = parse("""
+                tags: { GAME: [ { switch: laptop.gpuClass, cases: { DEDICATED: 15 } } ] }
+                aliases: { GAMING: GAME }
+                """);
+        assertEquals("GAME", rules.tag("#Gaming").name());
+        // 별칭과 원래 태그가 같이 오면 한 번만 셈
+        assertEquals(1, rules.tags(List.of("#Game", "#Gaming", "game")).size());
+    }
+
+    @Test
+    void bundledRulesHaveNoAliases() {
+        // 별칭은 저장된 점수를 바꿈 → 번들 규칙에 넣으려면 evaluationVersion을 올리는 변경으로 따로
+        assertEquals("TRAVEL", LifestyleRules.bundled().tag("#Travel").name());
+    }
+
+    @Test
+    void rejectsInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> parse("tags: { GAME: [ { switch: laptop.ramGb, cases: { A: 1 } } ] }"));
+        assertThrows(IllegalArgumentException.class, () -> parse("tags: { GAME: [ { when: { field: phone.gpu, in: [A] } } ] }"));
+        assertThrows(IllegalArgumentException.class, () -> parse("tags: { GAME: [ { swtich: laptop.gpu } ] }"));
+        assertThrows(IllegalArgumentException.class, () -> parse("tags: { GAME: [] }\naliases: { PLAY: GAMES }"));
+    }
+
+    @Test
+    void revisionFollowsContent() {
+        String rules = "tags: { GAME: [ { switch: laptop.gpuClass, cases: { DEDICATED: 15 } } ] }";
+        assertEquals(parse(rules).revision(), parse(rules).revision());
+        assertNotEquals(parse(rules).revision(), parse(rules.replace("15", "20")).revision());
+    }
+
+    private static LifestyleRules parse(String yaml) {
+        return LifestyleRules.parse(yaml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void assertSameScore(EvaluationPayload payload) {
+        DeviceIndex devices = DeviceIndex.of(payload);
+        assertEquals(legacy.calculate(payload), evaluator.calculate(devices, payload.lifestyles()),
+                () -> "payload=" + payload);
+    }
+
+    private static EvaluationPayload randomPayload(Random random, int size) {
+        List<EvaluationPayload.DeviceDto> devices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> specs = new HashMap<>();
+            maybe(random, specs, "keyboardSize", pick(random, KEYBOARD_SIZES));
+            maybe(random, specs, "mouseType", pick(random, MOUSE_TYPES));
+            maybe(random, specs, "stylusType", pick(random, STYLUS_TYPES));
+            maybe(random, specs, "switchType", pick(random, SWITCH_TYPES));
+            maybe(random, specs, "os", pick(random, OS));
+            maybe(random, specs, "gpu", pick(random, GPUS));
+            maybe(random, specs, "connectionType", pick(random, CONNECTIONS));
+            maybe(random, specs, "chargingMethod", random.nextInt(8) == 0 ? 1 : pick(random, CHARGING));
+            maybe(random, specs, "hasHdmi", random.nextBoolean());
+            maybe(random, specs, "hasUsbA", random.nextBoolean());
+            maybe(random, specs, "hasThunderbolt", random.nextBoolean());
+            maybe(random, specs, "hasClientClick", random.nextBoolean());
+            // 경계값 근처 (16GB, 512GB, 2kg/3kg, 충전 W 정수 절삭)
+            maybe(random, specs, "ramGb", 8 + random.nextInt(17) + (random.nextBoolean() ? 0.5 : 0));
+            maybe(random, specs, "storageGb", 256 + random.nextInt(512));
+            maybe(random, specs, "weightKg", 0.8 + random.nextInt(20) * 0.1);
+            maybe(random, specs, "weightGram", 300 + random.nextInt(1400));
+            maybe(random, specs, "minRequiredPowerW", power(random));
+            maybe(random, specs, "maxSinglePortPowerW", power(random));
+            devices.add(new EvaluationPayload.DeviceDto((long) i, pick(random, TYPES), 1L, specs));
+        }
+
+        List<String> lifestyles = new ArrayList<>();
+        int count = random.nextInt(5);
+        for (int i = 0; i < count; i++) lifestyles.add(pick(random, LABELS));
+        return new EvaluationPayload(1L, 1L, "diff", devices, lifestyles);
+    }
+
+    // 숫자 문자열도 섞음 (예전 라이프스타일은 JSON 숫자만 인정)
+    private static Object power(Random random) {
+        double watts = 30 + random.nextInt(70) + random.nextDouble();
+        return random.nextInt(6) == 0 ? String.valueOf((int) watts) : watts;
+    }
+
+    private static void maybe(Random random, Map<String, Object> specs, String key, Object value) {
+        if (random.nextInt(3) > 0) specs.put(key, value);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}